@@ -0,0 +1,165 @@
+package com.example.demo.ai;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ssafy.ottereview.ai.client.AiRequestBodyWriter;
+import io.netty.buffer.PooledByteBufAllocator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.reactivestreams.Publisher;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.NettyDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ReactiveHttpOutputMessage;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * AI 요청 본문 직렬화 방식별 처리 시간과 할당량
+ * <p>
+ * - buffered: bodyValue 와 같은 경로 (Jackson2JsonEncoder 가 전체 본문을 byte 배열 하나로 만든 뒤 전송)
+ * - streaming: {@link AiRequestBodyWriter} 로 chunk 단위 전송 (compression none / gzip)
+ * 버퍼는 reactor-netty 와 같은 pooled allocator 에서 받고, 전송 대신 바로 반납한다.
+ * <p>
+ * 실행: {@code ./gradlew jmh -Pjmh.includes=AiRequestBodyBenchmark} (gc profiler 의 gc.alloc.rate.norm 이 요청 하나당 할당량)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AiRequestBodyBenchmark {
+
+    // PR diff 크기 (64KB, 4MB)
+    @Param({"65536", "4194304"})
+    private int diffBytes;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final DataBufferFactory bufferFactory = new NettyDataBufferFactory(PooledByteBufAllocator.DEFAULT);
+
+    private Jackson2JsonEncoder encoder;
+    private AiRequestBodyWriter plainWriter;
+    private AiRequestBodyWriter gzipWriter;
+    private Map<String, Object> request;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        encoder = new Jackson2JsonEncoder(objectMapper);
+        plainWriter = new AiRequestBodyWriter(objectMapper, "none", 1, 8192, 10);
+        gzipWriter = new AiRequestBodyWriter(objectMapper, "gzip", 1, 8192, 10);
+        request = Map.of(
+                "repo_id", 1L,
+                "source", "feature/large-change",
+                "target", "main",
+                "rules", Map.of("function_names", "camelCase"),
+                "files", List.of(Map.of("file_name", "src/main/java/Large.java", "patch", diff(diffBytes))));
+    }
+
+    @Benchmark
+    public long buffered() {
+        DataBuffer buffer = encoder.encodeValue(request, bufferFactory, ResolvableType.forInstance(request),
+                MediaType.APPLICATION_JSON, null);
+        long size = buffer.readableByteCount();
+        DataBufferUtils.release(buffer);
+        return size;
+    }
+
+    @Benchmark
+    public long streaming() {
+        return insert(plainWriter);
+    }
+
+    @Benchmark
+    public long streamingGzip() {
+        return insert(gzipWriter);
+    }
+
+    private long insert(AiRequestBodyWriter writer) {
+        DiscardingOutputMessage message = new DiscardingOutputMessage(bufferFactory);
+        // json inserter 는 context 를 사용하지 않는다
+        writer.json(request).insert(message, null).block();
+        return message.written.get();
+    }
+
+    private static String diff(int bytes) {
+        StringBuilder diff = new StringBuilder(bytes + 64);
+        int line = 0;
+        while (diff.length() < bytes) {
+            diff.append("+    private final String value").append(line++).append(" = \"changed \\\"line\\\"\";\n");
+        }
+        return diff.toString();
+    }
+
+    /**
+     * 받은 버퍼의 크기만 세고 바로 반납한다.
+     */
+    private static class DiscardingOutputMessage implements ReactiveHttpOutputMessage {
+
+        private final DataBufferFactory bufferFactory;
+        private final HttpHeaders headers = new HttpHeaders();
+        private final AtomicLong written = new AtomicLong();
+
+        private DiscardingOutputMessage(DataBufferFactory bufferFactory) {
+            this.bufferFactory = bufferFactory;
+        }
+
+        @Override
+        public DataBufferFactory bufferFactory() {
+            return bufferFactory;
+        }
+
+        @Override
+        public void beforeCommit(Supplier<? extends Mono<Void>> action) {
+        }
+
+        @Override
+        public boolean isCommitted() {
+            return false;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            return Flux.from(body)
+                    .doOnNext(buffer -> {
+                        written.addAndGet(buffer.readableByteCount());
+                        DataBufferUtils.release(buffer);
+                    })
+                    .then();
+        }
+
+        @Override
+        public Mono<Void> writeAndFlushWith(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+            return writeWith(Flux.from(body).flatMap(Flux::from));
+        }
+
+        @Override
+        public Mono<Void> setComplete() {
+            return Mono.empty();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.demo.ai;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.ssafy.ottereview.ai.cache.AiResultCodec;
+import com.ssafy.ottereview.ai.dto.response.AiResult;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * AI 결과 캐시 값 형식별 크기와 인코딩/디코딩 시간
+ * <p>
+ * ai-result-sample.json 의 분석 결과를 각 형식으로 변환한다. 값 크기(Redis 메모리)는 setup 에서 출력한다.
+ * <p>
+ * 실행: {@code ./gradlew jmh}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AiResultCodecBenchmark {
+
+    // json 은 현재 형식
+    @Param({"json", "smile", "smile-lz4"})
+    private String codec;
+
+    private AiResultCodec aiResultCodec;
+    private AiResult result;
+    private byte[] encoded;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        // 샘플의 필드 중 AiResult 에 없는 것은 무시한다
+        ObjectMapper objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .setPropertyNamingStrategy(PropertyNamingStrategies.SNAKE_CASE)
+                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        try (InputStream sample = getClass().getResourceAsStream("/ai-result-sample.json")) {
+            result = objectMapper.readValue(sample, AiResult.class);
+        }
+
+        String format = codec.startsWith("smile") ? "smile" : "json";
+        String compression = codec.endsWith("lz4") ? "lz4" : "none";
+        aiResultCodec = new AiResultCodec(objectMapper, format, compression, 0);
+        encoded = aiResultCodec.encode(result);
+
+        int jsonSize = objectMapper.writeValueAsBytes(result).length;
+        System.out.printf("%n%s: %d bytes (json %d bytes, %.0f%%)%n",
+                codec, encoded.length, jsonSize, 100.0 * encoded.length / jsonSize);
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        return aiResultCodec.encode(result);
+    }
+
+    @Benchmark
+    public AiResult decode() throws IOException {
+        return aiResultCodec.decode(encoded);
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.demo.ai;
+
+import com.ssafy.ottereview.ai.convention.NamingConventionScanner;
+import com.ssafy.ottereview.ai.dto.request.AiConventionRequest;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * 로컬 이름 규칙 검사 처리 시간 (파일 수 x 파일당 추가 줄 수 크기의 diff)
+ * <p>
+ * 실행: {@code ./gradlew jmh}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class NamingConventionBenchmark {
+
+    @Param({"100", "2000"})
+    private int files;
+
+    @Param({"200"})
+    private int linesPerFile;
+
+    // 1 이면 순차 실행과 같다
+    @Param({"1", "0"})
+    private int parallelism;
+
+    private ForkJoinPool pool;
+    private NamingConventionScanner scanner;
+    private AiConventionRequest.Rules rules;
+    private String diff;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        scanner = new NamingConventionScanner(pool);
+        rules = AiConventionRequest.Rules.builder()
+                .fileNames("PascalCase")
+                .functionNames("camelCase")
+                .variableNames("camelCase")
+                .classNames("PascalCase")
+                .constantNames("UPPER_SNAKE_CASE")
+                .build();
+        diff = diff(files, linesPerFile);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public NamingConventionScanner.Result scan() {
+        return scanner.scan(rules, diff);
+    }
+
+    private static String diff(int files, int linesPerFile) {
+        StringBuilder diff = new StringBuilder();
+        for (int file = 0; file < files; file++) {
+            String path = "src/main/java/com/example/Generated" + file + ".java";
+            diff.append("diff --git a/").append(path).append(" b/").append(path).append('\n')
+                    .append("--- a/").append(path).append('\n')
+                    .append("+++ b/").append(path).append('\n')
+                    .append("@@ -1,3 +1,").append(linesPerFile + 3).append(" @@\n")
+                    .append(" package com.example;\n")
+                    .append("+public class Generated").append(file).append(" {\n");
+            for (int line = 0; line < linesPerFile; line++) {
+                switch (line % 5) {
+                    case 0 -> diff.append("+    private static final int MAX_COUNT_").append(line).append(" = 1;\n");
+                    case 1 -> diff.append("+    public String findName").append(line).append("(Long id) {\n");
+                    case 2 -> diff.append("+        String user_name = repository.find(id);\n");
+                    case 3 -> diff.append("+        return user_name;\n");
+                    default -> diff.append("+    }\n");
+                }
+            }
+            diff.append(" }\n");
+        }
+        return diff.toString();
+    }
+}
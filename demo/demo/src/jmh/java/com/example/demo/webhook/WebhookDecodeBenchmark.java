@@ -0,0 +1,85 @@
+package com.example.demo.webhook;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.ssafy.ottereview.webhook.dto.WebhookEvent;
+import com.ssafy.ottereview.webhook.dto.WebhookPayload;
+import com.ssafy.ottereview.webhook.service.WebhookEventDecoder;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * push 웹훅 payload 디코딩 비용 비교
+ * <p>
+ * - treeTwice: 이전 방식. body 를 String 으로 받아 컨트롤러가 action 로그용으로 readTree, 이벤트 서비스가 다시 readTree 한다.
+ * - streaming: {@link WebhookEventDecoder} 가 byte 그대로 한 번 읽어 필요한 필드만 뽑는다.
+ * webhook-push-sample.json (GitHub push payload 캡처) 의 commit 을 commits 개로 늘려 payload 크기를 바꾼다.
+ * <p>
+ * 실행: {@code ./gradlew jmh -Pjmh.includes=WebhookDecodeBenchmark}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WebhookDecodeBenchmark {
+
+    @Param({"1", "100", "2000"})
+    private int commits;
+
+    private ObjectMapper objectMapper;
+    private WebhookEventDecoder decoder;
+    private byte[] body;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        objectMapper = new ObjectMapper();
+        decoder = new WebhookEventDecoder(objectMapper);
+
+        ObjectNode sample;
+        try (InputStream input = getClass().getResourceAsStream("/webhook-push-sample.json")) {
+            sample = (ObjectNode) objectMapper.readTree(input);
+        }
+        ArrayNode commitNodes = (ArrayNode) sample.get("commits");
+        JsonNode commit = commitNodes.get(0);
+        commitNodes.removeAll();
+        for (int i = 0; i < commits; i++) {
+            commitNodes.add(commit.deepCopy());
+        }
+        body = objectMapper.writeValueAsBytes(sample);
+        System.out.printf("%npayload: %d commits, %d bytes%n", commits, body.length);
+    }
+
+    @Benchmark
+    public Object treeTwice() throws IOException {
+        // @RequestBody String 바인딩
+        String payload = new String(body, StandardCharsets.UTF_8);
+        String action = objectMapper.readTree(payload).path("action").asText();
+
+        JsonNode root = objectMapper.readTree(payload);
+        return new Object[]{action, root.path("repository").path("id").asLong(),
+                root.path("ref").asText(), root.path("after").asText()};
+    }
+
+    @Benchmark
+    public WebhookEvent streaming() {
+        return decoder.decode("push", WebhookPayload.of(body));
+    }
+}
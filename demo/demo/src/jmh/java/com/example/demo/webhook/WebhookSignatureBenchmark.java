@@ -0,0 +1,117 @@
+package com.example.demo.webhook;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ssafy.ottereview.webhook.dto.WebhookPayload;
+import com.ssafy.ottereview.webhook.filter.WebhookSignatureFilter;
+import com.ssafy.ottereview.webhook.service.WebhookPayloadReader;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+/**
+ * 웹훅 서명 검증 처리량 (1 KB / 100 KB / 5 MB payload)
+ * <p>
+ * - filter: {@link WebhookSignatureFilter} 전체 (스레드별 Mac 재사용, byte 그대로 해시, 상수 시간 비교)
+ * - naive: 호출마다 Mac 을 만들고 body 를 String 으로 바꾼 뒤 hex 문자열로 비교하는 방식
+ * body 는 필터 앞에서 이미 읽힌 상태(request attribute)로 두어 서명 검증 비용만 잰다.
+ * 동시 수신을 흉내내도록 4 스레드로 실행한다.
+ * <p>
+ * 실행: {@code ./gradlew jmh -Pjmh.includes=WebhookSignatureBenchmark}
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class WebhookSignatureBenchmark {
+
+    private static final String SECRET = "benchmark-secret";
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> {
+    };
+
+    @State(Scope.Benchmark)
+    public static class Payload {
+
+        @Param({"1024", "102400", "5242880"})
+        private int size;
+
+        private byte[] body;
+        private String signature;
+        private WebhookSignatureFilter filter;
+
+        @Setup(Level.Trial)
+        public void setUp() throws GeneralSecurityException {
+            // 서명 대상은 JSON 이지만 해시 비용은 내용과 무관하므로 ASCII 난수로 채운다
+            body = new byte[size];
+            Random random = new Random(42);
+            for (int i = 0; i < size; i++) {
+                body[i] = (byte) ('a' + random.nextInt(26));
+            }
+            signature = "sha256=" + HexFormat.of().formatHex(hmac(body));
+
+            WebhookPayloadReader reader = new WebhookPayloadReader(false, Integer.MAX_VALUE, System.getProperty("java.io.tmpdir"));
+            filter = new WebhookSignatureFilter(new ObjectMapper(), reader, true, SECRET, "");
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Request {
+
+        private MockHttpServletRequest request;
+        private MockHttpServletResponse response;
+
+        @Setup(Level.Trial)
+        public void setUp(Payload payload) {
+            request = new MockHttpServletRequest("POST", "/webhook");
+            request.setServletPath("/webhook");
+            request.addHeader("X-Hub-Signature-256", payload.signature);
+            request.setAttribute(WebhookPayload.ATTRIBUTE, WebhookPayload.of(payload.body));
+            response = new MockHttpServletResponse();
+        }
+    }
+
+    @Benchmark
+    public int filter(Payload payload, Request request) throws ServletException, IOException {
+        // OncePerRequestFilter 는 처리 후 "already filtered" 표시를 지우므로 같은 요청을 재사용할 수 있다
+        payload.filter.doFilter(request.request, request.response, NO_OP_CHAIN);
+        return request.response.getStatus();
+    }
+
+    @Benchmark
+    public boolean naive(Payload payload) throws GeneralSecurityException {
+        String body = new String(payload.body, StandardCharsets.UTF_8);
+        String expected = "sha256=" + HexFormat.of().formatHex(hmac(body.getBytes(StandardCharsets.UTF_8)));
+        return MessageDigest.isEqual(expected.getBytes(StandardCharsets.UTF_8),
+                payload.signature.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static byte[] hmac(byte[] body) throws GeneralSecurityException {
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(SECRET.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        return mac.doFinal(body);
+    }
+}
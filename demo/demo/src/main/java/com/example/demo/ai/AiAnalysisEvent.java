@@ -0,0 +1,21 @@
+package com.ssafy.ottereview.ai.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 스트리밍 분석 이벤트. type 은 title, reviewers, priority 중 하나이거나 최종 결과를 뜻하는 result 이다.
+ */
+@AllArgsConstructor
+@Getter
+public class AiAnalysisEvent {
+    
+    public static final String RESULT = "result";
+    
+    private String type;
+    private Object data;
+    
+    public static AiAnalysisEvent of(String type, Object data) {
+        return new AiAnalysisEvent(type, data);
+    }
+}
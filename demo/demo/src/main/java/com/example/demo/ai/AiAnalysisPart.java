@@ -0,0 +1,19 @@
+package com.ssafy.ottereview.ai.dto.response;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 통합 분석 스트림(NDJSON)의 한 줄. type 은 title, reviewers, priority 등 분석 종류이고
+ * result 는 개별 API 응답과 같은 형식이다.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+public class AiAnalysisPart {
+    
+    private String type;
+    private JsonNode result;
+}
@@ -0,0 +1,18 @@
+package com.ssafy.ottereview.ai.dto.request;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 통합 분석 요청. diff 가 담긴 요청 본문은 한 번만 보내고 필요한 분석 종류를 함께 지정한다.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+public class AiAnalysisRequest {
+    
+    private AiRequest request;
+    private List<String> analyses;
+}
@@ -0,0 +1,160 @@
+package com.ssafy.ottereview.ai.client;
+
+import com.ssafy.ottereview.ai.dto.request.AiRequest;
+import com.ssafy.ottereview.webhook.dto.WebhookEvent.PullRequestEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+
+/**
+ * pull_request opened/reopened/synchronize 시 AI 분석을 미리 실행해 캐시를 채운다.
+ * <p>
+ * - 사전 분석은 {@link AiClient#warmUp} 으로 실행되어 모든 AI 호출이 BACKGROUND lane 을 사용한다.
+ * - 같은 PR 에 새 head SHA 가 오거나 PR 이 닫히면 진행 중인 사전 분석을 취소한다. 사용자 요청이 합류한 분석은 계속된다.
+ * - 분당 시작 수를 max-per-minute 로 제한하며 (token bucket), 초과한 PR 은 사용자가 열 때 분석된다.
+ */
+@Slf4j
+@Component
+public class AiAnalysisWarmer {
+
+    private final AiClient aiClient;
+
+    private final boolean enabled;
+    private final double capacity;
+    private final double tokensPerNano;
+
+    // "저장소 ID:PR 번호" -> 진행 중인 사전 분석
+    private final Map<String, Warmup> running = new ConcurrentHashMap<>();
+
+    private double tokens;
+    private long lastRefill = System.nanoTime();
+
+    private final Counter started;
+    private final Counter rateLimited;
+    private final Counter cancelled;
+
+    public AiAnalysisWarmer(
+            AiClient aiClient,
+            MeterRegistry meterRegistry,
+            @Value("${app.ai.warmup.enabled:false}") boolean enabled,
+            @Value("${app.ai.warmup.max-per-minute:30}") int maxPerMinute) {
+        this.aiClient = aiClient;
+        this.enabled = enabled;
+        this.capacity = maxPerMinute;
+        this.tokensPerNano = maxPerMinute / (double) TimeUnit.MINUTES.toNanos(1);
+        this.tokens = maxPerMinute;
+
+        this.started = Counter.builder("ai.warmup")
+                .tag("result", "started")
+                .description("시작한 AI 사전 분석 수")
+                .register(meterRegistry);
+        this.rateLimited = Counter.builder("ai.warmup")
+                .tag("result", "rate_limited")
+                .description("분당 제한으로 건너뛴 AI 사전 분석 수")
+                .register(meterRegistry);
+        this.cancelled = Counter.builder("ai.warmup")
+                .tag("result", "cancelled")
+                .description("새 커밋 또는 PR 종료로 취소된 AI 사전 분석 수")
+                .register(meterRegistry);
+        Gauge.builder("ai.warmup.in_progress", running, Map::size)
+                .description("진행 중인 AI 사전 분석 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * PR 의 head 에 대한 사전 분석을 시작한다. 이전 head 의 사전 분석은 취소한다.
+     */
+    public void submit(PullRequestEvent event) {
+        if (!enabled || event.repoId() == null || event.headRef() == null || event.baseRef() == null) {
+            return;
+        }
+
+        String key = key(event);
+        Warmup current = running.get(key);
+        if (current != null && Objects.equals(current.headSha, event.headSha())) {
+            // 같은 커밋 이벤트의 재전송
+            return;
+        }
+        cancel(event);
+
+        if (!tryAcquire()) {
+            rateLimited.increment();
+            log.debug("AI 사전 분석 건너뜀 (분당 제한) - {}", key);
+            return;
+        }
+
+        Warmup warmup = new Warmup(event.headSha());
+        running.put(key, warmup);
+        started.increment();
+        log.info("AI 사전 분석 시작 - {} ({})", key, event.headSha());
+
+        warmup.subscription = aiClient.warmUp(toRequest(event))
+                .doFinally(signal -> running.remove(key, warmup))
+                .subscribe(
+                        result -> log.info("AI 사전 분석 완료 - {} ({})", key, event.headSha()),
+                        error -> log.warn("AI 사전 분석 실패 - {} ({})", key, event.headSha(), error));
+    }
+
+    /**
+     * PR 의 진행 중인 사전 분석을 취소한다.
+     */
+    public void cancel(PullRequestEvent event) {
+        Warmup previous = running.remove(key(event));
+        if (previous != null && previous.subscription != null) {
+            previous.subscription.dispose();
+            cancelled.increment();
+            log.info("AI 사전 분석 취소 - {} ({})", key(event), previous.headSha);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running.values().forEach(warmup -> {
+            if (warmup.subscription != null) {
+                warmup.subscription.dispose();
+            }
+        });
+        running.clear();
+    }
+
+    /**
+     * 캐시 키는 저장소 ID 와 두 브랜치의 head SHA 로 만들어지므로, 같은 커밋에 대한 PR 화면의 요청(head 브랜치 -> base 브랜치)과 같은 키가 된다.
+     */
+    private static AiRequest toRequest(PullRequestEvent event) {
+        return new AiRequest(event.repoId(), event.headRef(), event.baseRef());
+    }
+
+    private synchronized boolean tryAcquire() {
+        long now = System.nanoTime();
+        tokens = Math.min(capacity, tokens + (now - lastRefill) * tokensPerNano);
+        lastRefill = now;
+        if (tokens < 1) {
+            return false;
+        }
+        tokens--;
+        return true;
+    }
+
+    private static String key(PullRequestEvent event) {
+        return event.repoId() + ":" + event.number();
+    }
+
+    private static class Warmup {
+
+        private final String headSha;
+        private volatile Disposable subscription;
+
+        private Warmup(String headSha) {
+            this.headSha = headSha;
+        }
+    }
+}
@@ -0,0 +1,368 @@
+package com.ssafy.ottereview.ai.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * AI 서버 호출 보호 (엔드포인트별 적응형 타임아웃 + hedged request + circuit breaker)
+ * <p>
+ * - 타임아웃: 최근 성공 응답 시간의 p99 * multiplier 를 min/max 사이로 제한해 사용한다. 표본이 부족하면 max 를 쓴다.
+ * - hedge: 켜져 있으면 p95 가 지나도 응답이 없을 때 같은 요청을 한 번 더 보내 먼저 온 응답을 쓴다.
+ *   hedge 요청도 {@link AiCallScheduler} 의 자리를 따로 얻는다.
+ * - circuit breaker: 최근 호출의 실패율이 기준을 넘으면 일정 시간 호출하지 않고 {@link CircuitOpenException} 으로 바로 실패한다.
+ *   4xx 응답(429 제외)은 서버 장애가 아니므로 실패로 세지 않는다.
+ *   half-open 상태의 시험 호출이 결과 없이 취소되면 (hedge 패배, 바깥 타임아웃, 연결 종료) 시험 자리를 돌려준다.
+ * 호출하는 쪽의 기본값(fallback) 처리가 그대로 적용되므로 장애 중에는 기본 응답이 즉시 반환된다.
+ */
+@Slf4j
+@Component
+public class AiCallGuard {
+
+    private final MeterRegistry meterRegistry;
+    private final AiCallScheduler aiCallScheduler;
+    private final Map<String, EndpointState> endpoints = new ConcurrentHashMap<>();
+
+    @Value("${app.ai.resilience.latency-window:100}")
+    private int latencyWindow;
+
+    @Value("${app.ai.resilience.timeout.multiplier:2.0}")
+    private double timeoutMultiplier;
+
+    @Value("${app.ai.resilience.timeout.min-seconds:5}")
+    private long minTimeoutSeconds;
+
+    @Value("${app.ai.resilience.timeout.max-seconds:60}")
+    private long maxTimeoutSeconds;
+
+    // 이 수 이상의 응답 시간 표본이 모여야 적응형 타임아웃과 hedge 를 사용한다
+    @Value("${app.ai.resilience.min-samples:20}")
+    private int minSamples;
+
+    @Value("${app.ai.resilience.hedge.enabled:false}")
+    private boolean hedgeEnabled;
+
+    @Value("${app.ai.resilience.breaker.window:20}")
+    private int breakerWindow;
+
+    @Value("${app.ai.resilience.breaker.min-calls:10}")
+    private int breakerMinCalls;
+
+    @Value("${app.ai.resilience.breaker.failure-rate:0.5}")
+    private double breakerFailureRate;
+
+    @Value("${app.ai.resilience.breaker.open-seconds:30}")
+    private long breakerOpenSeconds;
+
+    @Value("${app.ai.resilience.breaker.half-open-calls:3}")
+    private int breakerHalfOpenCalls;
+
+    public AiCallGuard(MeterRegistry meterRegistry, AiCallScheduler aiCallScheduler) {
+        this.meterRegistry = meterRegistry;
+        this.aiCallScheduler = aiCallScheduler;
+    }
+
+    /**
+     * endpoint 이름으로 호출을 보호한다. call 은 구독할 때마다 새 요청을 보내야 한다 (hedge 시 두 번 구독).
+     */
+    public <T> Mono<T> protect(String endpoint, Mono<T> call) {
+        EndpointState state = endpoints.computeIfAbsent(endpoint, EndpointState::new);
+
+        return Mono.defer(() -> {
+            CallPermit permit = state.tryAcquirePermission();
+            if (permit == null) {
+                state.shortCircuited.increment();
+                return Mono.error(new CircuitOpenException(endpoint));
+            }
+
+            Mono<T> primary = state.timed(call, permit);
+            Duration hedgeDelay = hedgeEnabled ? state.hedgeDelay() : null;
+            if (hedgeDelay == null) {
+                return primary;
+            }
+
+            Mono<T> hedge = Mono.delay(hedgeDelay)
+                    .then(Mono.defer(() -> {
+                        state.hedged.increment();
+                        log.debug("AI 호출 hedge 요청 - {} ({}ms 경과)", endpoint, hedgeDelay.toMillis());
+                        return aiCallScheduler.scheduleAdditional(state.timed(call, permit));
+                    }));
+            return Mono.firstWithValue(primary, hedge);
+        });
+    }
+
+    /**
+     * 스트림(NDJSON) 응답 호출을 보호한다. 타임아웃은 다음 항목이 도착할 때까지의 시간에 적용하고,
+     * 같은 결과가 두 번 올 수 있으므로 hedge 하지 않는다.
+     */
+    public <T> Flux<T> protectMany(String endpoint, Flux<T> call) {
+        EndpointState state = endpoints.computeIfAbsent(endpoint, EndpointState::new);
+
+        return Flux.defer(() -> {
+            CallPermit permit = state.tryAcquirePermission();
+            if (permit == null) {
+                state.shortCircuited.increment();
+                return Flux.error(new CircuitOpenException(endpoint));
+            }
+            return state.timedMany(call, permit);
+        });
+    }
+
+    public static class CircuitOpenException extends RuntimeException {
+
+        public CircuitOpenException(String endpoint) {
+            super("AI 서버 호출 차단 중 (circuit open) - " + endpoint, null, false, false);
+        }
+    }
+
+    private enum CircuitState {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    // 서버가 요청을 거절한 것이지 장애가 아닌 응답. 429 는 과부하 신호이므로 실패로 센다
+    private static boolean isClientError(Throwable error) {
+        return error instanceof WebClientResponseException responseException
+                && responseException.getStatusCode().is4xxClientError()
+                && responseException.getStatusCode().value() != 429;
+    }
+
+    /**
+     * 호출 하나(hedge 포함)가 얻은 통과 허가. half-open 시험 호출이면 결과를 기록하거나 취소될 때 한 번만 정산한다.
+     */
+    private static class CallPermit {
+
+        private static final CallPermit PASS = new CallPermit(false);
+
+        private final boolean trial;
+        private final AtomicBoolean settled = new AtomicBoolean();
+
+        private CallPermit(boolean trial) {
+            this.trial = trial;
+        }
+    }
+
+    /**
+     * 엔드포인트별 응답 시간 표본과 breaker 상태
+     */
+    private class EndpointState {
+
+        private final String endpoint;
+
+        // 성공 응답 시간 (nanos) 링 버퍼
+        private final long[] latencies = new long[latencyWindow];
+        private int latencyCount;
+        private int latencyIndex;
+
+        // 최근 호출 결과 링 버퍼 (true = 실패)
+        private final boolean[] outcomes = new boolean[breakerWindow];
+        private int outcomeCount;
+        private int outcomeIndex;
+        private int failureCount;
+
+        private CircuitState circuitState = CircuitState.CLOSED;
+        private long openUntilNanos;
+        private int halfOpenPermits;
+
+        private final Timer successTimer;
+        private final Timer failureTimer;
+        private final Counter hedged;
+        private final Counter shortCircuited;
+
+        private EndpointState(String endpoint) {
+            this.endpoint = endpoint;
+            this.successTimer = Timer.builder("ai.client.requests")
+                    .tag("endpoint", endpoint)
+                    .tag("outcome", "success")
+                    .register(meterRegistry);
+            this.failureTimer = Timer.builder("ai.client.requests")
+                    .tag("endpoint", endpoint)
+                    .tag("outcome", "failure")
+                    .register(meterRegistry);
+            this.hedged = Counter.builder("ai.client.hedged")
+                    .tag("endpoint", endpoint)
+                    .description("p95 초과로 추가 전송한 AI 요청 수")
+                    .register(meterRegistry);
+            this.shortCircuited = Counter.builder("ai.client.short_circuited")
+                    .tag("endpoint", endpoint)
+                    .description("circuit open 으로 보내지 않은 AI 요청 수")
+                    .register(meterRegistry);
+            Gauge.builder("ai.client.circuit.state", this, state -> state.circuitState().ordinal())
+                    .tag("endpoint", endpoint)
+                    .description("0: closed, 1: open, 2: half-open")
+                    .register(meterRegistry);
+            Gauge.builder("ai.client.timeout", this, state -> state.timeout().toMillis())
+                    .tag("endpoint", endpoint)
+                    .baseUnit("milliseconds")
+                    .description("현재 적용 중인 적응형 타임아웃")
+                    .register(meterRegistry);
+        }
+
+        private <T> Mono<T> timed(Mono<T> call, CallPermit permit) {
+            return Mono.defer(() -> {
+                long start = System.nanoTime();
+                return call
+                        .timeout(timeout())
+                        .doOnSuccess(result -> recordSuccess(System.nanoTime() - start, permit))
+                        .doOnError(error -> recordError(System.nanoTime() - start, error, permit))
+                        .doOnCancel(() -> releaseTrial(permit));
+            });
+        }
+
+        private <T> Flux<T> timedMany(Flux<T> call, CallPermit permit) {
+            return Flux.defer(() -> {
+                long start = System.nanoTime();
+                return call
+                        .timeout(timeout())
+                        .doOnComplete(() -> recordSuccess(System.nanoTime() - start, permit))
+                        .doOnError(error -> recordError(System.nanoTime() - start, error, permit))
+                        .doOnCancel(() -> releaseTrial(permit));
+            });
+        }
+
+        /**
+         * @return 통과하면 허가, circuit 이 열려 있거나 half-open 시험 자리가 없으면 null
+         */
+        private synchronized CallPermit tryAcquirePermission() {
+            switch (circuitState) {
+                case OPEN -> {
+                    if (System.nanoTime() < openUntilNanos) {
+                        return null;
+                    }
+                    circuitState = CircuitState.HALF_OPEN;
+                    halfOpenPermits = breakerHalfOpenCalls;
+                    log.info("AI 서버 circuit half-open - {}", endpoint);
+                    return tryAcquirePermission();
+                }
+                case HALF_OPEN -> {
+                    if (halfOpenPermits <= 0) {
+                        return null;
+                    }
+                    halfOpenPermits--;
+                    return new CallPermit(true);
+                }
+                default -> {
+                    return CallPermit.PASS;
+                }
+            }
+        }
+
+        /**
+         * 결과 없이 끝난 시험 호출의 자리를 돌려준다. 다른 호출이 이미 circuit 상태를 바꿨으면 돌려줄 자리가 없다.
+         */
+        private synchronized void releaseTrial(CallPermit permit) {
+            if (permit.trial && permit.settled.compareAndSet(false, true) && circuitState == CircuitState.HALF_OPEN) {
+                halfOpenPermits = Math.min(halfOpenPermits + 1, breakerHalfOpenCalls);
+            }
+        }
+
+        private void recordError(long latencyNanos, Throwable error, CallPermit permit) {
+            if (isClientError(error)) {
+                failureTimer.record(latencyNanos, TimeUnit.NANOSECONDS);
+                releaseTrial(permit);
+                return;
+            }
+            recordFailure(latencyNanos, error, permit);
+        }
+
+        private synchronized void recordSuccess(long latencyNanos, CallPermit permit) {
+            permit.settled.set(true);
+            successTimer.record(latencyNanos, TimeUnit.NANOSECONDS);
+            latencies[latencyIndex] = latencyNanos;
+            latencyIndex = (latencyIndex + 1) % latencies.length;
+            latencyCount = Math.min(latencyCount + 1, latencies.length);
+
+            if (circuitState == CircuitState.HALF_OPEN) {
+                circuitState = CircuitState.CLOSED;
+                resetOutcomes();
+                log.info("AI 서버 circuit closed - {}", endpoint);
+                return;
+            }
+            recordOutcome(false);
+        }
+
+        private synchronized void recordFailure(long latencyNanos, Throwable error, CallPermit permit) {
+            permit.settled.set(true);
+            failureTimer.record(latencyNanos, TimeUnit.NANOSECONDS);
+            if (error instanceof TimeoutException) {
+                log.warn("AI 호출 타임아웃 - {} ({}ms)", endpoint, timeout().toMillis());
+            }
+
+            if (circuitState == CircuitState.HALF_OPEN) {
+                open();
+                return;
+            }
+            recordOutcome(true);
+            if (outcomeCount >= breakerMinCalls && failureCount >= outcomeCount * breakerFailureRate) {
+                open();
+            }
+        }
+
+        private void recordOutcome(boolean failure) {
+            if (outcomeCount == outcomes.length && outcomes[outcomeIndex]) {
+                failureCount--;
+            }
+            outcomes[outcomeIndex] = failure;
+            if (failure) {
+                failureCount++;
+            }
+            outcomeIndex = (outcomeIndex + 1) % outcomes.length;
+            outcomeCount = Math.min(outcomeCount + 1, outcomes.length);
+        }
+
+        private void resetOutcomes() {
+            Arrays.fill(outcomes, false);
+            outcomeCount = 0;
+            outcomeIndex = 0;
+            failureCount = 0;
+        }
+
+        private void open() {
+            circuitState = CircuitState.OPEN;
+            openUntilNanos = System.nanoTime() + TimeUnit.SECONDS.toNanos(breakerOpenSeconds);
+            resetOutcomes();
+            log.warn("AI 서버 circuit open - {} ({}초 동안 기본값 응답)", endpoint, breakerOpenSeconds);
+        }
+
+        private synchronized CircuitState circuitState() {
+            return circuitState;
+        }
+
+        private synchronized Duration timeout() {
+            Duration max = Duration.ofSeconds(maxTimeoutSeconds);
+            if (latencyCount < minSamples) {
+                return max;
+            }
+            long adaptive = (long) (percentile(0.99) * timeoutMultiplier);
+            long clamped = Math.max(TimeUnit.SECONDS.toNanos(minTimeoutSeconds), Math.min(max.toNanos(), adaptive));
+            return Duration.ofNanos(clamped);
+        }
+
+        private synchronized Duration hedgeDelay() {
+            if (latencyCount < minSamples) {
+                return null;
+            }
+            return Duration.ofNanos(percentile(0.95));
+        }
+
+        private long percentile(double quantile) {
+            long[] sorted = Arrays.copyOf(latencies, latencyCount);
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(quantile * sorted.length) - 1;
+            return sorted[Math.max(0, index)];
+        }
+    }
+}
@@ -0,0 +1,299 @@
+package com.ssafy.ottereview.ai.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.util.context.Context;
+
+/**
+ * AI 서버로 나가는 호출의 동시 실행 수 제한 및 우선순위 스케줄링
+ * <p>
+ * 전체 동시 호출 수를 max-concurrent 로 제한하고, 자리가 나면 대기 중인 호출을 다음 순서로 실행한다.
+ * - INTERACTIVE (사용자가 기다리는 추천 API) 를 BACKGROUND (vector DB 저장, 컨벤션 검사) 보다 먼저 실행한다.
+ * - BACKGROUND 는 background-max-concurrent 까지만 동시에 실행해 INTERACTIVE 용 자리를 남겨둔다.
+ *   단, BACKGROUND 가 하나도 실행 중이지 않으면 하나는 실행해 계속 밀리지 않게 한다.
+ * - 같은 lane 안에서는 저장소별 대기열을 번갈아 꺼내, 한 저장소의 호출 폭주가 다른 저장소를 막지 않게 한다.
+ * 대기열이 가득 차면 {@link RejectedExecutionException} 으로 바로 실패하며, 호출하는 쪽의 기본값 처리가 적용된다.
+ */
+@Component
+public class AiCallScheduler {
+
+    public enum Lane {
+        INTERACTIVE,
+        BACKGROUND
+    }
+
+    private static final String LANE_KEY = AiCallScheduler.class.getName() + ".lane";
+    // schedule 안에서 실행 중인 호출의 저장소 (scheduleAdditional 용)
+    private static final String REPO_KEY = AiCallScheduler.class.getName() + ".repo";
+
+    // 저장소를 알 수 없는 호출 (vector DB 저장 등) 은 하나의 대기열을 함께 쓴다
+    private static final long UNKNOWN_REPO = -1L;
+
+    private final int maxConcurrent;
+    private final int backgroundMaxConcurrent;
+    private final int queueCapacity;
+
+    private final Object lock = new Object();
+    private final Map<Lane, LaneQueue> lanes = new EnumMap<>(Lane.class);
+
+    public AiCallScheduler(
+            MeterRegistry meterRegistry,
+            @Value("${app.ai.scheduler.max-concurrent:16}") int maxConcurrent,
+            @Value("${app.ai.scheduler.background-max-concurrent:4}") int backgroundMaxConcurrent,
+            @Value("${app.ai.scheduler.queue-capacity:500}") int queueCapacity) {
+        this.maxConcurrent = maxConcurrent;
+        this.backgroundMaxConcurrent = Math.min(backgroundMaxConcurrent, maxConcurrent);
+        this.queueCapacity = queueCapacity;
+
+        for (Lane lane : Lane.values()) {
+            lanes.put(lane, new LaneQueue(lane, meterRegistry));
+        }
+    }
+
+    /**
+     * 구독하는 쪽에서 lane 을 바꿀 때 사용한다. (예: 사용자가 기다리지 않는 사전 분석은 전체를 BACKGROUND 로 실행)
+     * {@code mono.contextWrite(AiCallScheduler.withLane(Lane.BACKGROUND))}
+     */
+    public static Context withLane(Lane lane) {
+        return Context.of(LANE_KEY, lane);
+    }
+
+    /**
+     * 실행 자리를 얻은 뒤 call 을 구독하고, call 이 끝나거나 취소되면 자리를 반납한다.
+     * 구독 context 에 {@link #withLane} 으로 지정된 lane 이 있으면 그 lane 을 사용한다.
+     */
+    public <T> Mono<T> schedule(Lane lane, Long repoId, Mono<T> call) {
+        return Mono.deferContextual(context -> {
+            Lane resolved = context.getOrDefault(LANE_KEY, lane);
+            return Mono.usingWhen(acquire(resolved, repoId),
+                    permit -> call.contextWrite(scheduled(resolved, repoId)),
+                    this::release, (permit, error) -> release(permit), this::release);
+        });
+    }
+
+    public <T> Flux<T> schedule(Lane lane, Long repoId, Flux<T> call) {
+        return Flux.deferContextual(context -> {
+            Lane resolved = context.getOrDefault(LANE_KEY, lane);
+            return Flux.usingWhen(acquire(resolved, repoId),
+                    permit -> call.contextWrite(scheduled(resolved, repoId)),
+                    this::release, (permit, error) -> release(permit), this::release);
+        });
+    }
+
+    /**
+     * {@link #schedule} 안에서 실행 중인 호출이 요청을 하나 더 보낼 때 (hedge 등) 사용한다.
+     * 같은 lane 과 저장소로 자리를 하나 더 얻으므로 전체 동시 호출 수 제한을 넘지 않는다.
+     */
+    public <T> Mono<T> scheduleAdditional(Mono<T> call) {
+        return Mono.deferContextual(context -> schedule(Lane.INTERACTIVE, context.getOrDefault(REPO_KEY, UNKNOWN_REPO), call));
+    }
+
+    private static Context scheduled(Lane lane, Long repoId) {
+        return Context.of(LANE_KEY, lane, REPO_KEY, repoId == null ? UNKNOWN_REPO : repoId);
+    }
+
+    private Mono<Permit> acquire(Lane lane, Long repoId) {
+        return Mono.create(sink -> {
+            Waiter waiter = new Waiter(lanes.get(lane), repoId == null ? UNKNOWN_REPO : repoId, sink);
+            synchronized (lock) {
+                if (!waiter.lane.offer(waiter)) {
+                    waiter.lane.rejected.increment();
+                    sink.error(new RejectedExecutionException("AI 호출 대기열이 가득 찼습니다 - " + lane));
+                    return;
+                }
+            }
+            sink.onCancel(() -> cancel(waiter));
+            dispatch();
+        });
+    }
+
+    private Mono<Void> release(Permit permit) {
+        return Mono.fromRunnable(() -> {
+            if (permit.released.compareAndSet(false, true)) {
+                synchronized (lock) {
+                    permit.lane.inFlight--;
+                }
+                dispatch();
+            }
+        });
+    }
+
+    private void cancel(Waiter waiter) {
+        Permit granted;
+        synchronized (lock) {
+            if (waiter.lane.remove(waiter)) {
+                return;
+            }
+            granted = waiter.permit;
+        }
+        // 자리를 받은 직후 취소된 경우 usingWhen 에 전달되지 않았을 수 있으므로 직접 반납한다
+        if (granted != null) {
+            release(granted).subscribe();
+        }
+    }
+
+    private void dispatch() {
+        List<Waiter> granted = new ArrayList<>();
+        synchronized (lock) {
+            Waiter next;
+            while (totalInFlight() < maxConcurrent && (next = poll()) != null) {
+                next.lane.inFlight++;
+                next.permit = new Permit(next.lane);
+                granted.add(next);
+            }
+        }
+
+        long now = System.nanoTime();
+        for (Waiter waiter : granted) {
+            waiter.lane.waitTimer.record(now - waiter.enqueuedAt, TimeUnit.NANOSECONDS);
+            waiter.sink.success(waiter.permit);
+        }
+    }
+
+    private Waiter poll() {
+        LaneQueue interactive = lanes.get(Lane.INTERACTIVE);
+        LaneQueue background = lanes.get(Lane.BACKGROUND);
+
+        if (background.inFlight == 0 && background.size > 0) {
+            return background.poll();
+        }
+        if (interactive.size > 0) {
+            return interactive.poll();
+        }
+        return background.inFlight < backgroundMaxConcurrent ? background.poll() : null;
+    }
+
+    private int totalInFlight() {
+        int total = 0;
+        for (LaneQueue lane : lanes.values()) {
+            total += lane.inFlight;
+        }
+        return total;
+    }
+
+    /**
+     * lane 별 저장소 대기열. 저장소 순서대로 하나씩 꺼낸다 (round-robin).
+     * 모든 접근은 lock 안에서 이루어진다.
+     */
+    private class LaneQueue {
+
+        private final Map<Long, ArrayDeque<Waiter>> byRepo = new LinkedHashMap<>();
+        private int size;
+        private int inFlight;
+
+        private final Timer waitTimer;
+        private final Counter rejected;
+
+        private LaneQueue(Lane lane, MeterRegistry meterRegistry) {
+            this.waitTimer = Timer.builder("ai.scheduler.wait")
+                    .tag("lane", lane.name())
+                    .description("AI 호출이 실행되기까지 대기한 시간")
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .register(meterRegistry);
+            this.rejected = Counter.builder("ai.scheduler.rejected")
+                    .tag("lane", lane.name())
+                    .description("대기열이 가득 차 거절된 AI 호출 수")
+                    .register(meterRegistry);
+            Gauge.builder("ai.scheduler.queue.depth", this, queue -> queue.sizeSnapshot())
+                    .tag("lane", lane.name())
+                    .description("실행을 기다리는 AI 호출 수")
+                    .register(meterRegistry);
+            Gauge.builder("ai.scheduler.in_flight", this, queue -> queue.inFlightSnapshot())
+                    .tag("lane", lane.name())
+                    .description("실행 중인 AI 호출 수")
+                    .register(meterRegistry);
+        }
+
+        private boolean offer(Waiter waiter) {
+            if (size >= queueCapacity) {
+                return false;
+            }
+            byRepo.computeIfAbsent(waiter.repoId, id -> new ArrayDeque<>()).add(waiter);
+            size++;
+            return true;
+        }
+
+        private Waiter poll() {
+            Iterator<Map.Entry<Long, ArrayDeque<Waiter>>> iterator = byRepo.entrySet().iterator();
+            if (!iterator.hasNext()) {
+                return null;
+            }
+
+            Map.Entry<Long, ArrayDeque<Waiter>> first = iterator.next();
+            Waiter waiter = first.getValue().poll();
+            iterator.remove();
+            if (!first.getValue().isEmpty()) {
+                // 남은 호출이 있으면 맨 뒤로 보내 다음 저장소에 차례를 넘긴다
+                byRepo.put(first.getKey(), first.getValue());
+            }
+            size--;
+            return waiter;
+        }
+
+        private boolean remove(Waiter waiter) {
+            ArrayDeque<Waiter> queue = byRepo.get(waiter.repoId);
+            if (queue == null || !queue.remove(waiter)) {
+                return false;
+            }
+            if (queue.isEmpty()) {
+                byRepo.remove(waiter.repoId);
+            }
+            size--;
+            return true;
+        }
+
+        private double sizeSnapshot() {
+            synchronized (lock) {
+                return size;
+            }
+        }
+
+        private double inFlightSnapshot() {
+            synchronized (lock) {
+                return inFlight;
+            }
+        }
+    }
+
+    private static class Waiter {
+
+        private final LaneQueue lane;
+        private final long repoId;
+        private final MonoSink<Permit> sink;
+        private final long enqueuedAt = System.nanoTime();
+        private Permit permit;
+
+        private Waiter(LaneQueue lane, long repoId, MonoSink<Permit> sink) {
+            this.lane = lane;
+            this.repoId = repoId;
+            this.sink = sink;
+        }
+    }
+
+    private static class Permit {
+
+        private final LaneQueue lane;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(LaneQueue lane) {
+            this.lane = lane;
+        }
+    }
+}
@@ -1,26 +1,50 @@
 package com.ssafy.ottereview.ai.client;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.ssafy.ottereview.account.service.UserAccountService;
+import com.ssafy.ottereview.ai.cache.AiRequestCollapser;
+import com.ssafy.ottereview.ai.client.AiCallScheduler.Lane;
+import com.ssafy.ottereview.ai.convention.IncrementalConventionChecker;
+import com.ssafy.ottereview.ai.convention.NamingConventionChecker;
+import com.ssafy.ottereview.ai.convention.NamingConventionScanner;
+import com.ssafy.ottereview.ai.cache.AiResultCache;
+import com.ssafy.ottereview.ai.cache.AiResultCache.CacheKey;
+import com.ssafy.ottereview.ai.dto.request.AiAnalysisRequest;
 import com.ssafy.ottereview.ai.dto.request.AiConventionRequest;
 import com.ssafy.ottereview.ai.dto.request.AiRequest;
+import com.ssafy.ottereview.ai.dto.response.AiAnalysisEvent;
+import com.ssafy.ottereview.ai.dto.response.AiAnalysisPart;
 import com.ssafy.ottereview.ai.dto.response.AiConventionResponse;
+import com.ssafy.ottereview.ai.dto.response.AiIncrementalConventionResponse;
+import com.ssafy.ottereview.ai.dto.response.AiNamingConventionResponse;
 import com.ssafy.ottereview.ai.dto.response.AiPriorityResponse;
 import com.ssafy.ottereview.ai.dto.response.AiResult;
 import com.ssafy.ottereview.ai.dto.response.AiReviewerResponse;
 import com.ssafy.ottereview.ai.dto.response.AiSummaryResponse;
 import com.ssafy.ottereview.ai.dto.response.AiTitleResponse;
-import com.ssafy.ottereview.ai.repository.AiRedisRepository;
 import com.ssafy.ottereview.merge.dto.MergedPullRequestInfo;
 import com.ssafy.ottereview.user.entity.CustomUserDetail;
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.function.Supplier;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.core.scheduler.Schedulers;
 
@@ -30,24 +54,60 @@ import reactor.core.scheduler.Schedulers;
 @RequiredArgsConstructor
 public class AiClient {
     
+    private static final String ANALYSIS_TITLE = "title";
+    private static final String ANALYSIS_REVIEWERS = "reviewers";
+    private static final String ANALYSIS_PRIORITY = "priority";
+    private static final String ANALYSIS_SUMMARY = "summary";
+    private static final String ANALYSIS_CONVENTION = "convention";
+    private static final List<String> BATCH_ANALYSES = List.of(ANALYSIS_TITLE, ANALYSIS_REVIEWERS, ANALYSIS_PRIORITY);
+    private static final Map<String, Class<?>> ANALYSIS_TYPES = Map.of(
+            ANALYSIS_TITLE, AiTitleResponse.class,
+            ANALYSIS_REVIEWERS, AiReviewerResponse.class,
+            ANALYSIS_PRIORITY, AiPriorityResponse.class);
+    
     private final WebClient aiWebClient;
     private final UserAccountService userAccountService;
-    private final AiRedisRepository aiRedisRepository;
+    private final AiResultCache aiResultCache;
+    private final AiRequestCollapser aiRequestCollapser;
+    private final ObjectMapper objectMapper;
+    private final AiCallGuard aiCallGuard;
+    private final AiCallScheduler aiCallScheduler;
+    private final AiVectorStoreWriter aiVectorStoreWriter;
+    private final IncrementalConventionChecker incrementalConventionChecker;
+    private final NamingConventionChecker namingConventionChecker;
+    private final AiRequestBodyWriter aiRequestBodyWriter;
+    private final AiClientMetrics aiClientMetrics;
+    
+    // AI 서버의 통합 분석 API(/ai/pull_requests/analyze) 사용 여부
+    @Value("${app.ai.batch.enabled:false}")
+    private boolean batchEnabled;
+    
+    // 통합 분석 미지원 응답을 받은 뒤 다시 시도하기까지의 시간
+    @Value("${app.ai.batch.retry-minutes:10}")
+    private long batchRetryMinutes;
+    
+    private volatile long batchUnsupportedUntil;
+    
+    // hunk 단위 컨벤션 검사 미지원 응답을 받은 뒤 다시 시도하기까지의 시간
+    @Value("${app.ai.convention.hunk.retry-minutes:10}")
+    private long hunkRetryMinutes;
+    
+    private volatile long hunkUnsupportedUntil;
     
     /**
      * PR 제목 생성
      */
     public Mono<AiTitleResponse> recommendTitle(AiRequest request) {
         
-        return aiWebClient.post()
-                .uri("/ai/pull_requests/title")
-                .bodyValue(request)
-                .retrieve()
-                .bodyToMono(AiTitleResponse.class)
-                .timeout(Duration.ofMinutes(1))
+        return aiCallScheduler.schedule(Lane.INTERACTIVE, request.getRepoId(),
+                        aiCallGuard.protect("/ai/pull_requests/title", aiRequestBodyWriter.withFallback(aiWebClient.post()
+                                .uri("/ai/pull_requests/title")
+                                .body(aiRequestBodyWriter.json(request))
+                                .retrieve()
+                                .bodyToMono(AiTitleResponse.class))))
                 .doOnSuccess(title -> log.info("Title 생성 완료: {}", title))
                 .doOnError(error -> log.error("Title 생성 실패", error))
-                .onErrorReturn(createDefaultTitleResponse());  // 기본값 제공
+                .onErrorResume(error -> fallback(ANALYSIS_TITLE, createDefaultTitleResponse()));  // 기본값 제공
     }
     
     /**
@@ -55,15 +115,15 @@ public class AiClient {
      */
     public Mono<AiSummaryResponse> getSummary(AiRequest request) {
         
-        return aiWebClient.post()
-                .uri("/ai/pull_requests/summary")
-                .bodyValue(request)
-                .retrieve()
-                .bodyToMono(AiSummaryResponse.class)
-                .timeout(Duration.ofMinutes(1))
+        return aiCallScheduler.schedule(Lane.INTERACTIVE, request.getRepoId(),
+                        aiCallGuard.protect("/ai/pull_requests/summary", aiRequestBodyWriter.withFallback(aiWebClient.post()
+                                .uri("/ai/pull_requests/summary")
+                                .body(aiRequestBodyWriter.json(request))
+                                .retrieve()
+                                .bodyToMono(AiSummaryResponse.class))))
                 .doOnSuccess(summary -> log.info("Summary 생성 완료"))
                 .doOnError(error -> log.error("Summary 생성 실패", error))
-                .onErrorReturn(createDefaultSummaryResponse());
+                .onErrorResume(error -> fallback(ANALYSIS_SUMMARY, createDefaultSummaryResponse()));
     }
     
     /**
@@ -71,15 +131,15 @@ public class AiClient {
      */
     public Mono<AiReviewerResponse> recommendReviewers(AiRequest request) {
         
-        return aiWebClient.post()
-                .uri("/ai/reviewers/recommend")
-                .bodyValue(request)
-                .retrieve()
-                .bodyToMono(AiReviewerResponse.class)
-                .timeout(Duration.ofMinutes(1))
+        return aiCallScheduler.schedule(Lane.INTERACTIVE, request.getRepoId(),
+                        aiCallGuard.protect("/ai/reviewers/recommend", aiRequestBodyWriter.withFallback(aiWebClient.post()
+                                .uri("/ai/reviewers/recommend")
+                                .body(aiRequestBodyWriter.json(request))
+                                .retrieve()
+                                .bodyToMono(AiReviewerResponse.class))))
                 .doOnSuccess(reviewers -> log.info("Reviewers 추천 완료: {}", reviewers))
                 .doOnError(error -> log.error("Reviewers 추천 실패", error))
-                .onErrorReturn(createDefaultReviewersResponse());
+                .onErrorResume(error -> fallback(ANALYSIS_REVIEWERS, createDefaultReviewersResponse()));
     }
     
     /**
@@ -87,15 +147,15 @@ public class AiClient {
      */
     public Mono<AiPriorityResponse> recommendPriority(AiRequest request) {
         
-        return aiWebClient.post()
-                .uri("/ai/priority/recommend")
-                .bodyValue(request)
-                .retrieve()
-                .bodyToMono(AiPriorityResponse.class)
-                .timeout(Duration.ofMinutes(1))
+        return aiCallScheduler.schedule(Lane.INTERACTIVE, request.getRepoId(),
+                        aiCallGuard.protect("/ai/priority/recommend", aiRequestBodyWriter.withFallback(aiWebClient.post()
+                                .uri("/ai/priority/recommend")
+                                .body(aiRequestBodyWriter.json(request))
+                                .retrieve()
+                                .bodyToMono(AiPriorityResponse.class))))
                 .doOnSuccess(priority -> log.info("Priority 추천 완료: {}", priority))
                 .doOnError(error -> log.error("Priority 추천 실패", error))
-                .onErrorReturn(AiPriorityResponse.createDefaultPriorityResponse());
+                .onErrorResume(error -> fallback(ANALYSIS_PRIORITY, AiPriorityResponse.createDefaultPriorityResponse()));
     }
     
     /**
@@ -103,15 +163,91 @@ public class AiClient {
      */
     public Mono<AiConventionResponse> checkCodingConvention(AiConventionRequest request) {
         
-        return aiWebClient.post()
-                .uri("/ai/coding-convention/check")
-                .bodyValue(request)
-                .retrieve()
-                .bodyToMono(AiConventionResponse.class)
-                .timeout(Duration.ofMinutes(1))
+        return codingConventionCall(request)
+                .onErrorResume(error -> fallback(ANALYSIS_CONVENTION, createDefaultConventionResponse()));
+    }
+    
+    private Mono<AiConventionResponse> codingConventionCall(AiConventionRequest request) {
+        return aiCallScheduler.schedule(Lane.BACKGROUND, request.getRepoId(),
+                        aiCallGuard.protect("/ai/coding-convention/check", aiRequestBodyWriter.withFallback(aiWebClient.post()
+                                .uri("/ai/coding-convention/check")
+                                .body(aiRequestBodyWriter.json(request))
+                                .retrieve()
+                                .bodyToMono(AiConventionResponse.class))))
                 .doOnSuccess(conventions -> log.info("Coding Convention 검사 완료"))
-                .doOnError(error -> log.error("Coding Convention 검사 실패", error))
-                .onErrorReturn(createDefaultConventionResponse());
+                .doOnError(error -> log.error("Coding Convention 검사 실패", error));
+    }
+    
+    /**
+     * 이름 규칙 검사. 로컬에서 판단할 수 있는 규칙은 바로 검사하고, 나머지 규칙만 AI 로 검사한다.
+     */
+    public Mono<AiNamingConventionResponse> checkNamingConvention(AiConventionRequest request, String unifiedDiff) {
+        
+        return namingConventionChecker.scan(request.getRules(), unifiedDiff)
+                .flatMap(local -> {
+                    AiNamingConventionResponse.AiNamingConventionResponseBuilder response = AiNamingConventionResponse.builder()
+                            .violations(local.getViolations())
+                            .escalatedRules(local.getUnresolvedRules());
+                    if (local.getUnresolvedRules().isEmpty()) {
+                        return Mono.just(response.build());
+                    }
+                    
+                    Set<String> escalated = local.getUnresolvedRules();
+                    log.info("로컬에서 판단하지 못한 규칙 AI 검사 - {}", escalated);
+                    return codingConventionCall(escalate(request, escalated))
+                            // AI 로 넘긴 종류는 AI 결과로만 알려 같은 위반이 두 번 보고되지 않게 한다
+                            .map(aiResult -> response
+                                    .violations(local.getViolations().stream()
+                                            .filter(violation -> !escalated.contains(violation.kind()))
+                                            .toList())
+                                    .aiResult(aiResult)
+                                    .build())
+                            // AI 검사가 실패하면 로컬에서 찾은 위반은 모두 알린다
+                            .onErrorResume(error -> fallback(ANALYSIS_CONVENTION, createDefaultConventionResponse())
+                                    .map(aiResult -> response.aiResult(aiResult).build()));
+                })
+                .doOnSuccess(conventions -> log.info("이름 규칙 검사 완료 - 로컬 위반: {}건", conventions.getViolations().size()))
+                .doOnError(error -> log.error("이름 규칙 검사 실패", error));
+    }
+    
+    private static AiConventionRequest escalate(AiConventionRequest request, Set<String> rules) {
+        AiConventionRequest.Rules original = request.getRules();
+        AiConventionRequest.Rules escalated = AiConventionRequest.Rules.builder()
+                .fileNames(rules.contains(NamingConventionScanner.FILE_NAMES) ? original.getFileNames() : null)
+                .functionNames(rules.contains(NamingConventionScanner.FUNCTION_NAMES) ? original.getFunctionNames() : null)
+                .variableNames(rules.contains(NamingConventionScanner.VARIABLE_NAMES) ? original.getVariableNames() : null)
+                .classNames(rules.contains(NamingConventionScanner.CLASS_NAMES) ? original.getClassNames() : null)
+                .constantNames(rules.contains(NamingConventionScanner.CONSTANT_NAMES) ? original.getConstantNames() : null)
+                .build();
+        return new AiConventionRequest(request.getRepoId(), request.getSource(), request.getTarget(), escalated);
+    }
+    
+    /**
+     * 코딩 컨벤션 증분 검사 (캐시에 결과가 없는 hunk 만 검사)
+     * AI 서버가 hunk 검사를 지원하지 않으면 retry-minutes 동안 전체 검사({@link #checkCodingConvention})로 대신한다.
+     */
+    public Mono<AiIncrementalConventionResponse> checkCodingConventionIncremental(AiConventionRequest request, String unifiedDiff) {
+        if (System.currentTimeMillis() < hunkUnsupportedUntil) {
+            return fullConventionCheck(request);
+        }
+        
+        return incrementalConventionChecker.check(request, unifiedDiff)
+                .doOnSuccess(conventions -> log.info("Coding Convention 증분 검사 완료 - 캐시: {}, 검사: {}",
+                        conventions.getCachedHunks(), conventions.getCheckedHunks()))
+                .onErrorResume(IncrementalConventionChecker::isUnsupported, error -> {
+                    hunkUnsupportedUntil = System.currentTimeMillis() + hunkRetryMinutes * 60_000L;
+                    log.info("AI 서버가 hunk 단위 컨벤션 검사를 지원하지 않음 - {}분 동안 전체 검사를 사용합니다", hunkRetryMinutes);
+                    return fullConventionCheck(request);
+                })
+                .doOnError(error -> log.error("Coding Convention 증분 검사 실패", error));
+    }
+    
+    private Mono<AiIncrementalConventionResponse> fullConventionCheck(AiConventionRequest request) {
+        return checkCodingConvention(request)
+                .map(conventions -> AiIncrementalConventionResponse.builder()
+                        .results(List.of())
+                        .fullResult(conventions)
+                        .build());
     }
     
     /**
@@ -120,23 +256,188 @@ public class AiClient {
     public Mono<AiResult> analyzeAll(CustomUserDetail customUserDetail, AiRequest request) {
         log.info("AI 전체 분석 시작");
         
-        // 1. 캐시 조회를 Mono로 감싸서 reactive chain 유지
-        return Mono.fromCallable(() -> aiRedisRepository.getAiInfo(request))
-                .doOnNext(cachedResult -> {
-                    if (cachedResult != null) {
-                        log.info("캐시된 AI 정보 조회 성공 - 캐시 히트");
-                    }
-                })
-                .filter(Objects::nonNull)  // null이 아닌 경우만 통과
-                .switchIfEmpty(
-                        // 2. 캐시가 없는 경우에만 실제 분석 수행
-                        performFullAnalysis(customUserDetail, request)
-                )
+        // 1. 브랜치 head SHA 로 캐시 키를 만든다
+        return aiResultCache.keyOf(request)
+                .flatMap(cacheKey -> cacheKey
+                        .map(key -> analyzeAllCached(customUserDetail, request, key))
+                        .orElseGet(() -> {
+                            // head 를 모르면 다른 커밋의 요청과 섞이지 않도록 캐시 없이 분석한다
+                            log.info("브랜치 head 를 알 수 없어 캐시 없이 분석합니다");
+                            return performFullAnalysis(customUserDetail, request, null);
+                        }))
                 .doOnSuccess(result -> log.info("AI 전체 분석 완료"))
                 .doOnError(error -> log.error("AI 전체 분석 실패", error));
     }
     
-    private Mono<AiResult> performFullAnalysis(CustomUserDetail customUserDetail, AiRequest request) {
+    private Mono<AiResult> analyzeAllCached(CustomUserDetail customUserDetail, AiRequest request, CacheKey cacheKey) {
+        // 2. 로컬 캐시는 스레드 전환 없이 바로 확인
+        AiResult localResult = aiResultCache.getLocal(cacheKey);
+        if (localResult != null) {
+            log.info("캐시된 AI 정보 조회 성공 - 로컬 캐시 히트");
+            return Mono.just(localResult);
+        }
+        
+        // 3. 같은 요청이 이미 진행 중이면 그 결과를 함께 받는다
+        return aiRequestCollapser.collapse(cacheKey,
+                // 4. Redis 조회 (non-blocking 이므로 스레드 전환 없음)
+                () -> aiResultCache.getRemote(cacheKey)
+                        .doOnNext(cachedResult -> log.info("캐시된 AI 정보 조회 성공 - Redis 캐시 히트"))
+                        .onErrorResume(error -> {
+                            log.warn("AI 캐시 조회 실패, 분석을 새로 수행합니다", error);
+                            return Mono.empty();
+                        })
+                        // 5. 캐시가 없는 경우에만 실제 분석 수행
+                        .switchIfEmpty(Mono.defer(() -> performFullAnalysis(customUserDetail, request, cacheKey))));
+    }
+    
+    /**
+     * 모든 AI 분석을 실행하되, 각 분석 결과를 완료되는 순서대로 바로 내보낸다.
+     * 마지막에는 세 결과를 합친 AiResult 를 "result" 이벤트로 보내며, 이 결과는 analyzeAll 과 같은 기준으로 캐시된다.
+     */
+    public Flux<AiAnalysisEvent> analyzeAllStream(CustomUserDetail customUserDetail, AiRequest request) {
+        log.info("AI 스트리밍 분석 시작");
+        
+        return aiResultCache.keyOf(request)
+                .flatMapMany(cacheKey -> cacheKey
+                        .map(key -> analyzeAllStreamCached(customUserDetail, request, key))
+                        .orElseGet(() -> {
+                            log.info("브랜치 head 를 알 수 없어 캐시 없이 분석합니다");
+                            return validateUserPermissionAsync(customUserDetail.getUser()
+                                    .getId(), request.getRepoId())
+                                    .thenMany(executeStreamingAnalysis(request, null, LocalDateTime.now()));
+                        }))
+                .timeout(Duration.ofMinutes(5))
+                .doOnComplete(() -> log.info("AI 스트리밍 분석 완료"))
+                .doOnError(error -> log.error("AI 스트리밍 분석 실패", error));
+    }
+    
+    private Flux<AiAnalysisEvent> analyzeAllStreamCached(CustomUserDetail customUserDetail, AiRequest request,
+            CacheKey cacheKey) {
+        AiResult localResult = aiResultCache.getLocal(cacheKey);
+        if (localResult != null) {
+            log.info("캐시된 AI 정보 조회 성공 - 로컬 캐시 히트");
+            return replay(localResult);
+        }
+        
+        return aiResultCache.getRemote(cacheKey)
+                .onErrorResume(error -> {
+                    log.warn("AI 캐시 조회 실패, 분석을 새로 수행합니다", error);
+                    return Mono.empty();
+                })
+                .flatMapMany(this::replay)
+                .switchIfEmpty(Flux.defer(() -> validateUserPermissionAsync(customUserDetail.getUser()
+                                .getId(), request.getRepoId())
+                        .thenMany(executeStreamingAnalysis(request, cacheKey, LocalDateTime.now()))));
+    }
+    
+    /**
+     * 사용자 요청 없이 분석 결과를 미리 캐시에 채운다. (웹훅 사전 분석용, 사용자 권한 검증 없음)
+     * 모든 AI 호출은 BACKGROUND lane 으로 실행된다.
+     * 진행 중인 사전 분석에는 같은 키의 사용자 요청이 합류할 수 있다 ({@link AiRequestCollapser#collapseCancellable}).
+     * 구독을 취소하면 합류한 요청이 없을 때만 분석이 취소되고, 합류한 요청이 있으면 분석은 그 요청을 위해 계속된다.
+     * 브랜치 head 를 알 수 없으면 결과를 저장할 키가 없으므로 분석하지 않고 비어 있는 값으로 끝난다.
+     */
+    public Mono<AiResult> warmUp(AiRequest request) {
+        // 무효화 직후에는 로컬 캐시가 아직 비워지지 않았을 수 있으므로 Redis 만 확인한다
+        return aiResultCache.keyOf(request)
+                .flatMap(Mono::justOrEmpty)
+                .flatMap(cacheKey -> aiRequestCollapser.collapseCancellable(cacheKey,
+                        () -> aiResultCache.getRemote(cacheKey)
+                                .onErrorResume(error -> {
+                                    log.warn("AI 캐시 조회 실패, 사전 분석을 수행합니다", error);
+                                    return Mono.empty();
+                                })
+                                .switchIfEmpty(Mono.defer(() -> executeParallelAnalysis(request, cacheKey, LocalDateTime.now())))))
+                .timeout(Duration.ofMinutes(5))
+                .contextWrite(AiCallScheduler.withLane(Lane.BACKGROUND));
+    }
+    
+    // cacheKey 가 null 이면 캐시를 읽거나 쓰지 않는다
+    private Flux<AiAnalysisEvent> executeStreamingAnalysis(AiRequest request, CacheKey cacheKey, LocalDateTime startTime) {
+        // 캐시된 부분 결과를 먼저 보내고 나머지만 분석한다. 흘려보낸 결과는 최종 결과 조립에도 재사용한다
+        Map<String, Object> cached = new HashMap<>();
+        Flux<AiAnalysisEvent> parts = cachedParts(cacheKey)
+                .flatMapMany(found -> {
+                    cached.putAll(found);
+                    List<String> missing = missing(found);
+                    Flux<AiAnalysisEvent> fresh = missing.isEmpty() ? Flux.empty()
+                            : isBatchAvailable() ? batchedParts(request, missing) : fanOutParts(request, missing);
+                    return Flux.fromIterable(BATCH_ANALYSES)
+                            .filter(found::containsKey)
+                            .map(type -> AiAnalysisEvent.of(type, found.get(type)))
+                            .concatWith(fresh);
+                })
+                .cache();
+        
+        Mono<AiAnalysisEvent> result = parts
+                .collectMap(AiAnalysisEvent::getType, AiAnalysisEvent::getData)
+                .flatMap(received -> combine(
+                        received(received, ANALYSIS_TITLE, AiTitleResponse.class, () -> titleAnalysis(request)),
+                        received(received, ANALYSIS_REVIEWERS, AiReviewerResponse.class, () -> reviewersAnalysis(request)),
+                        received(received, ANALYSIS_PRIORITY, AiPriorityResponse.class, () -> priorityAnalysis(request)),
+                        startTime))
+                .flatMap(analysisResult -> cacheIfValid(cacheKey, analysisResult, cached.keySet()))
+                .map(analysisResult -> AiAnalysisEvent.of(AiAnalysisEvent.RESULT, analysisResult));
+        
+        return Flux.concat(parts, result);
+    }
+    
+    private Flux<AiAnalysisEvent> fanOutParts(AiRequest request, List<String> analyses) {
+        List<Mono<AiAnalysisEvent>> calls = new ArrayList<>();
+        if (analyses.contains(ANALYSIS_TITLE)) {
+            calls.add(titleAnalysis(request).map(title -> AiAnalysisEvent.of(ANALYSIS_TITLE, title)));
+        }
+        if (analyses.contains(ANALYSIS_REVIEWERS)) {
+            calls.add(reviewersAnalysis(request).map(reviewers -> AiAnalysisEvent.of(ANALYSIS_REVIEWERS, reviewers)));
+        }
+        if (analyses.contains(ANALYSIS_PRIORITY)) {
+            calls.add(priorityAnalysis(request).map(priority -> AiAnalysisEvent.of(ANALYSIS_PRIORITY, priority)));
+        }
+        return Flux.merge(calls);
+    }
+    
+    /**
+     * 통합 분석 스트림을 이벤트로 변환한다. 실패하면 그때까지 받은 결과만 내보내고, 빠진 분석은 최종 결과 조립 시 개별 API 로 보충한다.
+     */
+    private Flux<AiAnalysisEvent> batchedParts(AiRequest request, List<String> analyses) {
+        return streamAnalysis(request, analyses)
+                .flatMap(part -> {
+                    Class<?> responseType = ANALYSIS_TYPES.get(part.getType());
+                    if (responseType == null || part.getResult() == null || part.getResult().isNull()) {
+                        return Mono.empty();
+                    }
+                    try {
+                        return Mono.just(AiAnalysisEvent.of(part.getType(), objectMapper.treeToValue(part.getResult(), responseType)));
+                    } catch (JsonProcessingException e) {
+                        log.warn("통합 분석 {} 결과 변환 실패, 개별 API 로 보충", part.getType(), e);
+                        return Mono.empty();
+                    }
+                })
+                .onErrorResume(error -> {
+                    if (isUnsupported(error)) {
+                        batchUnsupportedUntil = System.currentTimeMillis() + batchRetryMinutes * 60_000L;
+                        log.info("AI 서버가 통합 분석을 지원하지 않음 - {}분 동안 개별 API 를 사용합니다", batchRetryMinutes);
+                    } else {
+                        log.warn("통합 AI 분석 실패, 남은 분석은 개별 API 로 보충", error);
+                    }
+                    return Flux.empty();
+                });
+    }
+    
+    private <T> Mono<T> received(Map<String, Object> received, String type, Class<T> responseType, Supplier<Mono<T>> fallback) {
+        Object value = received.get(type);
+        return responseType.isInstance(value) ? Mono.just(responseType.cast(value)) : fallback.get();
+    }
+    
+    private Flux<AiAnalysisEvent> replay(AiResult cachedResult) {
+        return Flux.just(
+                AiAnalysisEvent.of(ANALYSIS_TITLE, cachedResult.getTitle()),
+                AiAnalysisEvent.of(ANALYSIS_REVIEWERS, cachedResult.getReviewers()),
+                AiAnalysisEvent.of(ANALYSIS_PRIORITY, cachedResult.getPriority()),
+                AiAnalysisEvent.of(AiAnalysisEvent.RESULT, cachedResult));
+    }
+    
+    private Mono<AiResult> performFullAnalysis(CustomUserDetail customUserDetail, AiRequest request, CacheKey cacheKey) {
         log.info("캐시 미스 - 새로운 AI 분석 시작");
         
         LocalDateTime startTime = LocalDateTime.now();
@@ -144,51 +445,189 @@ public class AiClient {
         // 3. 권한 검증을 비동기로 수행
         return validateUserPermissionAsync(customUserDetail.getUser()
                 .getId(), request.getRepoId())
-                .then(executeParallelAnalysis(request, startTime))
+                .then(executeParallelAnalysis(request, cacheKey, startTime))
                 .timeout(Duration.ofMinutes(5))  // 전체 타임아웃 5분
                 .doOnSuccess(result -> {
                     Duration duration = Duration.between(startTime, LocalDateTime.now());
+                    aiClientMetrics.recordAnalysis("success", duration);
                     log.info("PR 전체 분석 완료 - 소요시간: {}초", duration.toSeconds());
                 })
                 .doOnError(error -> {
                     Duration duration = Duration.between(startTime, LocalDateTime.now());
+                    aiClientMetrics.recordAnalysis("failure", duration);
                     log.error("PR 전체 분석 실패 - 소요시간: {}초", duration.toSeconds(), error);
                 })
                 .onErrorResume(error -> handlePartialFailure(startTime, error));
     }
     
-    private Mono<AiResult> executeParallelAnalysis(AiRequest request, LocalDateTime startTime) {
+    private Mono<AiResult> executeParallelAnalysis(AiRequest request, CacheKey cacheKey, LocalDateTime startTime) {
+        // 이전 요청에서 성공한 분석은 재사용하고 나머지만 분석한다
+        return cachedParts(cacheKey)
+                .flatMap(cached -> {
+                    List<String> missing = missing(cached);
+                    Mono<AiResult> analysis = isBatchAvailable() && !missing.isEmpty()
+                            ? executeBatchedAnalysis(request, startTime, cached, missing)
+                            : executeFanOutAnalysis(request, startTime, cached);
+                    
+                    // 6. 의미있는 값일 때만 캐시 저장을 비동기로 수행
+                    return analysis.flatMap(result -> cacheIfValid(cacheKey, result, cached.keySet()));
+                });
+    }
+    
+    /**
+     * 전체 결과가 유효하면 전체와 분석별 결과를 저장하고, 기본값이 섞여 있으면 성공한 분석만 저장한다.
+     *
+     * @param cacheKey null 이면 저장하지 않는다 (브랜치 head 를 알 수 없는 요청)
+     * @param cached   부분 결과 캐시에서 가져온 분석 (TTL 을 늘리지 않도록 다시 저장하지 않음)
+     */
+    private Mono<AiResult> cacheIfValid(CacheKey cacheKey, AiResult result, Set<String> cached) {
+        if (cacheKey == null) {
+            return Mono.just(result);
+        }
+        Mono<Void> save;
+        if (isValidForCaching(result)) {
+            log.info("의미있는 AI 분석 결과 - 캐시에 저장합니다");
+            save = Mono.when(saveToCache(cacheKey, result), saveParts(cacheKey, result, cached));
+        } else {
+            log.info("기본값이 포함된 AI 분석 결과 - 성공한 분석만 부분 결과로 저장합니다");
+            save = saveParts(cacheKey, result, cached);
+        }
+        return save
+                .thenReturn(result)
+                .onErrorResume(cacheError -> {
+                    log.warn("캐시 저장 실패, 결과는 정상 반환", cacheError);
+                    return Mono.just(result);
+                });
+    }
+    
+    private Mono<Map<String, Object>> cachedParts(CacheKey cacheKey) {
+        if (cacheKey == null) {
+            return Mono.just(Map.of());
+        }
+        return aiResultCache.getParts(cacheKey, ANALYSIS_TYPES)
+                .doOnNext(parts -> {
+                    if (!parts.isEmpty()) {
+                        log.info("캐시된 부분 결과 재사용 - {}", parts.keySet());
+                    }
+                })
+                .onErrorResume(error -> {
+                    log.warn("AI 부분 결과 조회 실패, 전체를 분석합니다", error);
+                    return Mono.just(Map.of());
+                });
+    }
+    
+    private static List<String> missing(Map<String, Object> cached) {
+        return BATCH_ANALYSES.stream()
+                .filter(type -> !cached.containsKey(type))
+                .toList();
+    }
+    
+    private Mono<AiResult> executeFanOutAnalysis(AiRequest request, LocalDateTime startTime, Map<String, Object> cached) {
         log.info("병렬 AI API 호출 시작");
         
-        // 4. 각 API 호출에 개별 타임아웃과 fallback 추가
-        Mono<AiTitleResponse> titleMono = recommendTitle(request)
+        // 4. 각 API 호출에 개별 타임아웃과 fallback 추가 (캐시된 분석은 호출하지 않음)
+        Mono<AiTitleResponse> titleMono = received(cached, ANALYSIS_TITLE, AiTitleResponse.class, () -> titleAnalysis(request));
+        Mono<AiReviewerResponse> reviewersMono = received(cached, ANALYSIS_REVIEWERS, AiReviewerResponse.class, () -> reviewersAnalysis(request));
+        Mono<AiPriorityResponse> priorityMono = received(cached, ANALYSIS_PRIORITY, AiPriorityResponse.class, () -> priorityAnalysis(request));
+        
+        // 5. 모든 결과를 조합
+        return combine(titleMono, reviewersMono, priorityMono, startTime);
+    }
+    
+    private Mono<AiTitleResponse> titleAnalysis(AiRequest request) {
+        return recommendTitle(request)
                 .timeout(Duration.ofMinutes(2))
                 .doOnSubscribe(sub -> log.info("Title 분석 시작"))
                 .doOnSuccess(result -> log.debug("Title 분석 완료"))
                 .onErrorResume(error -> {
                     log.warn("Title 분석 실패, 기본값 사용", error);
-                    return Mono.just(createDefaultTitleResponse());
+                    return fallback(ANALYSIS_TITLE, createDefaultTitleResponse());
                 });
-        
-        Mono<AiReviewerResponse> reviewersMono = recommendReviewers(request)
+    }
+    
+    private Mono<AiReviewerResponse> reviewersAnalysis(AiRequest request) {
+        return recommendReviewers(request)
                 .timeout(Duration.ofMinutes(2))
                 .doOnSubscribe(sub -> log.info("Reviewers 분석 시작"))
                 .doOnSuccess(result -> log.debug("Reviewers 분석 완료"))
                 .onErrorResume(error -> {
                     log.warn("Reviewers 분석 실패, 기본값 사용", error);
-                    return Mono.just(createDefaultReviewersResponse());
+                    return fallback(ANALYSIS_REVIEWERS, createDefaultReviewersResponse());
                 });
-        
-        Mono<AiPriorityResponse> priorityMono = recommendPriority(request)
+    }
+    
+    private Mono<AiPriorityResponse> priorityAnalysis(AiRequest request) {
+        return recommendPriority(request)
                 .timeout(Duration.ofMinutes(2))
                 .doOnSubscribe(sub -> log.info("Priority 분석 시작"))
                 .doOnSuccess(result -> log.debug("Priority 분석 완료"))
                 .onErrorResume(error -> {
                     log.warn("Priority 분석 실패, 기본값 사용", error);
-                    return Mono.just(createDefaultPriorityResponse());
+                    return fallback(ANALYSIS_PRIORITY, createDefaultPriorityResponse());
                 });
+    }
+    
+    /**
+     * 통합 분석 API 한 번으로 title, reviewers, priority 를 받는다.
+     * 응답은 NDJSON 스트림으로 분석이 끝나는 대로 한 줄씩 도착한다.
+     * 서버가 지원하지 않으면 일정 시간 동안 개별 API 호출로 전환하고, 응답에 빠진 분석은 개별 API 로 보충한다.
+     */
+    private Mono<AiResult> executeBatchedAnalysis(AiRequest request, LocalDateTime startTime,
+            Map<String, Object> cached, List<String> analyses) {
+        log.info("통합 AI API 호출 시작 - {}", analyses);
         
-        // 5. 모든 결과를 조합하고 캐시 저장
+        return streamAnalysis(request, analyses)
+                .collectMap(AiAnalysisPart::getType, AiAnalysisPart::getResult)
+                .flatMap(parts -> combine(
+                        received(cached, ANALYSIS_TITLE, AiTitleResponse.class,
+                                () -> part(parts, ANALYSIS_TITLE, AiTitleResponse.class, () -> recommendTitle(request))),
+                        received(cached, ANALYSIS_REVIEWERS, AiReviewerResponse.class,
+                                () -> part(parts, ANALYSIS_REVIEWERS, AiReviewerResponse.class, () -> recommendReviewers(request))),
+                        received(cached, ANALYSIS_PRIORITY, AiPriorityResponse.class,
+                                () -> part(parts, ANALYSIS_PRIORITY, AiPriorityResponse.class, () -> recommendPriority(request))),
+                        startTime))
+                .onErrorResume(error -> {
+                    if (isUnsupported(error)) {
+                        batchUnsupportedUntil = System.currentTimeMillis() + batchRetryMinutes * 60_000L;
+                        log.info("AI 서버가 통합 분석을 지원하지 않음 - {}분 동안 개별 API 를 사용합니다", batchRetryMinutes);
+                    } else {
+                        log.warn("통합 AI 분석 실패, 개별 API 로 재시도", error);
+                    }
+                    return executeFanOutAnalysis(request, startTime, cached);
+                });
+    }
+    
+    /**
+     * 통합 분석 스트림. 각 분석 결과가 완료되는 순서대로 발행된다.
+     */
+    private Flux<AiAnalysisPart> streamAnalysis(AiRequest request, List<String> analyses) {
+        // 다음 결과가 적응형 타임아웃 안에 오지 않으면 실패
+        return aiCallScheduler.schedule(Lane.INTERACTIVE, request.getRepoId(),
+                        aiCallGuard.protectMany("/ai/pull_requests/analyze", aiRequestBodyWriter.withFallback(aiWebClient.post()
+                                .uri("/ai/pull_requests/analyze")
+                                .accept(MediaType.APPLICATION_NDJSON)
+                                .body(aiRequestBodyWriter.json(new AiAnalysisRequest(request, analyses)))
+                                .retrieve()
+                                .bodyToFlux(AiAnalysisPart.class))))
+                .doOnNext(part -> log.info("{} 분석 수신", part.getType()));
+    }
+    
+    private <T> Mono<T> part(Map<String, JsonNode> parts, String type, Class<T> responseType, Supplier<Mono<T>> fallback) {
+        JsonNode node = parts.get(type);
+        if (node == null || node.isNull()) {
+            log.warn("통합 분석 응답에 {} 결과가 없음, 개별 API 로 보충", type);
+            return fallback.get();
+        }
+        try {
+            return Mono.just(objectMapper.treeToValue(node, responseType));
+        } catch (JsonProcessingException e) {
+            log.warn("통합 분석 {} 결과 변환 실패, 개별 API 로 보충", type, e);
+            return fallback.get();
+        }
+    }
+    
+    private Mono<AiResult> combine(Mono<AiTitleResponse> titleMono, Mono<AiReviewerResponse> reviewersMono,
+            Mono<AiPriorityResponse> priorityMono, LocalDateTime startTime) {
         return Mono.zip(titleMono, reviewersMono, priorityMono)
                 .map(results -> {
                     AiResult analysisResult = AiResult.builder()
@@ -200,33 +639,37 @@ public class AiClient {
                     
                     log.debug("AI 분석 결과 생성 완료");
                     return analysisResult;
-                })
-                // 6. 의미있는 값일 때만 캐시 저장을 비동기로 수행
-                .flatMap(result -> {
-                    if (isValidForCaching(result)) {
-                        log.info("의미있는 AI 분석 결과 - 캐시에 저장합니다");
-                        return saveToCache(request, result)
-                                .thenReturn(result)
-                                .onErrorResume(cacheError -> {
-                                    log.warn("캐시 저장 실패, 결과는 정상 반환", cacheError);
-                                    return Mono.just(result);
-                                });
-                    } else {
-                        log.info("기본값이 포함된 AI 분석 결과 - 캐시에 저장하지 않습니다");
-                        return Mono.just(result);
-                    }
                 });
     }
     
+    private boolean isBatchAvailable() {
+        return batchEnabled && System.currentTimeMillis() >= batchUnsupportedUntil;
+    }
     
+    private static boolean isUnsupported(Throwable error) {
+        if (!(error instanceof WebClientResponseException responseException)) {
+            return false;
+        }
+        int status = responseException.getStatusCode().value();
+        return status == 404 || status == 405 || status == 406 || status == 415 || status == 501;
+    }
     
     public Mono<Void> saveVectorDb(MergedPullRequestInfo mergedPullRequestInfo) {
         log.debug("Vector DB 저장 시작 - PR ID: {}", mergedPullRequestInfo.getId());
-        return aiWebClient.post()
-                .uri("/ai/vector-db/store")
-                .bodyValue(mergedPullRequestInfo)
-                .retrieve()
-                .bodyToMono(Void.class)
+        if (aiVectorStoreWriter.isEnabled()) {
+            // write-ahead 파일에 기록된 뒤 batch 로 전송되며, 실패 시 writer 가 재시도한다
+            return aiVectorStoreWriter.submit(mergedPullRequestInfo)
+                    .doOnSuccess(result -> log.debug("Vector DB 저장 대기열 등록 - PR ID: {}", mergedPullRequestInfo.getId()))
+                    .doOnError(error -> log.error("Vector DB 저장 대기열 등록 실패 - PR ID: {}", mergedPullRequestInfo.getId(), error))
+                    .onErrorResume(error -> Mono.empty());
+        }
+        
+        // 저장소 정보가 없으므로 저장소를 알 수 없는 호출끼리 같은 대기열을 쓴다
+        return aiCallScheduler.schedule(Lane.BACKGROUND, null, aiClientMetrics.timed("/ai/vector-db/store", aiWebClient.post()
+                        .uri("/ai/vector-db/store")
+                        .bodyValue(mergedPullRequestInfo)
+                        .retrieve()
+                        .bodyToMono(Void.class)))
                 .timeout(Duration.ofMinutes(2))
                 .doOnSuccess(result -> log.info("Vector DB 저장 완료 - PR ID: {}", mergedPullRequestInfo.getId()))
                 .doOnError(error -> log.error("Vector DB 저장 실패 - PR ID: {}", mergedPullRequestInfo.getId(), error))
@@ -246,23 +689,33 @@ public class AiClient {
     }
     
     // 8. 캐시 저장을 비동기로 수행
-    private Mono<Void> saveToCache(AiRequest request, AiResult result) {
-        return Mono.fromRunnable(() -> {
-                    try {
-                        aiRedisRepository.saveAiInfo(request, result);
-                        log.debug("AI 분석 결과 캐시 저장 완료");
-                    } catch (Exception e) {
-                        log.warn("캐시 저장 중 오류 발생", e);
-                        throw new RuntimeException("캐시 저장 실패", e);
-                    }
-                })
-                .subscribeOn(Schedulers.boundedElastic())  // I/O 스레드에서 실행
-                .then();
+    private Mono<Void> saveToCache(CacheKey cacheKey, AiResult result) {
+        return aiResultCache.put(cacheKey, result)
+                .doOnSuccess(ignored -> log.debug("AI 분석 결과 캐시 저장 완료"))
+                .doOnError(error -> log.warn("캐시 저장 중 오류 발생", error));
+    }
+    
+    // 기본값이 아닌 분석 결과를 분석별 키로 저장
+    private Mono<Void> saveParts(CacheKey cacheKey, AiResult result, Set<String> cached) {
+        List<Mono<Void>> saves = new ArrayList<>();
+        if (!cached.contains(ANALYSIS_TITLE) && result.getTitle() != null && !isDefaultTitleResponse(result.getTitle())) {
+            saves.add(aiResultCache.putPart(cacheKey, ANALYSIS_TITLE, result.getTitle()));
+        }
+        if (!cached.contains(ANALYSIS_REVIEWERS) && result.getReviewers() != null
+                && !isDefaultReviewersResponse(result.getReviewers())) {
+            saves.add(aiResultCache.putPart(cacheKey, ANALYSIS_REVIEWERS, result.getReviewers()));
+        }
+        if (!cached.contains(ANALYSIS_PRIORITY) && result.getPriority() != null
+                && !isDefaultPriorityResponse(result.getPriority())) {
+            saves.add(aiResultCache.putPart(cacheKey, ANALYSIS_PRIORITY, result.getPriority()));
+        }
+        return Mono.when(saves);
     }
     
     
     // 10. 부분 실패 처리 개선
     private Mono<AiResult> handlePartialFailure(LocalDateTime startTime, Throwable error) {
+        // 개별 분석의 기본값 대체는 각 분석에서 이미 셌고, 전체 실패는 ai.analysis{outcome=failure} 로 기록된다
         log.error("전체 분석 실패, 부분 결과 제공", error);
         
         return Mono.just(AiResult.builder()
@@ -275,6 +728,11 @@ public class AiClient {
                 .build());
     }
     
+    private <T> Mono<T> fallback(String analysis, T defaultResponse) {
+        aiClientMetrics.fallback(analysis);
+        return Mono.just(defaultResponse);
+    }
+    
     /**
      * AI 분석 결과가 캐시에 저장할 가치가 있는지 검증
      * 모든 응답이 의미있는 값을 포함해야 함 (기본값/폴백값 제외)
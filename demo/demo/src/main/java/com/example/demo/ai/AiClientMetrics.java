@@ -0,0 +1,127 @@
+package com.ssafy.ottereview.ai.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.reactivestreams.Publisher;
+import org.springframework.boot.web.reactive.function.client.WebClientCustomizer;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.client.reactive.ClientHttpRequestDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * AI 파이프라인 지표
+ * <p>
+ * - ai.client.request.size / ai.client.response.size: AI 서버 엔드포인트별 전송 본문 크기 (압축 시 압축된 크기)
+ * - ai.client.requests: 엔드포인트별 응답 시간. 보호된 호출은 {@link AiCallGuard} 가, 그 외 호출은 {@link #timed} 가 기록한다.
+ * - ai.client.fallback: 개별 분석이 실패해 기본값 응답으로 대체된 수. 전체 분석 실패는 ai.analysis{outcome=failure} 로만 센다.
+ * - ai.analysis: 캐시 미스 후 전체 분석에 걸린 시간
+ * 본문 크기는 WebClient.Builder 에 filter 를 추가해 /ai/ 경로 요청만 기록한다.
+ * 내보낼 percentile 은 application.properties 의 management.metrics.distribution.* 에서만 설정한다.
+ * meter 는 태그 값별로 한 번만 등록하고 재사용한다.
+ */
+@Component
+public class AiClientMetrics implements WebClientCustomizer {
+
+    private static final String AI_PATH_PREFIX = "/ai/";
+
+    private final MeterRegistry meterRegistry;
+
+    // 태그 값 -> 등록된 meter
+    private final Map<String, Counter> fallbacks = new ConcurrentHashMap<>();
+    private final Map<String, Timer> analysisTimers = new ConcurrentHashMap<>();
+    private final Map<String, Timer> requestTimers = new ConcurrentHashMap<>();
+    private final Map<String, DistributionSummary> sizes = new ConcurrentHashMap<>();
+
+    public AiClientMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void customize(WebClient.Builder builder) {
+        builder.filter((request, next) -> {
+            String endpoint = request.url().getPath();
+            if (!endpoint.startsWith(AI_PATH_PREFIX)) {
+                return next.exchange(request);
+            }
+
+            DistributionSummary requestSize = size("ai.client.request.size", endpoint);
+            DistributionSummary responseSize = size("ai.client.response.size", endpoint);
+            ClientRequest counted = ClientRequest.from(request)
+                    .body((message, context) -> request.body().insert(new ClientHttpRequestDecorator(message) {
+                        @Override
+                        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+                            AtomicLong bytes = new AtomicLong();
+                            return super.writeWith(Flux.from(body)
+                                            .doOnNext(buffer -> bytes.addAndGet(buffer.readableByteCount())))
+                                    .doOnSuccess(ignored -> requestSize.record(bytes.get()));
+                        }
+                    }, context))
+                    .build();
+
+            return next.exchange(counted).map(response -> {
+                AtomicLong bytes = new AtomicLong();
+                return response.mutate()
+                        .body(body -> body
+                                .doOnNext(buffer -> bytes.addAndGet(buffer.readableByteCount()))
+                                .doOnComplete(() -> responseSize.record(bytes.get())))
+                        .build();
+            });
+        });
+    }
+
+    /**
+     * {@link AiCallGuard} 를 거치지 않는 호출의 응답 시간을 같은 이름으로 기록한다.
+     */
+    public <T> Mono<T> timed(String endpoint, Mono<T> call) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return call
+                    .doOnSuccess(result -> timer(endpoint, "success").record(System.nanoTime() - start, TimeUnit.NANOSECONDS))
+                    .doOnError(error -> timer(endpoint, "failure").record(System.nanoTime() - start, TimeUnit.NANOSECONDS));
+        });
+    }
+
+    /**
+     * 분석 실패로 기본값 응답을 사용했을 때 기록한다.
+     */
+    public void fallback(String analysis) {
+        fallbacks.computeIfAbsent(analysis, key -> Counter.builder("ai.client.fallback")
+                        .tag("analysis", key)
+                        .description("AI 호출 실패로 기본값 응답을 사용한 수")
+                        .register(meterRegistry))
+                .increment();
+    }
+
+    public void recordAnalysis(String outcome, Duration duration) {
+        analysisTimers.computeIfAbsent(outcome, key -> Timer.builder("ai.analysis")
+                        .tag("outcome", key)
+                        .description("캐시 미스 후 전체 AI 분석 시간")
+                        .register(meterRegistry))
+                .record(duration);
+    }
+
+    private Timer timer(String endpoint, String outcome) {
+        return requestTimers.computeIfAbsent(outcome + " " + endpoint, key -> Timer.builder("ai.client.requests")
+                .tag("endpoint", endpoint)
+                .tag("outcome", outcome)
+                .register(meterRegistry));
+    }
+
+    private DistributionSummary size(String name, String endpoint) {
+        return sizes.computeIfAbsent(name + " " + endpoint, key -> DistributionSummary.builder(name)
+                .tag("endpoint", endpoint)
+                .baseUnit("bytes")
+                .register(meterRegistry));
+    }
+}
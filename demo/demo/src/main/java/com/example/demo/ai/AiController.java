@@ -20,5 +20,38 @@ public class AiController {
         return aiClient.recommendPriority(request)
                 .map(ResponseEntity::ok);
     }
+
+    /**
+     * 제목, 리뷰어, 우선순위 분석 결과를 완료되는 순서대로 SSE 로 보내고, 마지막에 전체 결과(result)를 보낸다.
+     */
+    @PostMapping(value = "/analysis/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<Object>> streamAnalysis(
+            @AuthenticationPrincipal CustomUserDetail customUserDetail,
+            @RequestBody AiRequest request) {
+        return aiClient.analyzeAllStream(customUserDetail, request)
+                .map(event -> ServerSentEvent.builder(event.getData())
+                        .event(event.getType())
+                        .build());
+    }
+
+    /**
+     * diff 의 hunk 중 이전 검사 결과가 없는 것만 코딩 컨벤션을 검사한다.
+     */
+    @PostMapping("/convention/incremental")
+    public Mono<ResponseEntity<AiIncrementalConventionResponse>> checkConventionIncremental(
+            @RequestBody AiConventionDiffRequest request) {
+        return aiClient.checkCodingConventionIncremental(request.toConventionRequest(), request.getDiff())
+                .map(ResponseEntity::ok);
+    }
+    
+    /**
+     * 이름 규칙을 diff 에서 로컬로 검사하고, 로컬에서 판단하지 못한 규칙만 AI 로 검사한다.
+     */
+    @PostMapping("/convention/naming")
+    public Mono<ResponseEntity<AiNamingConventionResponse>> checkNamingConvention(
+            @RequestBody AiConventionDiffRequest request) {
+        return aiClient.checkNamingConvention(request.toConventionRequest(), request.getDiff())
+                .map(ResponseEntity::ok);
+    }
     
 }
\ No newline at end of file
@@ -0,0 +1,27 @@
+package com.ssafy.ottereview.ai.dto.request;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * diff 를 직접 받아 검사하는 코딩 컨벤션 요청. AI 서버로는 {@link AiConventionRequest} 부분만 보낸다.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+public class AiConventionDiffRequest {
+    
+    @JsonProperty("repo_id")
+    private Long repoId;
+    private String source;
+    private String target;
+    private AiConventionRequest.Rules rules;
+    // source 와 target 의 unified diff
+    private String diff;
+    
+    public AiConventionRequest toConventionRequest() {
+        return new AiConventionRequest(repoId, source, target, rules);
+    }
+}
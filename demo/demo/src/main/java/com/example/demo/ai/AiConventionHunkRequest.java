@@ -0,0 +1,33 @@
+package com.ssafy.ottereview.ai.dto.request;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * hunk 단위 코딩 컨벤션 검사 요청. 캐시에 결과가 없는 hunk 만 담긴다.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+public class AiConventionHunkRequest {
+    
+    @JsonProperty("repo_id")
+    private Long repoId;
+    private AiConventionRequest.Rules rules;
+    private List<Hunk> hunks;
+    
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Getter
+    public static class Hunk {
+        
+        private String fingerprint;
+        @JsonProperty("file_name")
+        private String fileName;
+        private String header;
+        private String content;
+    }
+}
@@ -0,0 +1,28 @@
+package com.ssafy.ottereview.ai.dto.response;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * hunk 단위 코딩 컨벤션 검사 응답. fingerprint 로 요청한 hunk 와 연결된다.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+public class AiConventionHunkResponse {
+    
+    private List<Verdict> results;
+    
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Getter
+    public static class Verdict {
+        
+        private String fingerprint;
+        // 위반 항목 (형식은 전체 검사 API 의 결과 항목과 같다)
+        private List<JsonNode> violations;
+    }
+}
@@ -0,0 +1,43 @@
+package com.ssafy.ottereview.ai.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.JsonNode;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 증분 코딩 컨벤션 검사 결과. 캐시된 hunk 결과와 새로 검사한 hunk 결과를 diff 순서대로 합친다.
+ * AI 서버가 hunk 검사를 지원하지 않으면 results 는 비어 있고 전체 검사 결과가 fullResult 에 담긴다.
+ */
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+public class AiIncrementalConventionResponse {
+    
+    private List<HunkResult> results;
+    @JsonProperty("cached_hunks")
+    private int cachedHunks;
+    @JsonProperty("checked_hunks")
+    private int checkedHunks;
+    @JsonProperty("has_errors")
+    private boolean hasErrors;
+    // hunk 검사 대신 전체 검사를 한 경우에만 값이 있다
+    @JsonProperty("full_result")
+    private AiConventionResponse fullResult;
+    
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Getter
+    public static class HunkResult {
+        
+        @JsonProperty("file_name")
+        private String fileName;
+        private String header;
+        private boolean cached;
+        private List<JsonNode> violations;
+    }
+}
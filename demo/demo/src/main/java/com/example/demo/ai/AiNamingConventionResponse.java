@@ -0,0 +1,28 @@
+package com.ssafy.ottereview.ai.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.ssafy.ottereview.ai.convention.NamingViolation;
+import java.util.List;
+import java.util.Set;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 이름 규칙 검사 결과. 로컬에서 찾은 위반과, 로컬에서 판단하지 못해 AI 로 검사한 결과를 함께 담는다.
+ */
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+public class AiNamingConventionResponse {
+    
+    // 로컬에서 찾은 위반. AI 검사가 성공하면 escalatedRules 종류의 위반은 aiResult 에만 담긴다
+    private List<NamingViolation> violations;
+    @JsonProperty("escalated_rules")
+    private Set<String> escalatedRules;
+    // escalatedRules 가 비어 있으면 null
+    @JsonProperty("ai_result")
+    private AiConventionResponse aiResult;
+}
@@ -0,0 +1,141 @@
+package com.ssafy.ottereview.ai.client;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ReactiveHttpOutputMessage;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.BodyInserter;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * AI 요청 본문 스트리밍 직렬화
+ * <p>
+ * bodyValue 는 PR diff 가 담긴 요청 전체를 하나의 byte 배열로 직렬화한 뒤 전송한다.
+ * 여기서는 Jackson 이 chunk-size 단위 버퍼에 바로 쓰고, 버퍼가 차면 전송 채널로 흘려보낸다.
+ * 전송이 밀리면 직렬화 스레드가 기다리므로 호출당 버퍼 메모리는 chunk-size 몇 개로 제한된다. (chunked 전송)
+ * <p>
+ * compression 이 gzip 이면 본문을 압축해 Content-Encoding: gzip 으로 보낸다.
+ * AI 서버가 415 로 거절하면 retry-minutes 동안 압축하지 않고 보내며, 거절된 요청은 압축 없이 한 번 더 보낸다.
+ */
+@Slf4j
+@Component
+public class AiRequestBodyWriter {
+
+    private static final String GZIP = "gzip";
+
+    // 직렬화는 전송 대기 중 block 되므로 event loop 가 아닌 곳에서 실행한다
+    private static final Executor WRITE_EXECUTOR = task -> Schedulers.boundedElastic().schedule(task);
+
+    private final ObjectWriter objectWriter;
+    private final boolean gzipEnabled;
+    private final int compressionLevel;
+    private final int chunkSize;
+    private final long retryMinutes;
+
+    private volatile long compressionUnsupportedUntil;
+
+    public AiRequestBodyWriter(
+            ObjectMapper objectMapper,
+            @Value("${app.ai.request.compression:none}") String compression,
+            @Value("${app.ai.request.compression-level:1}") int compressionLevel,
+            @Value("${app.ai.request.chunk-size:8192}") int chunkSize,
+            @Value("${app.ai.request.compression-retry-minutes:10}") long retryMinutes) {
+        // 스트림 종료는 writer 가 직접 처리한다
+        this.objectWriter = objectMapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.gzipEnabled = GZIP.equalsIgnoreCase(compression);
+        this.compressionLevel = compressionLevel;
+        this.chunkSize = chunkSize;
+        this.retryMinutes = retryMinutes;
+    }
+
+    /**
+     * body 를 JSON 으로 스트리밍 전송하는 inserter. 압축 여부는 요청을 보낼 때마다 다시 결정한다.
+     */
+    public BodyInserter<Object, ReactiveHttpOutputMessage> json(Object body) {
+        return (message, context) -> {
+            boolean gzip = isCompressionAvailable();
+            HttpHeaders headers = message.getHeaders();
+            headers.setContentType(MediaType.APPLICATION_JSON);
+            if (gzip) {
+                headers.set(HttpHeaders.CONTENT_ENCODING, GZIP);
+            }
+            return message.writeWith(DataBufferUtils.outputStreamPublisher(
+                    outputStream -> write(body, outputStream, gzip),
+                    message.bufferFactory(), WRITE_EXECUTOR, chunkSize));
+        };
+    }
+
+    /**
+     * 압축된 요청이 415 로 거절되면 압축을 끄고 한 번 더 보낸다.
+     */
+    public <T> Mono<T> withFallback(Mono<T> call) {
+        return call.onErrorResume(error -> {
+            if (!isRejectedEncoding(error)) {
+                return Mono.error(error);
+            }
+            disableCompression();
+            return call;
+        });
+    }
+
+    public <T> Flux<T> withFallback(Flux<T> call) {
+        return call.onErrorResume(error -> {
+            if (!isRejectedEncoding(error)) {
+                return Flux.error(error);
+            }
+            disableCompression();
+            return call;
+        });
+    }
+
+    private void write(Object body, OutputStream outputStream, boolean gzip) {
+        try {
+            if (!gzip) {
+                objectWriter.writeValue(outputStream, body);
+                return;
+            }
+            // close 해야 Deflater 의 native 메모리가 바로 반환된다
+            try (GZIPOutputStream compressed = new GZIPOutputStream(outputStream, chunkSize) {
+                {
+                    def.setLevel(compressionLevel);
+                }
+            }) {
+                objectWriter.writeValue(compressed, body);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("AI 요청 본문 직렬화 실패", e);
+        }
+    }
+
+    private boolean isCompressionAvailable() {
+        return gzipEnabled && System.currentTimeMillis() >= compressionUnsupportedUntil;
+    }
+
+    private void disableCompression() {
+        compressionUnsupportedUntil = System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(retryMinutes);
+        log.info("AI 서버가 압축된 요청을 지원하지 않음 - {}분 동안 압축하지 않고 보냅니다", retryMinutes);
+    }
+
+    private static boolean isRejectedEncoding(Throwable error) {
+        return error instanceof WebClientResponseException responseException
+                && responseException.getStatusCode().value() == HttpStatus.UNSUPPORTED_MEDIA_TYPE.value()
+                && responseException.getRequest() != null
+                && GZIP.equals(responseException.getRequest().getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+    }
+}
@@ -0,0 +1,275 @@
+package com.ssafy.ottereview.ai.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ssafy.ottereview.ai.cache.AiResultCache.CacheKey;
+import com.ssafy.ottereview.ai.dto.response.AiResult;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.listener.PatternTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+/**
+ * 같은 AI 분석 요청의 동시 실행을 하나로 합친다 (single-flight)
+ * <p>
+ * 노드 안에서는 캐시 키별로 진행 중인 Mono 하나를 모든 호출자가 구독한다.
+ * 노드 사이에서는 Redis SET NX 락을 얻은 노드만 분석을 수행하고, 결과를 채널로 발행한다.
+ * 락 TTL 은 짧게 두고 분석하는 동안 TTL 의 1/3 간격으로 연장하므로, 락을 가진 노드가 죽으면 TTL 안에 락이 풀린다.
+ * 락을 얻지 못한 노드는 결과 메시지를 기다리면서 락이 남아 있는지 같은 간격으로 확인하고,
+ * 락이 사라졌는데 결과가 없으면 분석을 이어받는다. 살아 있는 노드의 분석도 wait-timeout 을 넘기면 직접 분석한다.
+ * <p>
+ * 진행 중인 분석은 구독자 하나가 취소해도 계속된다. {@link #collapseCancellable} 로 시작한 분석(사전 분석)만
+ * 합류한 요청 없이 취소되면 함께 취소된다.
+ */
+@Slf4j
+@Component
+public class AiRequestCollapser {
+
+    private static final String LOCK_PREFIX = "ai:analysis:lock:";
+    private static final String DONE_CHANNEL_PREFIX = "ai:analysis:done:";
+
+    // 자신이 건 락만 해제한다
+    private static final RedisScript<Long> UNLOCK_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class);
+
+    // 자신이 건 락만 연장한다
+    private static final RedisScript<Long> RENEW_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('pexpire', KEYS[1], ARGV[2]) else return 0 end",
+            Long.class);
+
+    private final ReactiveStringRedisTemplate reactiveRedisTemplate;
+    private final RedisMessageListenerContainer redisMessageListenerContainer;
+    private final AiResultCache aiResultCache;
+    private final ObjectMapper objectMapper;
+
+    private final Duration lockTtl;
+    // 락 연장 및 락 확인 간격
+    private final Duration heartbeatInterval;
+    private final Duration waitTimeout;
+
+    // 캐시 키 -> 이 노드에서 진행 중인 분석
+    private final Map<String, InFlight> inFlight = new ConcurrentHashMap<>();
+    // 캐시 키 -> 다른 노드의 분석 결과를 기다리는 sink
+    private final Map<String, Sinks.One<AiResult>> remoteWaiters = new ConcurrentHashMap<>();
+
+    private final Counter localJoins;
+    private final Counter remoteJoins;
+
+    public AiRequestCollapser(
+            ReactiveStringRedisTemplate reactiveRedisTemplate,
+            RedisMessageListenerContainer redisMessageListenerContainer,
+            AiResultCache aiResultCache,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${app.ai.collapse.lock-ttl-seconds:15}") long lockTtlSeconds,
+            @Value("${app.ai.collapse.wait-timeout-seconds:330}") long waitTimeoutSeconds) {
+        this.reactiveRedisTemplate = reactiveRedisTemplate;
+        this.redisMessageListenerContainer = redisMessageListenerContainer;
+        this.aiResultCache = aiResultCache;
+        this.objectMapper = objectMapper;
+        this.lockTtl = Duration.ofSeconds(lockTtlSeconds);
+        this.heartbeatInterval = lockTtl.dividedBy(3);
+        this.waitTimeout = Duration.ofSeconds(waitTimeoutSeconds);
+
+        this.localJoins = Counter.builder("ai.collapse.joined")
+                .tag("scope", "local")
+                .description("같은 노드의 진행 중인 분석에 합류한 요청 수")
+                .register(meterRegistry);
+        this.remoteJoins = Counter.builder("ai.collapse.joined")
+                .tag("scope", "remote")
+                .description("다른 노드의 분석 결과를 받아 사용한 요청 수")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void init() {
+        redisMessageListenerContainer.addMessageListener((message, pattern) -> {
+            String channel = new String(message.getChannel(), StandardCharsets.UTF_8);
+            Sinks.One<AiResult> waiter = remoteWaiters.get(channel.substring(DONE_CHANNEL_PREFIX.length()));
+            if (waiter == null) {
+                return;
+            }
+            try {
+                waiter.tryEmitValue(objectMapper.readValue(message.getBody(), AiResult.class));
+            } catch (Exception e) {
+                log.warn("AI 분석 결과 메시지 역직렬화 실패 - {}", channel, e);
+            }
+        }, new PatternTopic(DONE_CHANNEL_PREFIX + "*"));
+    }
+
+    /**
+     * 같은 키로 진행 중인 분석이 있으면 그 결과를 함께 받고, 없으면 analysis 를 실행한다.
+     *
+     * @param key      {@link AiResultCache#keyOf} 로 만든 캐시 키
+     * @param analysis 캐시 조회 + 실제 분석
+     */
+    public Mono<AiResult> collapse(CacheKey key, Supplier<Mono<AiResult>> analysis) {
+        // 구독 시점에 등록해야, 만들어 놓고 구독하지 않은 Mono 가 항목을 남기지 않는다
+        return Mono.defer(() -> join(key, analysis).result);
+    }
+
+    /**
+     * {@link #collapse} 와 같지만, 이 구독을 취소했을 때 분석에 남은 구독자가 없으면 분석도 취소한다.
+     * 다른 요청이 합류해 있으면 이 구독만 끝나고 분석은 계속된다.
+     */
+    public Mono<AiResult> collapseCancellable(CacheKey key, Supplier<Mono<AiResult>> analysis) {
+        return Mono.defer(() -> {
+            InFlight entry = join(key, analysis);
+            return entry.result.doOnCancel(() -> entry.leave(key));
+        });
+    }
+
+    private InFlight join(CacheKey key, Supplier<Mono<AiResult>> analysis) {
+        // 키별 항목은 한 번에 하나만 존재하고, 분석이 끝나면 스스로 제거된다
+        return inFlight.compute(key.value(), (k, existing) -> {
+            if (existing == null) {
+                return new InFlight(key, analysis);
+            }
+            existing.subscribers.incrementAndGet();
+            localJoins.increment();
+            log.debug("진행 중인 AI 분석에 합류 - {}", k);
+            return existing;
+        });
+    }
+
+    private Mono<AiResult> acrossNodes(CacheKey key, Supplier<Mono<AiResult>> analysis) {
+        String token = UUID.randomUUID().toString();
+
+        return reactiveRedisTemplate.opsForValue().setIfAbsent(LOCK_PREFIX + key.value(), token, lockTtl)
+                .map(Boolean.TRUE::equals)
+                .onErrorResume(error -> {
+                    // Redis 장애 시에는 노드 안에서만 합치고 그대로 분석한다
+                    log.warn("AI 분석 락 획득 실패, 단독으로 분석합니다", error);
+                    return Mono.just(true);
+                })
+                .flatMap(acquired -> acquired
+                        ? lead(key, token, analysis)
+                        : follow(key, analysis));
+    }
+
+    private Mono<AiResult> lead(CacheKey key, String token, Supplier<Mono<AiResult>> analysis) {
+        return Mono.defer(() -> {
+            // 분석하는 동안 락을 연장한다. 이 노드가 죽으면 연장이 멈춰 lockTtl 안에 락이 풀린다
+            Disposable heartbeat = Flux.interval(heartbeatInterval)
+                    .concatMap(tick -> renew(key, token))
+                    .subscribe();
+            return analysis.get()
+                    .flatMap(result -> publish(key, result).thenReturn(result))
+                    .doFinally(signal -> {
+                        heartbeat.dispose();
+                        unlock(key, token);
+                    });
+        });
+    }
+
+    private Mono<Long> renew(CacheKey key, String token) {
+        return reactiveRedisTemplate.execute(RENEW_SCRIPT, List.of(LOCK_PREFIX + key.value()),
+                        List.of(token, String.valueOf(lockTtl.toMillis())))
+                .next()
+                .onErrorResume(error -> {
+                    log.warn("AI 분석 락 연장 실패 - 다음 주기에 다시 시도합니다: {}", key, error);
+                    return Mono.empty();
+                });
+    }
+
+    private Mono<AiResult> follow(CacheKey key, Supplier<Mono<AiResult>> analysis) {
+        log.info("다른 노드에서 같은 AI 분석이 진행 중 - 결과를 기다립니다");
+        Sinks.One<AiResult> waiter = Sinks.one();
+        remoteWaiters.put(key.value(), waiter);
+
+        // 대기 등록 직후 캐시를 다시 확인해, 등록 전에 끝난 분석의 결과도 놓치지 않는다
+        return aiResultCache.getRemote(key)
+                .switchIfEmpty(waiter.asMono()
+                        .or(leaderGone(key))
+                        .timeout(waitTimeout))
+                .doOnNext(result -> remoteJoins.increment())
+                .switchIfEmpty(Mono.defer(() -> {
+                    log.warn("분석 중이던 노드의 락이 사라짐 - 분석을 이어받습니다: {}", key);
+                    return acrossNodes(key, analysis);
+                }))
+                .onErrorResume(TimeoutException.class, error -> {
+                    log.warn("다른 노드의 AI 분석 결과를 받지 못해 직접 분석합니다 - {}", key);
+                    return analysis.get();
+                })
+                .doFinally(signal -> remoteWaiters.remove(key.value(), waiter));
+    }
+
+    /**
+     * 락이 사라지면 값 없이 완료된다. 확인에 실패하면 락이 남아 있는 것으로 본다.
+     */
+    private Mono<AiResult> leaderGone(CacheKey key) {
+        return Flux.interval(heartbeatInterval)
+                .concatMap(tick -> reactiveRedisTemplate.hasKey(LOCK_PREFIX + key.value()).onErrorReturn(true))
+                .filter(locked -> !locked)
+                .next()
+                .then(Mono.empty());
+    }
+
+    private Mono<Void> publish(CacheKey key, AiResult result) {
+        return Mono.fromCallable(() -> objectMapper.writeValueAsString(result))
+                .flatMap(message -> reactiveRedisTemplate.convertAndSend(DONE_CHANNEL_PREFIX + key.value(), message))
+                .onErrorResume(error -> {
+                    log.warn("AI 분석 결과 발행 실패 - 다른 노드는 제한 시간 후 직접 분석합니다", error);
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    private void unlock(CacheKey key, String token) {
+        reactiveRedisTemplate.execute(UNLOCK_SCRIPT, List.of(LOCK_PREFIX + key.value()), List.of(token))
+                .subscribe(null, error -> log.warn("AI 분석 락 해제 실패 - TTL 만료 후 해제됩니다: {}", key, error));
+    }
+
+    /**
+     * 이 노드에서 진행 중인 분석 하나. 구독자 수는 inFlight 의 compute 안에서만 바꾼다.
+     */
+    private final class InFlight {
+
+        private final AtomicInteger subscribers = new AtomicInteger(1);
+        private final Sinks.One<Boolean> cancelled = Sinks.one();
+        private final Mono<AiResult> result;
+
+        private InFlight(CacheKey key, Supplier<Mono<AiResult>> analysis) {
+            this.result = acrossNodes(key, analysis)
+                    .takeUntilOther(cancelled.asMono())
+                    .doFinally(signal -> inFlight.remove(key.value(), this))
+                    .cache();
+        }
+
+        // 마지막 구독자가 떠나면 항목을 먼저 지워 새 요청이 취소될 분석에 합류하지 않게 한다
+        private void leave(CacheKey key) {
+            boolean[] last = {false};
+            inFlight.computeIfPresent(key.value(), (k, entry) -> {
+                if (entry != this || subscribers.decrementAndGet() > 0) {
+                    return entry;
+                }
+                last[0] = true;
+                return null;
+            });
+            if (last[0]) {
+                log.debug("합류한 요청이 없어 AI 분석을 취소합니다 - {}", key);
+                cancelled.tryEmitValue(true);
+            }
+        }
+    }
+}
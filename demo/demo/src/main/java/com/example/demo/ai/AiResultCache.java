@@ -0,0 +1,422 @@
+package com.ssafy.ottereview.ai.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ssafy.ottereview.ai.dto.request.AiRequest;
+import com.ssafy.ottereview.ai.dto.response.AiResult;
+import com.ssafy.ottereview.common.cache.ExpiringLruCache;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * AI 분석 결과 2단 캐시 (로컬 near cache + Redis)
+ * <p>
+ * 키는 분석 입력만으로 만든다 ({@code ai:result:<저장소 ID, head SHA, base SHA, 규칙 해시의 해시>}).
+ * 브랜치 이름은 키에 넣지 않으므로 같은 커밋을 가리키는 다른 브랜치 쌍도 같은 결과를 쓰고, 새 커밋이 올라오면 무효화 없이도 다른 키가 된다.
+ * 브랜치 head 는 웹훅(push, pull_request)이 {@link #recordBranchHead} 로 기록하며, head 를 모르는 요청은 캐시를 쓰지 않는다.
+ * 조회/저장은 reactive Lettuce 클라이언트로 수행해 호출한 스레드 그대로 이어지며, 별도 스레드로 옮기지 않는다.
+ * Redis 값 형식은 전체 결과와 부분 결과 모두 {@link AiResultCodec} 이 정한다.
+ * 일부 분석이 기본값으로 대체된 결과는 전체를 저장하지 않고, 성공한 분석만 종류별 키({@link #putPart})로 저장해 다음 요청이 재사용한다.
+ * 브랜치 쌍은 무효화 인덱스에만 쓴다. PR 이 바뀌면 {@link #invalidateBranches} 로 그 브랜치 쌍으로 저장한 Redis 항목만 지우고
+ * pub/sub 으로 모든 노드의 로컬 캐시를 비운다.
+ */
+@Slf4j
+@Component
+public class AiResultCache {
+
+    private static final String KEY_PREFIX = "ai:result:";
+    private static final String PAIR_INDEX_PREFIX = "ai:result:pair:";
+    private static final String HEAD_PREFIX = "ai:result:head:";
+    private static final String PULL_REQUEST_HEAD_PREFIX = "ai:result:pr-head:";
+    private static final String INVALIDATE_CHANNEL = "ai:result:invalidate";
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final ReactiveStringRedisTemplate reactiveRedisTemplate;
+    private final ReactiveRedisTemplate<String, byte[]> reactiveValueTemplate;
+    private final AiResultCodec aiResultCodec;
+    private final RedisMessageListenerContainer redisMessageListenerContainer;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    private final ExpiringLruCache<String, LocalEntry> localCache;
+    private final Duration redisTtl;
+    // 분석 종류 -> 부분 결과 TTL (없으면 redisTtl)
+    private final Map<String, Duration> partTtls = new HashMap<>();
+    private final Duration indexTtl;
+
+    // 브랜치 쌍 해시 -> 이 노드의 로컬 캐시 키 (무효화용, 로컬 캐시에서 제거되면 함께 지운다)
+    private final Map<String, Set<String>> localKeysByPair = new ConcurrentHashMap<>();
+
+    private final TierStats localStats = new TierStats();
+    private final TierStats redisStats = new TierStats();
+    private final TierStats partStats = new TierStats();
+    private final DistributionSummary valueSize;
+
+    public AiResultCache(
+            RedisTemplate<String, Object> redisTemplate,
+            ReactiveStringRedisTemplate reactiveRedisTemplate,
+            ReactiveRedisTemplate<String, byte[]> reactiveValueTemplate,
+            AiResultCodec aiResultCodec,
+            RedisMessageListenerContainer redisMessageListenerContainer,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${app.ai.cache.local-max-size:1000}") int localMaxSize,
+            @Value("${app.ai.cache.local-ttl-minutes:10}") long localTtlMinutes,
+            @Value("${app.ai.cache.redis-ttl-hours:24}") long redisTtlHours,
+            @Value("#{${app.ai.cache.part-ttl-hours:{:}}}") Map<String, Long> partTtlHours) {
+        this.redisTemplate = redisTemplate;
+        this.reactiveRedisTemplate = reactiveRedisTemplate;
+        this.reactiveValueTemplate = reactiveValueTemplate;
+        this.aiResultCodec = aiResultCodec;
+        this.redisMessageListenerContainer = redisMessageListenerContainer;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.localCache = new ExpiringLruCache<>(localMaxSize, Duration.ofMinutes(localTtlMinutes),
+                (key, entry) -> forgetLocal(key, entry.pair()));
+        this.redisTtl = Duration.ofHours(redisTtlHours);
+        partTtlHours.forEach((type, hours) -> partTtls.put(type, Duration.ofHours(hours)));
+        this.indexTtl = partTtls.values().stream().reduce(redisTtl, (a, b) -> a.compareTo(b) >= 0 ? a : b);
+        this.valueSize = DistributionSummary.builder("ai.cache.value.size")
+                .baseUnit("bytes")
+                .description("Redis 에 저장한 AI 분석 결과 값 크기 (app.ai.cache.codec 형식)")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void init() {
+        redisMessageListenerContainer.addMessageListener((message, pattern) -> {
+            evictLocal(new String(message.getBody(), StandardCharsets.UTF_8));
+        }, new ChannelTopic(INVALIDATE_CHANNEL));
+
+        localStats.register(meterRegistry, "local");
+        redisStats.register(meterRegistry, "redis");
+        partStats.register(meterRegistry, "part");
+    }
+
+    /**
+     * 두 브랜치의 현재 head SHA 를 Redis 에서 읽어 캐시 키를 만든다 (non-blocking).
+     * 아직 웹훅을 받지 못한 브랜치가 있거나 head 를 읽지 못하면 비어 있는 값을 돌려주며, 호출한 쪽은 캐시 없이 분석한다.
+     * SHA 없이 키를 만들면 서로 다른 커밋의 요청이 한 키로 모이기 때문이다.
+     */
+    public Mono<Optional<CacheKey>> keyOf(AiRequest request) {
+        if (request.getRepoId() == null || request.getSource() == null || request.getTarget() == null) {
+            return Mono.just(Optional.empty());
+        }
+        return reactiveRedisTemplate.opsForValue()
+                .multiGet(List.of(headKey(request.getRepoId(), request.getSource()),
+                        headKey(request.getRepoId(), request.getTarget())))
+                .map(heads -> {
+                    if (heads.get(0) == null || heads.get(1) == null) {
+                        log.debug("브랜치 head 를 알 수 없어 캐시를 쓰지 않습니다 - repoId: {}, {} -> {}",
+                                request.getRepoId(), request.getSource(), request.getTarget());
+                        return Optional.<CacheKey>empty();
+                    }
+                    return Optional.of(keyOf(request, heads.get(0), heads.get(1)));
+                })
+                .onErrorResume(error -> {
+                    log.warn("브랜치 head 조회 실패, 캐시 없이 분석합니다", error);
+                    return Mono.just(Optional.empty());
+                });
+    }
+
+    /**
+     * 저장소 ID, head/base SHA, 규칙만으로 키를 만든다. 브랜치 쌍은 무효화 인덱스용으로만 함께 담는다.
+     */
+    private CacheKey keyOf(AiRequest request, String headSha, String baseSha) {
+        return new CacheKey(
+                KEY_PREFIX + sha256(String.valueOf(request.getRepoId()), headSha, baseSha, conventionsOf(request)),
+                pairOf(request.getRepoId(), request.getSource(), request.getTarget()));
+    }
+
+    // 요청에 담긴 코딩 규칙(rules)의 해시. 규칙이 없으면 모두 같은 값이다
+    private String conventionsOf(AiRequest request) {
+        return sha256(objectMapper.valueToTree(request).path("rules").toString());
+    }
+
+    /**
+     * 브랜치의 최신 head SHA 를 기록한다. 웹훅 핸들러 스레드에서 호출한다 (blocking).
+     */
+    public void recordBranchHead(Long repoId, String branch, String sha) {
+        if (repoId == null || branch == null || sha == null) {
+            return;
+        }
+        // 캐시 항목보다 먼저 사라지지 않도록 인덱스와 같은 TTL 로 유지한다
+        redisTemplate.opsForValue().set(headKey(repoId, branch), sha, indexTtl);
+    }
+
+    /**
+     * PR 이벤트가 마지막으로 본 head SHA 를 기록하고, 이전에 기록한 값과 다른지 돌려준다. 웹훅 핸들러 스레드에서 호출한다 (blocking).
+     * <p>
+     * push 가 {@link #recordBranchHead} 로 먼저 새 head 를 기록해도 synchronize 를 새 커밋으로 판단할 수 있도록 브랜치 head 와 따로 둔다.
+     * 같은 커밋의 synchronize 재전송, 커밋 없이 다시 연 PR 은 false 가 된다.
+     */
+    public boolean recordPullRequestHead(Long repoId, String headRef, String baseRef, String sha) {
+        if (repoId == null || sha == null) {
+            return true;
+        }
+        String key = PULL_REQUEST_HEAD_PREFIX + pairOf(repoId, headRef, baseRef);
+        Object previous = redisTemplate.opsForValue().getAndSet(key, sha);
+        redisTemplate.expire(key, indexTtl);
+        return !sha.equals(previous);
+    }
+
+    private static String headKey(Long repoId, String branch) {
+        return HEAD_PREFIX + repoId + ":" + branch;
+    }
+
+    private static String pairOf(Long repoId, String source, String target) {
+        return sha256(String.valueOf(repoId), Objects.toString(source, ""), Objects.toString(target, ""));
+    }
+
+    private static String sha256(String... values) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (String value : values) {
+                // 브랜치 이름과 SHA 에는 개행이 들어갈 수 없으므로 구분자로 쓴다
+                digest.update(value.getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) '\n');
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("AI 캐시 키 생성 실패", e);
+        }
+    }
+
+    /**
+     * 로컬 캐시만 조회한다. 스레드 전환 없이 바로 호출할 수 있다.
+     */
+    public AiResult getLocal(CacheKey key) {
+        LocalEntry entry = localCache.get(key.value());
+        localStats.record(entry != null);
+        return entry != null ? entry.result() : null;
+    }
+
+    /**
+     * Redis 를 조회한다 (non-blocking). 히트하면 로컬 캐시도 채운다.
+     */
+    public Mono<AiResult> getRemote(CacheKey key) {
+        return reactiveValueTemplate.opsForValue().get(key.value())
+                .flatMap(value -> {
+                    AiResult result;
+                    try {
+                        result = aiResultCodec.decode(value);
+                    } catch (IOException | RuntimeException e) {
+                        // LZ4Exception 등 압축 해제 오류도 깨진 값으로 본다
+                        log.warn("AI 캐시 값 역직렬화 실패 - 항목 삭제: {}", key, e);
+                        return reactiveValueTemplate.delete(key.value()).then(Mono.<AiResult>empty());
+                    }
+                    if (result == null) {
+                        // 더 새로운 버전의 노드가 저장한 항목
+                        return Mono.<AiResult>empty();
+                    }
+                    putLocal(key, result);
+                    return Mono.just(result);
+                })
+                // 읽지 못한 항목(깨진 값, 새 버전 형식)도 미스로 센다
+                .doOnSuccess(result -> redisStats.record(result != null));
+    }
+
+    /**
+     * 로컬과 Redis 에 저장한다 (non-blocking).
+     */
+    public Mono<Void> put(CacheKey key, AiResult result) {
+        return Mono.defer(() -> {
+            putLocal(key, result);
+            byte[] value;
+            try {
+                value = aiResultCodec.encode(result);
+            } catch (IOException e) {
+                return Mono.error(new IllegalStateException("AI 캐시 값 직렬화 실패", e));
+            }
+            valueSize.record(value.length);
+
+            return reactiveValueTemplate.opsForValue().set(key.value(), value, redisTtl)
+                    .then(index(key.pair(), key.value()));
+        });
+    }
+
+    /**
+     * 분석 종류별 부분 결과를 Redis 에서 조회한다. 없거나 읽을 수 없는 종류는 결과에서 빠진다.
+     *
+     * @param key   {@link #keyOf} 로 만든 전체 결과 키
+     * @param types 분석 종류 -> 응답 타입
+     */
+    public Mono<Map<String, Object>> getParts(CacheKey key, Map<String, Class<?>> types) {
+        List<String> names = List.copyOf(types.keySet());
+        return reactiveValueTemplate.opsForValue().multiGet(names.stream().map(type -> partKey(key, type)).toList())
+                .map(values -> {
+                    Map<String, Object> parts = new HashMap<>();
+                    for (int i = 0; i < names.size(); i++) {
+                        Object part = decodePart(partKey(key, names.get(i)), values.get(i), types.get(names.get(i)));
+                        // 읽지 못한 항목(깨진 값, 새 버전 형식)도 미스로 센다
+                        partStats.record(part != null);
+                        if (part != null) {
+                            parts.put(names.get(i), part);
+                        }
+                    }
+                    return parts;
+                });
+    }
+
+    private Object decodePart(String partKey, byte[] value, Class<?> type) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return aiResultCodec.decodePart(value, type);
+        } catch (IOException | RuntimeException e) {
+            // 같은 키에 다시 저장되므로 지우지 않는다
+            log.warn("AI 부분 결과 역직렬화 실패 - 다시 분석합니다: {}", partKey, e);
+            return null;
+        }
+    }
+
+    /**
+     * 분석 종류 하나의 결과를 종류별 TTL 로 저장한다. 값 형식은 전체 결과와 같다 ({@link AiResultCodec}).
+     */
+    public Mono<Void> putPart(CacheKey key, String type, Object part) {
+        return Mono.fromCallable(() -> aiResultCodec.encodePart(part))
+                .flatMap(value -> reactiveValueTemplate.opsForValue()
+                        .set(partKey(key, type), value, partTtls.getOrDefault(type, redisTtl)))
+                .then(Mono.defer(() -> index(key.pair(), partKey(key, type))));
+    }
+
+    /**
+     * 브랜치 쌍 무효화 인덱스에 Redis 키를 추가한다. 인덱스는 가장 긴 TTL 동안 유지한다.
+     */
+    private Mono<Void> index(String pair, String redisKey) {
+        String indexKey = PAIR_INDEX_PREFIX + pair;
+        return reactiveRedisTemplate.opsForSet().add(indexKey, redisKey)
+                .then(reactiveRedisTemplate.expire(indexKey, indexTtl))
+                .then();
+    }
+
+    private static String partKey(CacheKey key, String type) {
+        return key.value() + ":" + type;
+    }
+
+    /**
+     * source -> target 브랜치 쌍의 캐시를 모든 노드에서 무효화한다. 같은 저장소의 다른 PR 캐시는 그대로 둔다.
+     */
+    public void invalidateBranches(Long repoId, String source, String target) {
+        if (repoId == null) {
+            return;
+        }
+
+        String pair = pairOf(repoId, source, target);
+        String indexKey = PAIR_INDEX_PREFIX + pair;
+        Set<Object> keys = redisTemplate.opsForSet().members(indexKey);
+        if (keys != null && !keys.isEmpty()) {
+            redisTemplate.delete(keys.stream().map(Object::toString).toList());
+        }
+        redisTemplate.delete(indexKey);
+
+        // 자기 자신을 포함한 모든 노드가 메시지를 받아 로컬 캐시를 비운다
+        redisTemplate.convertAndSend(INVALIDATE_CHANNEL, pair);
+        log.debug("AI 캐시 무효화 - repoId: {}, {} -> {}", repoId, source, target);
+    }
+
+    private void putLocal(CacheKey key, AiResult result) {
+        LocalEntry previous = localCache.get(key.value());
+        localCache.put(key.value(), new LocalEntry(result, key.pair()));
+        if (previous != null && !previous.pair().equals(key.pair())) {
+            // 같은 커밋을 다른 브랜치 쌍으로 다시 저장했다. 무효화는 마지막 브랜치 쌍을 따른다
+            forgetLocal(key.value(), previous.pair());
+        }
+        localKeysByPair.compute(key.pair(), (pair, keys) -> {
+            Set<String> updated = keys != null ? keys : ConcurrentHashMap.newKeySet();
+            updated.add(key.value());
+            return updated;
+        });
+    }
+
+    // 로컬 캐시가 LRU/TTL 로 제거한 키
+    private void forgetLocal(String key, String pair) {
+        localKeysByPair.computeIfPresent(pair, (ignored, keys) -> {
+            keys.remove(key);
+            return keys.isEmpty() ? null : keys;
+        });
+    }
+
+    private void evictLocal(String pair) {
+        Set<String> keys = localKeysByPair.remove(pair);
+        if (keys != null) {
+            keys.forEach(localCache::invalidate);
+        }
+    }
+
+    /**
+     * 캐시 키
+     *
+     * @param value Redis 와 로컬 캐시의 키 (분석 입력으로만 정해진다)
+     * @param pair  저장소/브랜치 쌍 해시 (무효화 인덱스용)
+     */
+    public record CacheKey(String value, String pair) {
+
+        @Override
+        public String toString() {
+            return value;
+        }
+    }
+
+    private record LocalEntry(AiResult result, String pair) {
+
+    }
+
+    /**
+     * 캐시 계층별 히트/미스 통계
+     */
+    private static class TierStats {
+
+        private final AtomicLong hits = new AtomicLong();
+        private final AtomicLong misses = new AtomicLong();
+
+        private void record(boolean hit) {
+            (hit ? hits : misses).incrementAndGet();
+        }
+
+        private double hitRatio() {
+            long total = hits.get() + misses.get();
+            return total == 0 ? 0 : (double) hits.get() / total;
+        }
+
+        private void register(MeterRegistry meterRegistry, String tier) {
+            FunctionCounter.builder("ai.cache.requests", hits, AtomicLong::get)
+                    .tag("tier", tier)
+                    .tag("result", "hit")
+                    .register(meterRegistry);
+            FunctionCounter.builder("ai.cache.requests", misses, AtomicLong::get)
+                    .tag("tier", tier)
+                    .tag("result", "miss")
+                    .register(meterRegistry);
+            Gauge.builder("ai.cache.hit_ratio", this, TierStats::hitRatio)
+                    .tag("tier", tier)
+                    .register(meterRegistry);
+        }
+    }
+}
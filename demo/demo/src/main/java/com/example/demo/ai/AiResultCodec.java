@@ -0,0 +1,131 @@
+package com.ssafy.ottereview.ai.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.ssafy.ottereview.ai.dto.response.AiResult;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Locale;
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4FastDecompressor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Redis 에 저장하는 AI 분석 결과의 값 형식
+ * <p>
+ * 전체 결과({@link #encode})와 분석 종류별 부분 결과({@link #encodePart})가 같은 형식을 쓴다.
+ * <p>
+ * - json: 헤더 없는 JSON (이전 버전과 같은 형식)
+ * - smile: [MAGIC][VERSION][flags] 헤더 + Smile(binary JSON). flags 에 LZ4 가 있으면 [원본 길이(4)] + LZ4 block 이 이어진다.
+ * 읽을 때는 첫 바이트로 형식을 구분하므로 두 형식이 섞여 있어도 모두 읽는다.
+ * 이전 버전 노드는 smile 항목을 읽지 못하므로, 모든 노드가 이 버전으로 바뀐 뒤에 smile 로 전환한다.
+ */
+@Component
+public class AiResultCodec {
+
+    // JSON 항목은 '{' 로 시작하므로 겹치지 않는 값
+    private static final byte MAGIC = (byte) 0xA1;
+    private static final byte VERSION = 1;
+    private static final byte FLAG_LZ4 = 0x01;
+    private static final int HEADER_SIZE = 3;
+    // 원본 길이 필드 상한. LZ4 block 은 한 바이트가 최대 255 바이트로 풀린다
+    private static final int MAX_DECODED_BYTES = 64 * 1024 * 1024;
+    private static final int LZ4_MAX_RATIO = 255;
+
+    public enum Format {
+        JSON,
+        SMILE
+    }
+
+    private final ObjectMapper jsonMapper;
+    private final ObjectMapper smileMapper;
+    private final Format format;
+    private final boolean lz4Enabled;
+    private final int compressionMinBytes;
+
+    private final LZ4Compressor compressor = LZ4Factory.fastestInstance().fastCompressor();
+    private final LZ4FastDecompressor decompressor = LZ4Factory.fastestInstance().fastDecompressor();
+
+    public AiResultCodec(
+            ObjectMapper objectMapper,
+            @Value("${app.ai.cache.codec:json}") String format,
+            @Value("${app.ai.cache.compression:none}") String compression,
+            @Value("${app.ai.cache.compression-min-bytes:512}") int compressionMinBytes) {
+        this.jsonMapper = objectMapper;
+        // 모듈, naming 설정은 그대로 두고 형식만 Smile 로 바꾼다
+        this.smileMapper = objectMapper.copyWith(new SmileFactory());
+        this.format = Format.valueOf(format.toUpperCase(Locale.ROOT));
+        this.lz4Enabled = "lz4".equalsIgnoreCase(compression);
+        this.compressionMinBytes = compressionMinBytes;
+    }
+
+    public byte[] encode(AiResult result) throws IOException {
+        return encodePart(result);
+    }
+
+    /**
+     * @return 이 버전이 모르는 형식이면 null (캐시 미스로 처리)
+     * @throws IOException 값이 깨졌거나 원본 길이 필드가 허용 범위를 벗어난 경우
+     */
+    public AiResult decode(byte[] value) throws IOException {
+        return decodePart(value, AiResult.class);
+    }
+
+    public byte[] encodePart(Object part) throws IOException {
+        if (format == Format.JSON) {
+            return jsonMapper.writeValueAsBytes(part);
+        }
+
+        byte[] smile = smileMapper.writeValueAsBytes(part);
+        if (!lz4Enabled || smile.length < compressionMinBytes) {
+            byte[] encoded = new byte[HEADER_SIZE + smile.length];
+            writeHeader(encoded, (byte) 0);
+            System.arraycopy(smile, 0, encoded, HEADER_SIZE, smile.length);
+            return encoded;
+        }
+
+        byte[] encoded = new byte[HEADER_SIZE + Integer.BYTES + compressor.maxCompressedLength(smile.length)];
+        writeHeader(encoded, FLAG_LZ4);
+        ByteBuffer.wrap(encoded, HEADER_SIZE, Integer.BYTES).putInt(smile.length);
+        int compressedLength = compressor.compress(smile, 0, smile.length, encoded, HEADER_SIZE + Integer.BYTES);
+        return Arrays.copyOf(encoded, HEADER_SIZE + Integer.BYTES + compressedLength);
+    }
+
+    /**
+     * @return 이 버전이 모르는 형식이면 null (캐시 미스로 처리)
+     * @throws IOException 값이 깨졌거나 원본 길이 필드가 허용 범위를 벗어난 경우
+     */
+    public <T> T decodePart(byte[] value, Class<T> type) throws IOException {
+        if (value.length == 0 || value[0] != MAGIC) {
+            return jsonMapper.readValue(value, type);
+        }
+        if (value.length < HEADER_SIZE || value[1] > VERSION) {
+            return null;
+        }
+
+        if ((value[2] & FLAG_LZ4) == 0) {
+            return smileMapper.readValue(value, HEADER_SIZE, value.length - HEADER_SIZE, type);
+        }
+        if (value.length < HEADER_SIZE + Integer.BYTES) {
+            throw new IOException("LZ4 원본 길이 필드가 잘렸습니다");
+        }
+        int length = ByteBuffer.wrap(value, HEADER_SIZE, Integer.BYTES).getInt();
+        long maxLength = Math.min(MAX_DECODED_BYTES,
+                (long) (value.length - HEADER_SIZE - Integer.BYTES) * LZ4_MAX_RATIO);
+        if (length < 0 || length > maxLength) {
+            throw new IOException("LZ4 원본 길이가 허용 범위를 벗어났습니다: " + length);
+        }
+        byte[] smile = new byte[length];
+        decompressor.decompress(value, HEADER_SIZE + Integer.BYTES, smile, 0, length);
+        return smileMapper.readValue(smile, type);
+    }
+
+    private static void writeHeader(byte[] encoded, byte flags) {
+        encoded[0] = MAGIC;
+        encoded[1] = VERSION;
+        encoded[2] = flags;
+    }
+}
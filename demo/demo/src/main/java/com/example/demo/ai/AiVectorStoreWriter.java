@@ -0,0 +1,454 @@
+package com.ssafy.ottereview.ai.client;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ssafy.ottereview.ai.client.AiCallScheduler.Lane;
+import com.ssafy.ottereview.merge.dto.MergedPullRequestInfo;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Vector DB 저장 요청을 모아서 보내는 writer
+ * <p>
+ * {@link #submit} 은 레코드를 write-ahead 파일에 기록한 뒤 메모리 버퍼에 넣고 바로 반환한다.
+ * flush 스레드는 batch-size 만큼 모이거나 가장 오래된 레코드가 window-ms 를 넘기면 한 번의 요청으로 보낸다.
+ * 전송에 실패하면 같은 batch 를 지수 백오프로 재시도하며, 재시작 시 checkpoint 이후의 레코드를 다시 보낸다 (at-least-once).
+ * 서버가 4xx 로 거절한 batch 는 재시도해도 같은 결과이므로 레코드별로 다시 보내고, 거절된 레코드만 dead-letter 파일에 남기고 건너뛴다.
+ * 버퍼가 가득 차면 submit 은 자리가 날 때까지 offer-timeout-ms 만큼 기다린 뒤 거절된다.
+ * <p>
+ * 레코드 포맷: [int length][MergedPullRequestInfo JSON]
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AiVectorStoreWriter {
+
+    private static final String WAL_FILE = "vector-store.wal";
+    private static final String CHECKPOINT_FILE = "vector-store.checkpoint";
+    private static final String DEAD_LETTER_FILE = "vector-store.dead";
+    private static final String BATCH_URI = "/ai/vector-db/store/batch";
+    private static final String SINGLE_URI = "/ai/vector-db/store";
+
+    private final WebClient aiWebClient;
+    private final AiCallScheduler aiCallScheduler;
+    private final AiClientMetrics aiClientMetrics;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.ai.vector-store.batch.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.ai.vector-store.batch.dir:./data/vector-store}")
+    private String walDir;
+
+    @Value("${app.ai.vector-store.batch.size:50}")
+    private int batchSize;
+
+    @Value("${app.ai.vector-store.batch.window-ms:2000}")
+    private long windowMillis;
+
+    @Value("${app.ai.vector-store.batch.buffer-capacity:5000}")
+    private int bufferCapacity;
+
+    @Value("${app.ai.vector-store.batch.offer-timeout-ms:5000}")
+    private long offerTimeoutMillis;
+
+    @Value("${app.ai.vector-store.batch.max-backoff-ms:60000}")
+    private long maxBackoffMillis;
+
+    private final Object lock = new Object();
+    private final Deque<Entry> buffer = new ArrayDeque<>();
+
+    private FileChannel wal;
+    private FileChannel checkpoint;
+    private FileChannel deadLetter;
+    private long writePosition;
+    private Semaphore capacity;
+    private Thread flushThread;
+    private volatile boolean running;
+    // batch API 를 지원하지 않는 서버면 레코드를 하나씩 보낸다
+    private volatile boolean batchSupported = true;
+
+    private Counter sentRecords;
+    private Counter failedBatches;
+    private Counter deadLettered;
+
+    @PostConstruct
+    public void start() throws IOException {
+        if (!enabled) {
+            return;
+        }
+
+        Path dir = Paths.get(walDir);
+        Files.createDirectories(dir);
+        wal = FileChannel.open(dir.resolve(WAL_FILE),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        checkpoint = FileChannel.open(dir.resolve(CHECKPOINT_FILE),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        deadLetter = FileChannel.open(dir.resolve(DEAD_LETTER_FILE),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+
+        replay();
+        // 재처리 대상도 버퍼 자리를 차지한다 (음수면 그만큼 보낸 뒤에 submit 가능)
+        capacity = new Semaphore(bufferCapacity - buffer.size());
+
+        Gauge.builder("ai.vector_store.buffered", this, writer -> writer.bufferedSnapshot())
+                .description("전송 대기 중인 vector DB 레코드 수")
+                .register(meterRegistry);
+        sentRecords = Counter.builder("ai.vector_store.sent")
+                .description("전송 완료된 vector DB 레코드 수")
+                .register(meterRegistry);
+        failedBatches = Counter.builder("ai.vector_store.failed_batches")
+                .description("전송 실패 후 재시도한 batch 수")
+                .register(meterRegistry);
+        deadLettered = Counter.builder("ai.vector_store.dead_lettered")
+                .description("AI 서버가 4xx 로 거절해 dead-letter 파일로 옮긴 vector DB 레코드 수")
+                .register(meterRegistry);
+
+        running = true;
+        flushThread = new Thread(this::flushLoop, "vector-store-writer");
+        flushThread.setDaemon(true);
+        flushThread.start();
+        log.info("Vector DB writer 시작 - 경로: {}, 재전송 대상: {}건", dir.toAbsolutePath(), buffer.size());
+    }
+
+    @PreDestroy
+    public void stop() throws IOException, InterruptedException {
+        if (!running) {
+            return;
+        }
+        running = false;
+        synchronized (lock) {
+            lock.notifyAll();
+        }
+        flushThread.join(TimeUnit.SECONDS.toMillis(10));
+        wal.close();
+        checkpoint.close();
+        deadLetter.close();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 레코드를 기록하고 전송 대기열에 넣는다. 버퍼가 가득 차 있으면 자리가 날 때까지 기다린다 (blocking 은 I/O 스레드에서).
+     */
+    public Mono<Void> submit(MergedPullRequestInfo mergedPullRequestInfo) {
+        return Mono.fromRunnable(() -> append(mergedPullRequestInfo))
+                .subscribeOn(Schedulers.boundedElastic())
+                .then();
+    }
+
+    private void append(MergedPullRequestInfo mergedPullRequestInfo) {
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(mergedPullRequestInfo);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Vector DB 레코드 직렬화 실패", e);
+        }
+
+        try {
+            if (!capacity.tryAcquire(offerTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new RejectedExecutionException("Vector DB 전송 버퍼가 가득 찼습니다");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("Vector DB 전송 대기 중 인터럽트", e);
+        }
+
+        synchronized (lock) {
+            long offset = writePosition;
+            ByteBuffer record = ByteBuffer.allocate(Integer.BYTES + json.length);
+            record.putInt(json.length).put(json).flip();
+            try {
+                while (record.hasRemaining()) {
+                    writePosition += wal.write(record, writePosition);
+                }
+            } catch (IOException e) {
+                writePosition = offset;
+                capacity.release();
+                throw new IllegalStateException("Vector DB write-ahead 기록 실패", e);
+            }
+            buffer.add(new Entry(writePosition, json, System.currentTimeMillis()));
+            if (buffer.size() >= batchSize) {
+                lock.notifyAll();
+            }
+        }
+    }
+
+    private void flushLoop() {
+        long backoffMillis = windowMillis;
+        while (running || hasBuffered()) {
+            List<Entry> batch;
+            try {
+                batch = nextBatch();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (batch.isEmpty()) {
+                if (!running) {
+                    return;
+                }
+                continue;
+            }
+
+            if (send(batch)) {
+                complete(batch);
+                backoffMillis = windowMillis;
+                continue;
+            }
+
+            failedBatches.increment();
+            if (!running) {
+                // 종료 중에는 재시도하지 않고 다음 시작 때 write-ahead 파일에서 다시 보낸다
+                return;
+            }
+            log.warn("Vector DB batch 전송 실패 - {}건, {}ms 후 재시도", batch.size(), backoffMillis);
+            try {
+                Thread.sleep(backoffMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            backoffMillis = Math.min(maxBackoffMillis, backoffMillis * 2);
+        }
+    }
+
+    /**
+     * batch-size 만큼 모이거나 가장 오래된 레코드가 window 를 넘길 때까지 기다린 뒤 앞에서부터 꺼낸다 (버퍼에서는 제거하지 않음).
+     */
+    private List<Entry> nextBatch() throws InterruptedException {
+        synchronized (lock) {
+            while (running) {
+                if (buffer.size() >= batchSize) {
+                    break;
+                }
+                if (buffer.isEmpty()) {
+                    lock.wait(windowMillis);
+                    continue;
+                }
+                long remaining = buffer.peekFirst().createdAt + windowMillis - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    break;
+                }
+                lock.wait(remaining);
+            }
+
+            List<Entry> batch = new ArrayList<>(Math.min(batchSize, buffer.size()));
+            for (Entry entry : buffer) {
+                if (batch.size() == batchSize) {
+                    break;
+                }
+                batch.add(entry);
+            }
+            return batch;
+        }
+    }
+
+    private boolean send(List<Entry> batch) {
+        try {
+            if (batchSupported) {
+                try {
+                    post(BATCH_URI, jsonArray(batch));
+                    return true;
+                } catch (WebClientResponseException e) {
+                    int status = e.getStatusCode().value();
+                    if (status == 404 || status == 405 || status == 501) {
+                        log.info("AI 서버가 vector DB batch 저장을 지원하지 않음 - 레코드별로 전송합니다");
+                        batchSupported = false;
+                    } else if (isRejected(e)) {
+                        // batch 안의 어떤 레코드가 거절됐는지 모르므로 하나씩 보내 거절된 레코드만 골라낸다
+                        log.warn("Vector DB batch 거절 ({}) - {}건을 레코드별로 다시 보냅니다", status, batch.size());
+                    } else {
+                        throw e;
+                    }
+                }
+            }
+            // 하나씩 보내다 실패하면 이미 보낸 레코드도 재전송된다 (at-least-once)
+            for (Entry entry : batch) {
+                try {
+                    post(SINGLE_URI, entry.json);
+                } catch (WebClientResponseException e) {
+                    if (!isRejected(e)) {
+                        throw e;
+                    }
+                    deadLetter(entry, e);
+                }
+            }
+            return true;
+        } catch (Exception e) {
+            log.debug("Vector DB 전송 실패", e);
+            return false;
+        }
+    }
+
+    /**
+     * 다시 보내도 같은 응답을 받을 거절. 404/405 (설정 오류), 408, 429 는 재시도한다.
+     */
+    private static boolean isRejected(WebClientResponseException e) {
+        int status = e.getStatusCode().value();
+        return e.getStatusCode().is4xxClientError() && status != 404 && status != 405 && status != 408 && status != 429;
+    }
+
+    /**
+     * 거절된 레코드를 한 줄짜리 JSON 으로 dead-letter 파일에 남긴다. 기록에 실패해도 전송은 막지 않는다.
+     */
+    private void deadLetter(Entry entry, WebClientResponseException e) {
+        deadLettered.increment();
+        log.error("Vector DB 레코드 거절 ({}) - dead-letter 파일로 옮깁니다: {}", e.getStatusCode().value(),
+                e.getResponseBodyAsString());
+        ByteBuffer line = ByteBuffer.allocate(entry.json.length + 1);
+        line.put(entry.json).put((byte) '\n').flip();
+        try {
+            while (line.hasRemaining()) {
+                deadLetter.write(line);
+            }
+        } catch (IOException ioException) {
+            log.error("Vector DB dead-letter 기록 실패 - 레코드를 버립니다: {}", new String(entry.json, StandardCharsets.UTF_8),
+                    ioException);
+        }
+    }
+
+    private void post(String uri, byte[] body) {
+        aiCallScheduler.schedule(Lane.BACKGROUND, null, aiClientMetrics.timed(uri, aiWebClient.post()
+                        .uri(uri)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(body)
+                        .retrieve()
+                        .bodyToMono(Void.class)))
+                .block(Duration.ofMinutes(2));
+    }
+
+    private static byte[] jsonArray(List<Entry> batch) {
+        // 기록해 둔 JSON 을 다시 직렬화하지 않고 배열로 잇는다
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        body.write('[');
+        for (int i = 0; i < batch.size(); i++) {
+            if (i > 0) {
+                body.write(',');
+            }
+            body.writeBytes(batch.get(i).json);
+        }
+        body.write(']');
+        return body.toByteArray();
+    }
+
+    private void complete(List<Entry> batch) {
+        synchronized (lock) {
+            for (int i = 0; i < batch.size(); i++) {
+                buffer.pollFirst();
+            }
+            long committed = batch.get(batch.size() - 1).end;
+            try {
+                if (buffer.isEmpty()) {
+                    // 보낼 레코드가 없으므로 파일을 처음부터 다시 쓴다
+                    wal.truncate(0);
+                    writePosition = 0;
+                    committed = 0;
+                }
+                writeCheckpoint(committed);
+            } catch (IOException e) {
+                log.warn("Vector DB checkpoint 기록 실패 - 재시작 시 중복 전송될 수 있음", e);
+            }
+        }
+        capacity.release(batch.size());
+        sentRecords.increment(batch.size());
+        log.info("Vector DB batch 저장 완료 - {}건", batch.size());
+    }
+
+    /**
+     * checkpoint 이후의 레코드를 버퍼에 다시 넣는다. 기록 도중 끊긴 마지막 레코드는 잘라낸다.
+     */
+    private void replay() throws IOException {
+        long position = readCheckpoint();
+        long size = wal.size();
+        ByteBuffer header = ByteBuffer.allocate(Integer.BYTES);
+
+        while (position + Integer.BYTES <= size) {
+            header.clear();
+            wal.read(header, position);
+            header.flip();
+            int length = header.getInt();
+            if (length < 0 || position + Integer.BYTES + length > size) {
+                break;
+            }
+            ByteBuffer json = ByteBuffer.allocate(length);
+            while (json.hasRemaining()) {
+                wal.read(json, position + Integer.BYTES + json.position());
+            }
+            position += Integer.BYTES + length;
+            buffer.add(new Entry(position, json.array(), System.currentTimeMillis()));
+        }
+
+        if (position < size) {
+            log.warn("Vector DB write-ahead 파일 끝의 불완전한 레코드 제거 - {} bytes", size - position);
+            wal.truncate(position);
+        }
+        writePosition = position;
+    }
+
+    private long readCheckpoint() throws IOException {
+        if (checkpoint.size() < Long.BYTES) {
+            return 0L;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES);
+        checkpoint.read(buffer, 0);
+        buffer.flip();
+        return buffer.getLong();
+    }
+
+    private void writeCheckpoint(long offset) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES).putLong(offset);
+        buffer.flip();
+        checkpoint.write(buffer, 0);
+    }
+
+    private boolean hasBuffered() {
+        synchronized (lock) {
+            return !buffer.isEmpty();
+        }
+    }
+
+    private double bufferedSnapshot() {
+        synchronized (lock) {
+            return buffer.size();
+        }
+    }
+
+    /**
+     * @param end 이 레코드 다음 위치 (전송 완료 시 checkpoint)
+     */
+    private record Entry(long end, byte[] json, long createdAt) {
+    }
+}
@@ -0,0 +1,12 @@
+package com.ssafy.ottereview.ai.convention;
+
+/**
+ * unified diff 의 hunk 하나
+ *
+ * @param fileName 변경 후 파일 경로
+ * @param header   "@@ -a,b +c,d @@" 줄 (위치 정보, fingerprint 에는 포함하지 않음)
+ * @param body     header 이후의 내용 (' ', '+', '-' 로 시작하는 줄)
+ */
+public record DiffHunk(String fileName, String header, String body) {
+
+}
@@ -0,0 +1,62 @@
+package com.ssafy.ottereview.ai.convention;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * unified diff (git diff, GitHub compare 의 .diff) 를 파일별 hunk 로 나눈다.
+ * 삭제된 파일의 hunk 는 검사할 코드가 없으므로 제외한다.
+ */
+public final class DiffHunkParser {
+
+    private static final String NEW_FILE_PREFIX = "+++ ";
+    private static final String HUNK_PREFIX = "@@";
+    private static final String DEV_NULL = "/dev/null";
+
+    private DiffHunkParser() {
+    }
+
+    public static List<DiffHunk> parse(String unifiedDiff) {
+        List<DiffHunk> hunks = new ArrayList<>();
+        if (unifiedDiff == null || unifiedDiff.isEmpty()) {
+            return hunks;
+        }
+
+        String fileName = null;
+        String header = null;
+        StringBuilder body = new StringBuilder();
+
+        // 마지막 줄바꿈 뒤의 빈 문자열은 내용이 아니므로 버린다 (중간의 빈 줄은 공백이 지워진 context 줄로 유지)
+        for (String line : unifiedDiff.split("\n")) {
+            if (line.startsWith("diff --git ")) {
+                addHunk(hunks, fileName, header, body);
+                fileName = null;
+                header = null;
+            } else if (line.startsWith(NEW_FILE_PREFIX) && header == null) {
+                fileName = newFileName(line.substring(NEW_FILE_PREFIX.length()).trim());
+            } else if (line.startsWith(HUNK_PREFIX)) {
+                addHunk(hunks, fileName, header, body);
+                header = line;
+            } else if (header != null && !line.startsWith("\\")) {
+                // "\ No newline at end of file" 는 내용이 아니므로 제외
+                body.append(line).append('\n');
+            }
+        }
+        addHunk(hunks, fileName, header, body);
+        return hunks;
+    }
+
+    private static void addHunk(List<DiffHunk> hunks, String fileName, String header, StringBuilder body) {
+        if (fileName != null && header != null) {
+            hunks.add(new DiffHunk(fileName, header, body.toString()));
+        }
+        body.setLength(0);
+    }
+
+    private static String newFileName(String path) {
+        if (DEV_NULL.equals(path)) {
+            return null;
+        }
+        return path.startsWith("b/") ? path.substring(2) : path;
+    }
+}
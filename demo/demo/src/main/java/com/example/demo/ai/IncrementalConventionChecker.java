@@ -0,0 +1,270 @@
+package com.ssafy.ottereview.ai.convention;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ssafy.ottereview.ai.client.AiCallGuard;
+import com.ssafy.ottereview.ai.client.AiCallScheduler;
+import com.ssafy.ottereview.ai.client.AiCallScheduler.Lane;
+import com.ssafy.ottereview.ai.dto.request.AiConventionHunkRequest;
+import com.ssafy.ottereview.ai.dto.request.AiConventionRequest;
+import com.ssafy.ottereview.ai.dto.response.AiConventionHunkResponse;
+import com.ssafy.ottereview.ai.dto.response.AiIncrementalConventionResponse;
+import com.ssafy.ottereview.ai.dto.response.AiIncrementalConventionResponse.HunkResult;
+import com.ssafy.ottereview.common.cache.ExpiringLruCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * hunk 단위 증분 코딩 컨벤션 검사
+ * <p>
+ * diff 를 hunk 로 나누고, 규칙 + 파일 경로 + hunk 내용으로 fingerprint 를 만든다. (줄 번호는 제외해 위치만 바뀐 hunk 도 재사용)
+ * fingerprint 별 결과는 로컬 캐시와 Redis 에 저장되고, 결과가 없는 hunk 만 AI 서버로 보낸다.
+ * 따라서 재검사 비용은 PR 크기가 아니라 마지막 검사 이후 바뀐 hunk 수에 비례한다.
+ * <p>
+ * AI 서버가 hunk 검사 API 를 지원하지 않으면(404, 405, 501) 오류를 그대로 전달해 호출한 쪽이 전체 검사로 대신하게 한다.
+ * 그 밖의 실패는 검사하지 못한 hunk 를 오류로 표시한 결과를 반환한다.
+ */
+@Slf4j
+@Component
+public class IncrementalConventionChecker {
+
+    private static final String KEY_PREFIX = "ai:convention:hunk:";
+    private static final String HUNK_URI = "/ai/coding-convention/check/hunks";
+    private static final TypeReference<List<JsonNode>> VIOLATIONS_TYPE = new TypeReference<>() {
+    };
+
+    private final WebClient aiWebClient;
+    private final AiCallScheduler aiCallScheduler;
+    private final AiCallGuard aiCallGuard;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final ObjectMapper objectMapper;
+
+    private final ExpiringLruCache<String, List<JsonNode>> localCache;
+    private final Duration redisTtl;
+
+    private final Counter cachedHunks;
+    private final Counter checkedHunks;
+
+    public IncrementalConventionChecker(
+            WebClient aiWebClient,
+            AiCallScheduler aiCallScheduler,
+            AiCallGuard aiCallGuard,
+            RedisTemplate<String, Object> redisTemplate,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${app.ai.convention.cache.local-max-size:10000}") int localMaxSize,
+            @Value("${app.ai.convention.cache.local-ttl-minutes:30}") long localTtlMinutes,
+            @Value("${app.ai.convention.cache.redis-ttl-hours:168}") long redisTtlHours) {
+        this.aiWebClient = aiWebClient;
+        this.aiCallScheduler = aiCallScheduler;
+        this.aiCallGuard = aiCallGuard;
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.localCache = new ExpiringLruCache<>(localMaxSize, Duration.ofMinutes(localTtlMinutes));
+        this.redisTtl = Duration.ofHours(redisTtlHours);
+
+        this.cachedHunks = Counter.builder("ai.convention.hunks")
+                .tag("result", "cached")
+                .description("캐시된 결과를 재사용한 hunk 수")
+                .register(meterRegistry);
+        this.checkedHunks = Counter.builder("ai.convention.hunks")
+                .tag("result", "checked")
+                .description("AI 서버로 검사한 hunk 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @param request     저장소와 컨벤션 규칙 (source/target 은 사용하지 않음)
+     * @param unifiedDiff source 와 target 의 unified diff
+     */
+    public Mono<AiIncrementalConventionResponse> check(AiConventionRequest request, String unifiedDiff) {
+        List<DiffHunk> hunks = DiffHunkParser.parse(unifiedDiff);
+        String rulesHash = sha256(toJson(request.getRules()));
+
+        // diff 순서를 유지한 fingerprint -> hunk (같은 내용의 hunk 는 한 번만 검사)
+        Map<String, DiffHunk> byFingerprint = new LinkedHashMap<>();
+        List<String> fingerprints = new ArrayList<>(hunks.size());
+        for (DiffHunk hunk : hunks) {
+            String fingerprint = sha256(rulesHash + '\0' + hunk.fileName() + '\0' + hunk.body());
+            fingerprints.add(fingerprint);
+            byFingerprint.putIfAbsent(fingerprint, hunk);
+        }
+
+        return Mono.fromCallable(() -> lookup(byFingerprint.keySet()))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(cached -> {
+                    Map<String, DiffHunk> misses = new LinkedHashMap<>(byFingerprint);
+                    misses.keySet().removeAll(cached.keySet());
+                    cachedHunks.increment(byFingerprint.size() - misses.size());
+                    log.info("증분 컨벤션 검사 - 전체 hunk: {}, 캐시: {}, 검사 대상: {}",
+                            byFingerprint.size(), byFingerprint.size() - misses.size(), misses.size());
+
+                    return checkHunks(request, misses)
+                            .map(fresh -> merge(hunks, fingerprints, cached, fresh, misses.size()));
+                });
+    }
+
+    /**
+     * 로컬 캐시, Redis 순으로 조회한다 (blocking).
+     */
+    private Map<String, List<JsonNode>> lookup(Iterable<String> fingerprints) {
+        Map<String, List<JsonNode>> found = new HashMap<>();
+        List<String> remoteKeys = new ArrayList<>();
+        for (String fingerprint : fingerprints) {
+            List<JsonNode> violations = localCache.get(fingerprint);
+            if (violations != null) {
+                found.put(fingerprint, violations);
+            } else {
+                remoteKeys.add(fingerprint);
+            }
+        }
+        if (remoteKeys.isEmpty()) {
+            return found;
+        }
+
+        try {
+            List<Object> values = redisTemplate.opsForValue()
+                    .multiGet(remoteKeys.stream().map(fingerprint -> KEY_PREFIX + fingerprint).toList());
+            for (int i = 0; values != null && i < values.size(); i++) {
+                if (values.get(i) == null) {
+                    continue;
+                }
+                List<JsonNode> violations = objectMapper.readValue(values.get(i).toString(), VIOLATIONS_TYPE);
+                localCache.put(remoteKeys.get(i), violations);
+                found.put(remoteKeys.get(i), violations);
+            }
+        } catch (Exception e) {
+            log.warn("컨벤션 hunk 캐시 조회 실패 - 로컬 캐시 결과만 사용", e);
+        }
+        return found;
+    }
+
+    /**
+     * 캐시에 없는 hunk 만 한 번의 요청으로 검사하고 결과를 캐시에 저장한다.
+     * 실패하면 빈 결과를 반환하고, API 를 지원하지 않는 서버면 오류를 그대로 전달한다.
+     */
+    private Mono<Map<String, List<JsonNode>>> checkHunks(AiConventionRequest request, Map<String, DiffHunk> misses) {
+        if (misses.isEmpty()) {
+            return Mono.just(Map.of());
+        }
+        checkedHunks.increment(misses.size());
+
+        List<AiConventionHunkRequest.Hunk> payload = misses.entrySet().stream()
+                .map(entry -> new AiConventionHunkRequest.Hunk(entry.getKey(), entry.getValue().fileName(),
+                        entry.getValue().header(), entry.getValue().body()))
+                .toList();
+
+        return aiCallScheduler.schedule(Lane.BACKGROUND, request.getRepoId(),
+                        aiCallGuard.protect(HUNK_URI, aiWebClient.post()
+                                .uri(HUNK_URI)
+                                .bodyValue(new AiConventionHunkRequest(request.getRepoId(), request.getRules(), payload))
+                                .retrieve()
+                                .bodyToMono(AiConventionHunkResponse.class)))
+                .map(response -> {
+                    Map<String, List<JsonNode>> fresh = new HashMap<>();
+                    if (response.getResults() != null) {
+                        for (AiConventionHunkResponse.Verdict verdict : response.getResults()) {
+                            if (misses.containsKey(verdict.getFingerprint())) {
+                                fresh.put(verdict.getFingerprint(),
+                                        verdict.getViolations() == null ? List.of() : verdict.getViolations());
+                            }
+                        }
+                    }
+                    return fresh;
+                })
+                .flatMap(fresh -> Mono.fromRunnable(() -> store(fresh))
+                        .subscribeOn(Schedulers.boundedElastic())
+                        .thenReturn(fresh))
+                .onErrorResume(error -> !isUnsupported(error), error -> {
+                    log.error("hunk 단위 컨벤션 검사 실패", error);
+                    return Mono.just(Map.of());
+                });
+    }
+
+    /**
+     * hunk 검사 API 를 지원하지 않는 AI 서버의 응답인지 확인한다.
+     */
+    public static boolean isUnsupported(Throwable error) {
+        if (!(error instanceof WebClientResponseException responseException)) {
+            return false;
+        }
+        int status = responseException.getStatusCode().value();
+        return status == 404 || status == 405 || status == 501;
+    }
+
+    private void store(Map<String, List<JsonNode>> fresh) {
+        fresh.forEach(localCache::put);
+        try {
+            for (Map.Entry<String, List<JsonNode>> entry : fresh.entrySet()) {
+                redisTemplate.opsForValue().set(KEY_PREFIX + entry.getKey(), toJson(entry.getValue()), redisTtl);
+            }
+        } catch (Exception e) {
+            log.warn("컨벤션 hunk 캐시 저장 실패", e);
+        }
+    }
+
+    private static AiIncrementalConventionResponse merge(List<DiffHunk> hunks, List<String> fingerprints,
+            Map<String, List<JsonNode>> cached, Map<String, List<JsonNode>> fresh, int requested) {
+        List<HunkResult> results = new ArrayList<>(hunks.size());
+        boolean hasErrors = false;
+        for (int i = 0; i < hunks.size(); i++) {
+            DiffHunk hunk = hunks.get(i);
+            String fingerprint = fingerprints.get(i);
+            List<JsonNode> violations = cached.get(fingerprint);
+            boolean fromCache = violations != null;
+            if (!fromCache) {
+                violations = fresh.get(fingerprint);
+            }
+            if (violations == null) {
+                // 검사 실패한 hunk 는 위반 없음으로 두고 오류 표시만 한다
+                hasErrors = true;
+                violations = List.of();
+            }
+            results.add(new HunkResult(hunk.fileName(), hunk.header(), fromCache, violations));
+        }
+
+        return AiIncrementalConventionResponse.builder()
+                .results(results)
+                .cachedHunks(cached.size())
+                .checkedHunks(requested)
+                .hasErrors(hasErrors)
+                .build();
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("컨벤션 검사 데이터 직렬화 실패", e);
+        }
+    }
+
+    private static String sha256(String value) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 을 사용할 수 없습니다", e);
+        }
+    }
+}
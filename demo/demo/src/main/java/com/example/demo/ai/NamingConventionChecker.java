@@ -0,0 +1,45 @@
+package com.ssafy.ottereview.ai.convention;
+
+import com.ssafy.ottereview.ai.dto.request.AiConventionRequest;
+import jakarta.annotation.PreDestroy;
+import java.util.concurrent.ForkJoinPool;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * {@link NamingConventionScanner} 를 전용 fork-join pool 에서 실행한다.
+ * 요청 스레드나 common pool 을 쓰지 않도록 검사 전용 pool 을 둔다.
+ */
+@Slf4j
+@Component
+public class NamingConventionChecker {
+
+    private final ForkJoinPool pool;
+    private final NamingConventionScanner scanner;
+
+    public NamingConventionChecker(
+            @Value("${app.ai.convention.local.parallelism:0}") int parallelism) {
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        this.scanner = new NamingConventionScanner(pool);
+    }
+
+    public Mono<NamingConventionScanner.Result> scan(AiConventionRequest.Rules rules, String unifiedDiff) {
+        return Mono.fromCallable(() -> {
+                    long start = System.nanoTime();
+                    NamingConventionScanner.Result result = scanner.scan(rules, unifiedDiff);
+                    log.debug("로컬 이름 규칙 검사 완료 - 위반: {}건, AI 검사 필요: {}, {}ms",
+                            result.getViolations().size(), result.getUnresolvedRules(), (System.nanoTime() - start) / 1_000_000);
+                    return result;
+                })
+                // pool.invoke 는 호출 스레드를 붙잡으므로 이벤트 루프가 아닌 곳에서 호출한다
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+    }
+}
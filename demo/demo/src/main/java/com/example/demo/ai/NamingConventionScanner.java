@@ -0,0 +1,336 @@
+package com.ssafy.ottereview.ai.convention;
+
+import com.ssafy.ottereview.ai.dto.request.AiConventionRequest;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 이름 규칙 로컬 검사기
+ * <p>
+ * diff 의 추가된 줄에서 클래스/함수/변수/상수 이름을 정규식으로 뽑아 {@link NamingRule} 로 검사한다.
+ * 주석 줄은 건너뛰고, 문자열 리터럴의 내용과 줄 끝 주석은 지운 뒤 검사한다 (예: "// this class is ..." 의 "is" 를 클래스 이름으로 보지 않도록).
+ * 파일 단위로 fork-join 작업을 나누어 병렬로 검사한다.
+ * 해석할 수 없는 규칙과, 이름을 뽑을 수 없는 언어의 파일, 언어에 따로 문법이 없어 뽑을 수 없는 종류(JavaScript, Python 의 상수)는
+ * {@link Result#getUnresolvedRules} 로 돌려주어 AI 검사로 넘긴다.
+ */
+public class NamingConventionScanner {
+
+    public static final String FILE_NAMES = "file_names";
+    public static final String FUNCTION_NAMES = "function_names";
+    public static final String VARIABLE_NAMES = "variable_names";
+    public static final String CLASS_NAMES = "class_names";
+    public static final String CONSTANT_NAMES = "constant_names";
+
+    // Java 의 static final, Kotlin 의 const val 모두 포함하는 문자열
+    private static final String CONSTANT_HINT = "st";
+
+    // 한 작업이 직접 검사하는 최대 파일 수
+    private static final int FILES_PER_TASK = 8;
+
+    private static final String TYPE = "[\\w$<>\\[\\]?,.]+(?:\\s*<[^=;()]*>)?(?:\\[\\])*";
+    private static final String MODIFIERS = "(?:(?:public|protected|private|static|final|abstract|synchronized|default)\\s+)*";
+
+    private static final Language JAVA = new Language(
+            Pattern.compile("\\b(?:class|interface|enum|record)\\s+([A-Za-z_$][\\w$]*)"),
+            Pattern.compile("^\\s*(?:(?:public|protected|private)\\s+)" + MODIFIERS + "(?:<[^>]+>\\s+)?" + TYPE
+                    + "\\s+([A-Za-z_$][\\w$]*)\\s*\\("),
+            Pattern.compile("\\bstatic\\s+final\\s+" + TYPE + "\\s+([A-Za-z_$][\\w$]*)\\s*="),
+            Pattern.compile("^\\s*(?:final\\s+)?(?:var|int|long|double|float|boolean|char|byte|short|[A-Z][\\w$]*(?:<[^=;()]*>)?(?:\\[\\])*)"
+                    + "\\s+([a-zA-Z_$][\\w$]*)\\s*(?:=|;|:)"),
+            "//");
+    private static final Language KOTLIN = new Language(
+            Pattern.compile("\\b(?:class|interface|object)\\s+([A-Za-z_][\\w]*)"),
+            Pattern.compile("\\bfun\\s+(?:<[^>]+>\\s+)?(?:[\\w.]+\\.)?([A-Za-z_][\\w]*)\\s*\\("),
+            Pattern.compile("\\bconst\\s+val\\s+([A-Za-z_][\\w]*)"),
+            Pattern.compile("^\\s*(?:val|var)\\s+([A-Za-z_][\\w]*)"),
+            "//");
+    private static final Language JAVASCRIPT = new Language(
+            Pattern.compile("\\b(?:class|interface|type|enum)\\s+([A-Za-z_$][\\w$]*)"),
+            Pattern.compile("\\bfunction\\s*\\*?\\s+([A-Za-z_$][\\w$]*)\\s*\\("),
+            null,
+            Pattern.compile("\\b(?:let|var|const)\\s+([A-Za-z_$][\\w$]*)"),
+            "//");
+    private static final Language PYTHON = new Language(
+            Pattern.compile("^\\s*class\\s+([A-Za-z_][\\w]*)"),
+            Pattern.compile("^\\s*(?:async\\s+)?def\\s+([A-Za-z_][\\w]*)\\s*\\("),
+            null,
+            Pattern.compile("^\\s*([A-Za-z_][\\w]*)\\s*(?::[^=]+)?=(?!=)"),
+            "#");
+
+    // 이름을 뽑을 수 없는 코드 파일 (문서, 설정 파일 등은 이름 규칙 대상이 아니므로 무시)
+    private static final Set<String> UNSUPPORTED_CODE = Set.of(
+            "go", "rb", "c", "cc", "cpp", "h", "hpp", "cs", "swift", "rs", "php", "scala", "dart", "m");
+
+    private static final Map<String, Language> LANGUAGES = Map.ofEntries(
+            Map.entry("java", JAVA),
+            Map.entry("kt", KOTLIN),
+            Map.entry("js", JAVASCRIPT),
+            Map.entry("jsx", JAVASCRIPT),
+            Map.entry("ts", JAVASCRIPT),
+            Map.entry("tsx", JAVASCRIPT),
+            Map.entry("py", PYTHON));
+
+    private final ForkJoinPool pool;
+
+    public NamingConventionScanner(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    public Result scan(AiConventionRequest.Rules rules, String unifiedDiff) {
+        Map<String, String> rawRules = new LinkedHashMap<>();
+        rawRules.put(FILE_NAMES, rules.getFileNames());
+        rawRules.put(FUNCTION_NAMES, rules.getFunctionNames());
+        rawRules.put(VARIABLE_NAMES, rules.getVariableNames());
+        rawRules.put(CLASS_NAMES, rules.getClassNames());
+        rawRules.put(CONSTANT_NAMES, rules.getConstantNames());
+
+        Map<String, NamingRule> compiled = new LinkedHashMap<>();
+        Set<String> unresolved = new LinkedHashSet<>();
+        rawRules.forEach((kind, rule) -> {
+            if (rule == null || rule.isBlank()) {
+                return;
+            }
+            NamingRule namingRule = NamingRule.compile(rule);
+            if (namingRule != null) {
+                compiled.put(kind, namingRule);
+            }
+            if (namingRule == null || !namingRule.isExact()) {
+                unresolved.add(kind);
+            }
+        });
+
+        List<List<DiffHunk>> files = groupByFile(DiffHunkParser.parse(unifiedDiff));
+        FileScanResult scanned = compiled.isEmpty()
+                ? new FileScanResult(List.of(), Set.of())
+                : pool.invoke(new FileScanTask(files, 0, files.size(), compiled));
+
+        // 이름을 뽑지 못한 종류는 AI 가 확인해야 한다
+        unresolved.addAll(scanned.unresolvedRules());
+        return new Result(scanned.violations(), unresolved);
+    }
+
+    private static List<List<DiffHunk>> groupByFile(List<DiffHunk> hunks) {
+        Map<String, List<DiffHunk>> byFile = new LinkedHashMap<>();
+        for (DiffHunk hunk : hunks) {
+            byFile.computeIfAbsent(hunk.fileName(), name -> new ArrayList<>()).add(hunk);
+        }
+        return new ArrayList<>(byFile.values());
+    }
+
+    /**
+     * 파일 목록을 반으로 나누어 검사한다.
+     */
+    private static class FileScanTask extends RecursiveTask<FileScanResult> {
+
+        private final List<List<DiffHunk>> files;
+        private final int from;
+        private final int to;
+        private final Map<String, NamingRule> rules;
+
+        private FileScanTask(List<List<DiffHunk>> files, int from, int to, Map<String, NamingRule> rules) {
+            this.files = files;
+            this.from = from;
+            this.to = to;
+            this.rules = rules;
+        }
+
+        @Override
+        protected FileScanResult compute() {
+            if (to - from <= FILES_PER_TASK) {
+                List<NamingViolation> violations = new ArrayList<>();
+                Set<String> unresolved = new LinkedHashSet<>();
+                for (int i = from; i < to; i++) {
+                    unresolved.addAll(scanFile(files.get(i), rules, violations));
+                }
+                return new FileScanResult(violations, unresolved);
+            }
+
+            int middle = (from + to) >>> 1;
+            FileScanTask left = new FileScanTask(files, from, middle, rules);
+            left.fork();
+            FileScanResult right = new FileScanTask(files, middle, to, rules).compute();
+            FileScanResult leftResult = left.join();
+
+            List<NamingViolation> violations = new ArrayList<>(leftResult.violations().size() + right.violations().size());
+            violations.addAll(leftResult.violations());
+            violations.addAll(right.violations());
+            Set<String> unresolved = new LinkedHashSet<>(leftResult.unresolvedRules());
+            unresolved.addAll(right.unresolvedRules());
+            return new FileScanResult(violations, unresolved);
+        }
+    }
+
+    /**
+     * @return 이 파일에서 이름을 뽑을 수 없어 검사하지 못한 규칙 종류
+     */
+    private static Set<String> scanFile(List<DiffHunk> hunks, Map<String, NamingRule> rules, List<NamingViolation> violations) {
+        String fileName = hunks.get(0).fileName();
+        int slash = fileName.lastIndexOf('/');
+        String baseName = fileName.substring(slash + 1);
+        int dot = baseName.lastIndexOf('.');
+        String extension = dot < 0 ? "" : baseName.substring(dot + 1).toLowerCase(Locale.ROOT);
+
+        Language language = LANGUAGES.get(extension);
+        if (language == null) {
+            return UNSUPPORTED_CODE.contains(extension) ? rules.keySet() : Set.of();
+        }
+
+        NamingRule fileRule = rules.get(FILE_NAMES);
+        if (fileRule != null && dot > 0 && !fileRule.matches(baseName.substring(0, dot))) {
+            violations.add(new NamingViolation(fileName, 0, FILE_NAMES, baseName, fileRule.getRule()));
+        }
+
+        for (DiffHunk hunk : hunks) {
+            int line = startLine(hunk.header());
+            for (String content : hunk.body().split("\n")) {
+                if (content.startsWith("+")) {
+                    String code = language.codeOf(content.substring(1));
+                    if (code != null) {
+                        language.check(code, fileName, line, rules, violations);
+                    }
+                }
+                if (!content.startsWith("-")) {
+                    line++;
+                }
+            }
+        }
+        return language.constants() == null && rules.containsKey(CONSTANT_NAMES) ? Set.of(CONSTANT_NAMES) : Set.of();
+    }
+
+    /**
+     * "@@ -a,b +c,d @@" 에서 c
+     */
+    private static int startLine(String header) {
+        int plus = header.indexOf('+');
+        int end = plus;
+        while (end + 1 < header.length() && Character.isDigit(header.charAt(end + 1))) {
+            end++;
+        }
+        return end > plus ? Integer.parseInt(header.substring(plus + 1, end + 1)) : 1;
+    }
+
+    /**
+     * @param lineComment 한 줄 주석 시작 문자열
+     */
+    private record Language(Pattern classes, Pattern functions, Pattern constants, Pattern variables, String lineComment) {
+
+        /**
+         * 문자열 리터럴의 내용과 주석을 지운 코드. 주석만 있는 줄이면 null
+         * <p>
+         * 여러 줄에 걸친 블록 주석은 "/*", "*" 로 시작하는 줄만 주석으로 본다.
+         */
+        private String codeOf(String line) {
+            String trimmed = line.stripLeading();
+            if (trimmed.startsWith(lineComment) || trimmed.startsWith("/*") || trimmed.startsWith("*")) {
+                return null;
+            }
+
+            StringBuilder code = new StringBuilder(line.length());
+            char quote = 0;
+            for (int i = 0; i < line.length(); i++) {
+                char c = line.charAt(i);
+                if (quote != 0) {
+                    if (c == '\\') {
+                        i++;
+                    } else if (c == quote) {
+                        code.append(c);
+                        quote = 0;
+                    }
+                    continue;
+                }
+                if (line.startsWith(lineComment, i)) {
+                    break;
+                }
+                if (line.startsWith("/*", i)) {
+                    int end = line.indexOf("*/", i + 2);
+                    if (end < 0) {
+                        break;
+                    }
+                    i = end + 1;
+                    continue;
+                }
+                if (c == '"' || c == '\'' || c == '`') {
+                    quote = c;
+                }
+                code.append(c);
+            }
+            return code.toString();
+        }
+
+        private void check(String code, String fileName, int line, Map<String, NamingRule> rules,
+                List<NamingViolation> violations) {
+            // 정규식 전에 필수 문자로 먼저 걸러낸다
+            boolean constant = code.contains(CONSTANT_HINT)
+                    && find(constants, code, CONSTANT_NAMES, fileName, line, rules, violations, null);
+            if (rules.containsKey(CLASS_NAMES)) {
+                find(classes, code, CLASS_NAMES, fileName, line, rules, violations, null);
+            }
+            boolean function = code.indexOf('(') >= 0
+                    && find(functions, code, FUNCTION_NAMES, fileName, line, rules, violations, null);
+            // 상수, 함수 선언은 변수 규칙으로 다시 검사하지 않는다
+            if (!constant && !function && rules.containsKey(VARIABLE_NAMES)) {
+                // 상수 문법이 없는 언어에서 상수 규칙에 맞는 이름은 상수일 수 있으므로 위반으로 보지 않는다 (상수 규칙은 AI 가 확인한다)
+                NamingRule constantRule = constants == null ? rules.get(CONSTANT_NAMES) : null;
+                find(variables, code, VARIABLE_NAMES, fileName, line, rules, violations, constantRule);
+            }
+        }
+
+        /**
+         * @param allowed 규칙에 맞지 않아도 위반으로 보지 않는 이름의 규칙. 없으면 null
+         */
+        private static boolean find(Pattern pattern, String code, String kind, String fileName, int line,
+                Map<String, NamingRule> rules, List<NamingViolation> violations, NamingRule allowed) {
+            if (pattern == null) {
+                return false;
+            }
+            Matcher matcher = pattern.matcher(code);
+            if (!matcher.find()) {
+                return false;
+            }
+            NamingRule rule = rules.get(kind);
+            String name = matcher.group(1);
+            if (rule != null && !rule.matches(name) && (allowed == null || !allowed.matches(name))) {
+                violations.add(new NamingViolation(fileName, line, kind, name, rule.getRule()));
+            }
+            return true;
+        }
+    }
+
+    private record FileScanResult(List<NamingViolation> violations, Set<String> unresolvedRules) {
+
+    }
+
+    /**
+     * 로컬 검사 결과
+     */
+    public static class Result {
+
+        private final List<NamingViolation> violations;
+        private final Set<String> unresolvedRules;
+
+        private Result(List<NamingViolation> violations, Set<String> unresolvedRules) {
+            this.violations = violations;
+            this.unresolvedRules = unresolvedRules;
+        }
+
+        public List<NamingViolation> getViolations() {
+            return violations;
+        }
+
+        /**
+         * 로컬에서 판단하지 못해 AI 검사가 필요한 규칙 종류
+         */
+        public Set<String> getUnresolvedRules() {
+            return unresolvedRules;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.ssafy.ottereview.ai.convention;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * 컨벤션 규칙 문자열 하나를 이름 검사기로 변환한다.
+ * <p>
+ * "camelCase", "UPPER_SNAKE_CASE", "카멜 케이스" 처럼 잘 알려진 표기법이나 "^...$" 형태의 정규식만 변환하고,
+ * 그 밖의 자연어 규칙은 해석하지 않는다 ({@link #compile} 이 null 을 반환하며 AI 검사로 넘긴다).
+ * 표기법에 설명이 덧붙은 규칙은 표기법만 검사하고 {@link #isExact} 가 false 가 된다.
+ */
+public final class NamingRule {
+
+    private static final String CAMEL = "^[a-z][a-zA-Z0-9]*$";
+    private static final String PASCAL = "^[A-Z][a-zA-Z0-9]*$";
+    private static final String SNAKE = "^[a-z][a-z0-9]*(_[a-z0-9]+)*$";
+    private static final String UPPER_SNAKE = "^[A-Z][A-Z0-9]*(_[A-Z0-9]+)*$";
+    private static final String KEBAB = "^[a-z][a-z0-9]*(-[a-z0-9]+)*$";
+
+    // 공백, '_', '-' 를 제거하고 소문자로 바꾼 표기법 이름 -> 정규식
+    private static final Map<String, String> STYLES = Map.ofEntries(
+            Map.entry("lowercamelcase", CAMEL),
+            Map.entry("camelcase", CAMEL),
+            Map.entry("카멜케이스", CAMEL),
+            Map.entry("uppercamelcase", PASCAL),
+            Map.entry("pascalcase", PASCAL),
+            Map.entry("파스칼케이스", PASCAL),
+            Map.entry("uppersnakecase", UPPER_SNAKE),
+            Map.entry("screamingsnakecase", UPPER_SNAKE),
+            Map.entry("constantcase", UPPER_SNAKE),
+            Map.entry("대문자스네이크케이스", UPPER_SNAKE),
+            Map.entry("snakecase", SNAKE),
+            Map.entry("스네이크케이스", SNAKE),
+            Map.entry("kebabcase", KEBAB),
+            Map.entry("케밥케이스", KEBAB));
+
+    // "uppersnakecase" 가 "snakecase" 보다 먼저 검사되도록 긴 이름부터
+    private static final List<String> STYLE_NAMES = STYLES.keySet().stream()
+            .sorted(Comparator.comparingInt(String::length).reversed())
+            .toList();
+
+    private final String rule;
+    private final Pattern pattern;
+    private final boolean exact;
+
+    private NamingRule(String rule, Pattern pattern, boolean exact) {
+        this.rule = rule;
+        this.pattern = pattern;
+        this.exact = exact;
+    }
+
+    /**
+     * @return 해석할 수 없는 규칙이면 null
+     */
+    public static NamingRule compile(String rule) {
+        if (rule == null || rule.isBlank()) {
+            return null;
+        }
+
+        String trimmed = rule.trim();
+        if (trimmed.startsWith("^") && trimmed.endsWith("$")) {
+            try {
+                return new NamingRule(rule, Pattern.compile(trimmed), true);
+            } catch (PatternSyntaxException e) {
+                return null;
+            }
+        }
+
+        String normalized = trimmed.toLowerCase(Locale.ROOT).replaceAll("[\\s_\\-]", "");
+        String matched = null;
+        for (String style : STYLE_NAMES) {
+            if (normalized.contains(style)) {
+                if (matched != null && !matched.contains(style) && !STYLES.get(matched).equals(STYLES.get(style))) {
+                    // 서로 다른 표기법이 함께 언급된 규칙 (예: "상수는 UPPER_SNAKE_CASE, 그 외 camelCase") 은 해석하지 않는다
+                    return null;
+                }
+                if (matched == null) {
+                    matched = style;
+                }
+            }
+        }
+        if (matched == null) {
+            return null;
+        }
+        return new NamingRule(rule, Pattern.compile(STYLES.get(matched)), normalized.equals(matched));
+    }
+
+    public boolean matches(String name) {
+        return pattern.matcher(name).matches();
+    }
+
+    /**
+     * 규칙이 표기법 이름이나 정규식 그 자체이면 true.
+     * "동사로 시작하는 camelCase" 처럼 설명이 덧붙은 규칙은 표기법 위반만 로컬에서 판단할 수 있으므로 false
+     */
+    public boolean isExact() {
+        return exact;
+    }
+
+    public String getRule() {
+        return rule;
+    }
+}
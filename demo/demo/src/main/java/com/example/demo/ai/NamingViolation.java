@@ -0,0 +1,21 @@
+package com.ssafy.ottereview.ai.convention;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * 로컬 검사에서 발견한 이름 규칙 위반
+ *
+ * @param fileName 파일 경로
+ * @param line     변경 후 파일 기준 줄 번호
+ * @param kind     file_names, function_names, variable_names, class_names, constant_names 중 하나
+ * @param name     규칙을 어긴 이름
+ * @param rule     적용된 규칙 원문
+ */
+public record NamingViolation(
+        @JsonProperty("file_name") String fileName,
+        int line,
+        String kind,
+        String name,
+        String rule) {
+
+}
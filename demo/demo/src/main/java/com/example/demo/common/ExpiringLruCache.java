@@ -0,0 +1,99 @@
+package com.ssafy.ottereview.common.cache;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * 크기 제한(LRU) + TTL 기반 만료를 지원하는 로컬 캐시
+ * <p>
+ * 만료된 항목은 조회 시점에 제거되고, 최대 크기를 넘으면 가장 오래 사용되지 않은 항목부터 제거된다.
+ * 이렇게 제거된 항목은 eviction listener 로 알린다 ({@link #invalidate} 로 직접 지운 항목은 알리지 않음).
+ */
+public class ExpiringLruCache<K, V> {
+    
+    private final int maxSize;
+    private final long ttlMillis;
+    private final BiConsumer<K, V> evictionListener;
+    private final LinkedHashMap<K, Entry<V>> entries;
+    
+    public ExpiringLruCache(int maxSize, Duration ttl) {
+        this(maxSize, ttl, (key, value) -> {
+        });
+    }
+    
+    /**
+     * @param evictionListener LRU 또는 만료로 제거된 항목을 받는다. 캐시 lock 을 잡은 채로 호출되므로 가볍게 유지해야 한다.
+     */
+    public ExpiringLruCache(int maxSize, Duration ttl, BiConsumer<K, V> evictionListener) {
+        this.maxSize = maxSize;
+        this.ttlMillis = ttl.toMillis();
+        this.evictionListener = evictionListener;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                if (size() <= ExpiringLruCache.this.maxSize) {
+                    return false;
+                }
+                ExpiringLruCache.this.evictionListener.accept(eldest.getKey(), eldest.getValue().value);
+                return true;
+            }
+        };
+    }
+    
+    public synchronized V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.isExpired(System.currentTimeMillis())) {
+            entries.remove(key);
+            evictionListener.accept(key, entry.value);
+            return null;
+        }
+        return entry.value;
+    }
+    
+    public synchronized void put(K key, V value) {
+        entries.put(key, new Entry<>(value, System.currentTimeMillis() + ttlMillis));
+    }
+    
+    /**
+     * 유효한 값이 없을 때만 저장한다.
+     *
+     * @return 새로 저장했으면 true, 이미 유효한 값이 있으면 false
+     */
+    public synchronized boolean putIfAbsent(K key, V value) {
+        long now = System.currentTimeMillis();
+        Entry<V> entry = entries.get(key);
+        if (entry != null && !entry.isExpired(now)) {
+            return false;
+        }
+        entries.put(key, new Entry<>(value, now + ttlMillis));
+        return true;
+    }
+    
+    public synchronized void invalidate(K key) {
+        entries.remove(key);
+    }
+    
+    public synchronized int size() {
+        return entries.size();
+    }
+    
+    private static final class Entry<V> {
+        
+        private final V value;
+        private final long expireAt;
+        
+        private Entry(V value, long expireAt) {
+            this.value = value;
+            this.expireAt = expireAt;
+        }
+        
+        private boolean isExpired(long now) {
+            return now >= expireAt;
+        }
+    }
+}
@@ -1,26 +1,30 @@
 package com.ssafy.ottereview.webhook.controller;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.ssafy.ottereview.common.annotation.MvcController;
-import com.ssafy.ottereview.common.exception.BusinessException;
 import com.ssafy.ottereview.user.entity.CustomUserDetail;
 import com.ssafy.ottereview.user.entity.User;
-import com.ssafy.ottereview.webhook.exception.WebhookErrorCode;
-import com.ssafy.ottereview.webhook.service.BranchProtectionEventService;
-import com.ssafy.ottereview.webhook.service.InstallationEventService;
-import com.ssafy.ottereview.webhook.service.PullRequestEventService;
-import com.ssafy.ottereview.webhook.service.PushEventService;
-import com.ssafy.ottereview.webhook.service.RepoEventService;
-import com.ssafy.ottereview.webhook.service.ReviewCommentEventService;
-import com.ssafy.ottereview.webhook.service.ReviewEventService;
+import com.ssafy.ottereview.webhook.dto.WebhookDelivery;
+import com.ssafy.ottereview.webhook.dto.WebhookEvent;
+import com.ssafy.ottereview.webhook.dto.WebhookPayload;
+import com.ssafy.ottereview.webhook.queue.WebhookDeliveryRecorder;
+import com.ssafy.ottereview.webhook.queue.WebhookQueue;
+import com.ssafy.ottereview.webhook.service.WebhookAdmissionController;
+import com.ssafy.ottereview.webhook.service.WebhookAdmissionController.Priority;
+import com.ssafy.ottereview.webhook.service.WebhookDeliveryDeduplicator;
+import com.ssafy.ottereview.webhook.service.WebhookEventDecoder;
+import com.ssafy.ottereview.webhook.service.WebhookEventRouter;
+import com.ssafy.ottereview.webhook.service.WebhookPayloadReader;
 import io.swagger.v3.oas.annotations.Hidden;
+import jakarta.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.util.concurrent.RejectedExecutionException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.PostMapping;
-import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
@@ -32,85 +36,101 @@ import org.springframework.web.bind.annotation.RestController;
 @MvcController
 public class GithubWebhookController {
 
-    private final PushEventService pushEventService;
-    private final InstallationEventService installationEventService;
-    private final PullRequestEventService pullRequestEventService;
-    private final ReviewEventService reviewEventService;
-    private final ReviewCommentEventService reviewCommentEventService;
-    private final BranchProtectionEventService branchProtectionEventService;
-    private final RepoEventService repoEventService;
-    private final ObjectMapper objectMapper;
+    private final WebhookEventRouter webhookEventRouter;
+    private final WebhookQueue webhookQueue;
+    private final WebhookDeliveryRecorder webhookDeliveryRecorder;
+    private final WebhookDeliveryDeduplicator webhookDeliveryDeduplicator;
+    private final WebhookEventDecoder webhookEventDecoder;
+    private final WebhookPayloadReader webhookPayloadReader;
+    private final WebhookAdmissionController webhookAdmissionController;
 
     @Hidden
     @PostMapping
     public ResponseEntity<String> handleWebhook(
-            @RequestBody String payload,
+            HttpServletRequest request,
             @RequestHeader("X-GitHub-Event") String event,
             @RequestHeader("X-GitHub-Delivery") String delivery,
-            @RequestHeader(value = "X-Hub-Signature-256", required = false) String signature) {
-        try {
-            JsonNode jsonNode = objectMapper.readTree(payload);
-            String action = jsonNode.path("action").asText();
-            log.debug("[웹훅 이벤트 수신] 이벤트: {}, Action: {}", event, action);
-            
-        } catch (Exception e) {
-            log.error("Error parsing payload: {}", e.getMessage());
-        }
-        // 이벤트별 처리
-        switch (event) {
-            case "push":
-                pushEventService.processPushEvent(payload);
-                break;
-
-            case "pull_request":
-                log.info("Handling pull request event");
-                pullRequestEventService.processPullRequestEvent(payload);
-                break;
-
-            case "pull_request_review":
-                log.info("Handling pull request review event");
-                reviewEventService.processReviewEvent(payload);
-                break;
-
-            case "pull_request_review_comment":
-                log.info("Handling pull request review event");
-                reviewCommentEventService.processReviewCommentEvent(payload);
-                break;
-
-            case "installation":
-                log.info("Handling installation event");
-                installationEventService.processInstallationEvent(payload);
-                break;
-
-            case "installation_repositories":
-                log.info("Handling installation repositories event");
-                installationEventService.processInstallationRepositoriesEvent(payload);
-                break;
+            @RequestHeader(value = "X-Hub-Signature-256", required = false) String signature) throws IOException {
+        // 큰 body 는 spill 모드에서 임시 파일로 매핑된다 (서명 필터에서 이미 읽었으면 그대로 사용)
+        // close 는 이 컨트롤러가 책임진다
+        WebhookPayload payload = webhookPayloadReader.take(request);
+        WebhookDelivery webhookDelivery = WebhookDelivery.builder()
+                .event(event)
+                .deliveryId(delivery)
+                .payload(payload)
+                .receivedAt(System.currentTimeMillis())
+                .build();
+        webhookDeliveryRecorder.record(webhookDelivery);
 
-            case "create":
-                log.info("Handling installation create Branch event");
-                installationEventService.processAddBranchesEvent(payload);
-                break;
+        // 과부하 시 중복 표시 전에 거절해야 재전송 시 다시 처리된다
+        Priority priority = WebhookAdmissionController.priorityOf(event);
+        if (!webhookQueue.isEnabled() && !webhookAdmissionController.tryAcquire(priority)) {
+            log.warn("[웹훅 과부하] 이벤트: {}, Delivery: {} - 재전송 요청", event, delivery);
+            payload.close();
+            return busy();
+        }
 
-            case "delete":
-                log.info("Handling installation delete Branch event");
-                installationEventService.processDeleteBranchesEvent(payload);
-                break;
+        if (!webhookDeliveryDeduplicator.markIfFirst(delivery)) {
+            log.info("[웹훅 중복 수신] 이벤트: {}, Delivery: {} - 처리 생략", event, delivery);
+            payload.close();
+            if (!webhookQueue.isEnabled()) {
+                webhookAdmissionController.cancel();
+            }
+            return ResponseEntity.ok("OK");
+        }
 
-            case "branch_protection_rule":
-                log.info("Handling branch protection rule event");
-                branchProtectionEventService.processBranchProtection(payload);
-                break;
+        if (webhookQueue.isEnabled()) {
+            // 큐 모드: 저널에 기록만 하고 바로 응답, 처리는 워커 스레드에서 수행
+            try {
+                webhookQueue.append(webhookDelivery);
+            } catch (RuntimeException e) {
+                // 저널에 남지 않은 delivery 는 재전송 시 다시 받아야 한다
+                webhookDeliveryDeduplicator.release(delivery);
+                throw e;
+            } finally {
+                payload.close();
+            }
+            return ResponseEntity.ok("OK");
+        }
 
-            case "repository":
-                log.info("Handling repository event");
-                repoEventService.processRepo(payload);
-                break;
+        long startTime = System.nanoTime();
+        try {
+            WebhookEvent webhookEvent;
+            try {
+                webhookEvent = webhookEventDecoder.decode(event, payload);
+            } finally {
+                // 이벤트에 필요한 필드가 모두 담기므로 핸들러 실행을 기다리지 않고 body 를 닫는다
+                payload.close();
+            }
+            log.debug("[웹훅 이벤트 수신] 이벤트: {}, Action: {}", event, webhookEvent.action());
 
-            default:
-                throw new BusinessException(WebhookErrorCode.WEBHOOK_UNSUPPORTED_EVENT);
+            webhookEventRouter.route(webhookEvent)
+                    .whenComplete((result, error) -> {
+                        webhookAdmissionController.release(System.nanoTime() - startTime, error == null);
+                        if (error != null) {
+                            log.error("웹훅 처리 실패 - 이벤트: {}, Delivery: {}", event, delivery, error);
+                            // 실패한 delivery 는 재전송 시 다시 처리할 수 있어야 한다
+                            webhookDeliveryDeduplicator.release(delivery);
+                        }
+                    });
+        } catch (RejectedExecutionException e) {
+            // 핸들러 executor 가 가득 찬 경우도 과부하이므로 GitHub 가 다시 보내도록 503 으로 응답한다
+            log.warn("[웹훅 핸들러 포화] 이벤트: {}, Delivery: {} - 재전송 요청", event, delivery);
+            webhookAdmissionController.release(System.nanoTime() - startTime, false);
+            webhookDeliveryDeduplicator.release(delivery);
+            return busy();
+        } catch (RuntimeException e) {
+            webhookAdmissionController.release(System.nanoTime() - startTime, false);
+            webhookDeliveryDeduplicator.release(delivery);
+            throw e;
         }
 
         return ResponseEntity.ok("OK");
     }
+
+    private ResponseEntity<String> busy() {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(webhookAdmissionController.getRetryAfterSeconds()))
+                .body("BUSY");
+    }
 }
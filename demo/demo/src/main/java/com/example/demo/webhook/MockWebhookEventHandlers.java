@@ -0,0 +1,53 @@
+package com.ssafy.ottereview.webhook.service;
+
+import jakarta.annotation.PostConstruct;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * 부하 측정용 핸들러. 이벤트 서비스를 호출하지 않고 설정된 시간만큼 대기한다.
+ * <p>
+ * {@code app.webhook.mock.enabled=true} 일 때 {@link WebhookEventHandlers} 대신 등록되며,
+ * executor 구성은 실제 핸들러와 같아 컨트롤러/라우터 자체의 오버헤드를 측정할 수 있다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.webhook.mock.enabled", havingValue = "true")
+public class MockWebhookEventHandlers {
+    
+    private static final List<String> ORDERED_EVENTS = List.of("push", "pull_request", "create", "delete",
+            "branch_protection_rule");
+    private static final List<String> HEAVY_EVENTS = List.of("installation", "installation_repositories", "repository");
+    private static final List<String> LIGHT_EVENTS = List.of("pull_request_review", "pull_request_review_comment");
+    
+    private final WebhookEventRouter webhookEventRouter;
+    
+    @Value("${app.webhook.mock.delay-ms:0}")
+    private long delayMs;
+    
+    @PostConstruct
+    public void registerHandlers() {
+        log.warn("웹훅 mock 핸들러 사용 중 - 이벤트 서비스가 호출되지 않습니다");
+        
+        ORDERED_EVENTS.forEach(event -> webhookEventRouter.registerOrdered(event, null, webhookEvent -> simulate()));
+        HEAVY_EVENTS.forEach(event -> webhookEventRouter.register(event, null, "heavy", webhookEvent -> simulate()));
+        LIGHT_EVENTS.forEach(event -> webhookEventRouter.register(event, null, "light", webhookEvent -> simulate()));
+    }
+    
+    private void simulate() {
+        if (delayMs <= 0) {
+            return;
+        }
+        try {
+            TimeUnit.MILLISECONDS.sleep(delayMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.ssafy.ottereview.webhook.service;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 키(저장소 ID 등) 별로 작업 순서를 보장하면서, 서로 다른 키는 병렬로 처리하는 executor
+ * <p>
+ * 키를 해시해 고정된 개수의 lane 중 하나에 배정하고, lane 마다 단일 스레드가 작업을 순서대로 실행한다.
+ * 같은 키는 항상 같은 lane 으로 가므로 제출 순서대로 실행된다.
+ */
+public class PartitionedExecutor {
+    
+    private final ThreadPoolExecutor[] lanes;
+    
+    public PartitionedExecutor(String name, int laneCount, int queueCapacity) {
+        this.lanes = new ThreadPoolExecutor[laneCount];
+        for (int i = 0; i < laneCount; i++) {
+            String threadName = name + "-lane-" + i;
+            lanes[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new LinkedBlockingQueue<>(queueCapacity),
+                    runnable -> {
+                        Thread thread = new Thread(runnable, threadName);
+                        thread.setDaemon(true);
+                        return thread;
+                    },
+                    new ThreadPoolExecutor.AbortPolicy());
+        }
+    }
+    
+    /**
+     * 키에 배정된 lane 을 반환한다. 키가 없으면 첫 번째 lane 을 사용한다.
+     */
+    public Executor lane(Object key) {
+        if (key == null) {
+            return lanes[0];
+        }
+        int hash = key.hashCode();
+        hash ^= (hash >>> 16);
+        return lanes[Math.floorMod(hash, lanes.length)];
+    }
+    
+    public int queuedTasks() {
+        int queued = 0;
+        for (ThreadPoolExecutor lane : lanes) {
+            queued += lane.getQueue().size();
+        }
+        return queued;
+    }
+    
+    public void shutdown() {
+        for (ThreadPoolExecutor lane : lanes) {
+            lane.shutdown();
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.ssafy.ottereview.webhook.service;
+
+import com.ssafy.ottereview.webhook.dto.WebhookEvent.PullRequestEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 짧은 시간에 몰리는 pull_request synchronize 이벤트를 PR 단위로 합친다.
+ * <p>
+ * synchronize 는 window 동안 보류하고 마지막(최신 head SHA) 이벤트만 처리한다.
+ * opened/closed 등 상태를 바꾸는 이벤트는 보류 중인 synchronize 를 먼저 처리한 뒤 바로 전달해 순서를 지킨다.
+ * 보류된 이벤트는 저장소별 순차 lane 안에서 꺼내 실행하므로 같은 lane 의 forward() 와 순서가 섞이지 않는다.
+ * lane 이 가득 차 있으면 보류된 채로 두었다가 재시도한다.
+ * 저장소 ID 나 PR 번호가 없는 이벤트는 합치지 않는다.
+ */
+@Slf4j
+@Component
+public class PullRequestSyncCoalescer {
+    
+    private final WebhookEventRouter webhookEventRouter;
+    private final long windowMillis;
+    private final Counter coalescedCounter;
+    
+    private final Map<String, Pending> pending = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "webhook-pr-coalescer");
+        thread.setDaemon(true);
+        return thread;
+    });
+    
+    public PullRequestSyncCoalescer(
+            WebhookEventRouter webhookEventRouter,
+            MeterRegistry meterRegistry,
+            @Value("${app.webhook.coalesce.window-ms:5000}") long windowMillis) {
+        this.webhookEventRouter = webhookEventRouter;
+        this.windowMillis = windowMillis;
+        this.coalescedCounter = Counter.builder("webhook.pull_request.coalesced")
+                .description("최신 synchronize 로 대체되어 처리되지 않은 이벤트 수")
+                .register(meterRegistry);
+    }
+    
+    /**
+     * synchronize 이벤트를 보류한다. 같은 PR 의 이벤트가 이미 보류 중이면 최신 이벤트로 교체한다.
+     *
+     * @return 보류된 이벤트(또는 이를 대체한 최신 이벤트)의 처리가 끝나면 완료되는 future.
+     * 웹훅 큐는 이 future 가 완료된 뒤에 저널 checkpoint 를 옮기므로, 보류 중 재시작해도 이벤트가 유실되지 않는다.
+     */
+    public CompletableFuture<Void> hold(PullRequestEvent event, WebhookEventHandler handler) {
+        // PR 을 특정할 수 없는 이벤트는 서로 다른 PR 이 하나로 합쳐지지 않도록 바로 처리한다
+        if (windowMillis <= 0 || event.repoId() == null || event.number() == null) {
+            handler.handle(event);
+            return CompletableFuture.completedFuture(null);
+        }
+        
+        String key = key(event);
+        
+        Pending[] previous = new Pending[1];
+        Pending held = pending.compute(key, (ignored, current) -> {
+            previous[0] = current;
+            // 대체된 이벤트도 최신 이벤트가 처리될 때 함께 완료된다
+            return new Pending(event, handler, current == null ? new CompletableFuture<>() : current.done);
+        });
+        if (previous[0] != null) {
+            coalescedCounter.increment();
+            log.debug("synchronize 이벤트 병합 - {} ({} -> {})", key, previous[0].event.headSha(), event.headSha());
+            return held.done;
+        }
+        scheduler.schedule(() -> flushLater(key), windowMillis, TimeUnit.MILLISECONDS);
+        return held.done;
+    }
+    
+    /**
+     * 상태 변경 이벤트를 처리한다. 같은 PR 의 보류 중인 synchronize 가 있으면 먼저 처리한다.
+     */
+    public void forward(PullRequestEvent event, WebhookEventHandler handler) {
+        if (event.repoId() != null && event.number() != null) {
+            Pending held = pending.remove(key(event));
+            if (held != null) {
+                run(held);
+            }
+        }
+        handler.handle(event);
+    }
+    
+    private void flushLater(String key) {
+        Pending held = pending.get(key);
+        if (held == null) {
+            return;
+        }
+        try {
+            // 꺼내는 것도 lane 안에서 해야 forward() 와 순서가 맞는다.
+            // 밖에서 꺼내면 closed/reopened 가 먼저 처리된 뒤 이전 synchronize 가 실행될 수 있다.
+            webhookEventRouter.orderedLane(held.event.repoId()).execute(() -> {
+                Pending latest = pending.remove(key);
+                if (latest == null) {
+                    // forward() 가 이미 처리했다
+                    return;
+                }
+                try {
+                    run(latest);
+                } catch (Exception e) {
+                    log.error("보류된 synchronize 이벤트 처리 실패 - {}", key, e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // lane 이 가득 찼으면 보류된 채로 두고 window 뒤에 재시도한다
+            log.warn("보류된 synchronize 이벤트 제출 실패, 재시도 - {}", key);
+            retryLater(key);
+        }
+    }
+    
+    private void retryLater(String key) {
+        if (scheduler.isShutdown()) {
+            // 완료하지 않은 채로 두면 큐 모드에서는 재시작 후 저널에서 다시 처리된다
+            log.warn("종료 중이라 보류된 synchronize 이벤트를 처리하지 못함 - {}", key);
+            return;
+        }
+        scheduler.schedule(() -> flushLater(key), windowMillis, TimeUnit.MILLISECONDS);
+    }
+    
+    private static void run(Pending held) {
+        try {
+            held.handler.handle(held.event);
+            held.done.complete(null);
+        } catch (RuntimeException e) {
+            held.done.completeExceptionally(e);
+            throw e;
+        }
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdown();
+        // 종료 전에 보류 중인 이벤트를 처리한다
+        pending.keySet().forEach(this::flushLater);
+    }
+    
+    private static String key(PullRequestEvent event) {
+        return event.repoId() + ":" + event.number();
+    }
+    
+    private record Pending(PullRequestEvent event, WebhookEventHandler handler, CompletableFuture<Void> done) {
+    
+    }
+}
@@ -0,0 +1,141 @@
+package com.ssafy.ottereview.webhook.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 웹훅 동시 처리 수 제한 (AIMD)
+ * <p>
+ * 처리 시간이 목표 이내면 limit 을 조금씩 늘리고(additive increase), 목표를 넘거나 실패하면 비율로 줄인다(multiplicative decrease).
+ * 우선순위가 낮은 이벤트는 limit 의 일부만 사용할 수 있어, 과부하 시 리뷰 코멘트 같은 이벤트부터 거절된다.
+ * 거절된 요청은 503 + Retry-After 로 응답해 GitHub 가 나중에 다시 보내도록 한다.
+ */
+@Slf4j
+@Component
+public class WebhookAdmissionController {
+
+    public enum Priority {
+        HIGH(1.0),    // 저장소/브랜치 상태를 바꾸는 이벤트
+        NORMAL(0.8),  // pull_request
+        LOW(0.5);     // 리뷰, 리뷰 코멘트
+
+        private final double share;
+
+        Priority(double share) {
+            this.share = share;
+        }
+    }
+
+    private static final double DECREASE_RATIO = 0.9;
+
+    private final boolean enabled;
+    private final int minLimit;
+    private final int maxLimit;
+    private final long targetLatencyNanos;
+    private final long retryAfterSeconds;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Map<Priority, Counter> shedCounters = new EnumMap<>(Priority.class);
+    private volatile double limit;
+
+    public WebhookAdmissionController(
+            MeterRegistry meterRegistry,
+            @Value("${app.webhook.admission.enabled:false}") boolean enabled,
+            @Value("${app.webhook.admission.initial-limit:20}") int initialLimit,
+            @Value("${app.webhook.admission.min-limit:2}") int minLimit,
+            @Value("${app.webhook.admission.max-limit:200}") int maxLimit,
+            @Value("${app.webhook.admission.target-latency-ms:2000}") long targetLatencyMs,
+            @Value("${app.webhook.admission.retry-after-seconds:60}") long retryAfterSeconds) {
+        this.enabled = enabled;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.targetLatencyNanos = TimeUnit.MILLISECONDS.toNanos(targetLatencyMs);
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.limit = initialLimit;
+
+        Gauge.builder("webhook.admission.limit", this, controller -> controller.limit)
+                .description("현재 웹훅 동시 처리 한도")
+                .register(meterRegistry);
+        Gauge.builder("webhook.admission.in_flight", inFlight, AtomicInteger::get)
+                .description("처리 중인 웹훅 수")
+                .register(meterRegistry);
+        for (Priority priority : Priority.values()) {
+            shedCounters.put(priority, Counter.builder("webhook.admission.shed")
+                    .tag("priority", priority.name())
+                    .description("과부하로 거절된 웹훅 수")
+                    .register(meterRegistry));
+        }
+    }
+
+    public static Priority priorityOf(String event) {
+        return switch (event) {
+            case "pull_request_review", "pull_request_review_comment" -> Priority.LOW;
+            case "pull_request" -> Priority.NORMAL;
+            default -> Priority.HIGH;
+        };
+    }
+
+    /**
+     * 처리 슬롯을 얻는다. 성공하면 처리 후 반드시 {@link #release} 를 호출해야 한다.
+     *
+     * @return 처리 가능하면 true, 거절해야 하면 false
+     */
+    public boolean tryAcquire(Priority priority) {
+        if (!enabled) {
+            return true;
+        }
+
+        int allowed = Math.max(1, (int) (limit * priority.share));
+        while (true) {
+            int current = inFlight.get();
+            if (current >= allowed) {
+                shedCounters.get(priority).increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 처리 결과를 반영해 limit 을 조정한다.
+     */
+    public void release(long latencyNanos, boolean success) {
+        if (!enabled) {
+            return;
+        }
+
+        int current = inFlight.getAndDecrement();
+        synchronized (this) {
+            if (!success || latencyNanos > targetLatencyNanos) {
+                limit = Math.max(minLimit, limit * DECREASE_RATIO);
+                log.debug("웹훅 동시 처리 한도 감소 - {}", (int) limit);
+            } else if (current >= limit * DECREASE_RATIO) {
+                // 한도 근처까지 사용 중일 때만 늘린다 (limit 만큼 완료되면 약 1 증가)
+                limit = Math.min(maxLimit, limit + 1.0 / limit);
+            }
+        }
+    }
+
+    /**
+     * 처리하지 않고 슬롯만 반납한다 (중복 수신 등). limit 은 조정하지 않는다.
+     */
+    public void cancel() {
+        if (enabled) {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,19 @@
+package com.ssafy.ottereview.webhook.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * GitHub 웹훅 한 건 (헤더 + 원본 payload)
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+public class WebhookDelivery {
+    
+    private final String event;       // X-GitHub-Event
+    private final String deliveryId;  // X-GitHub-Delivery
+    private final WebhookPayload payload;
+    private final long receivedAt;    // 수신 시각 (epoch millis)
+}
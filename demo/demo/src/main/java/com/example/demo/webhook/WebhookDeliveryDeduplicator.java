@@ -0,0 +1,109 @@
+package com.ssafy.ottereview.webhook.service;
+
+import com.ssafy.ottereview.common.cache.ExpiringLruCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * X-GitHub-Delivery 기반 웹훅 중복 수신 차단
+ * <p>
+ * 1차로 로컬 캐시, 2차로 (설정 시) Redis SET NX 를 사용해 이미 받은 delivery 인지 확인한다.
+ * Redis 장애 시에는 처리를 막지 않도록 신규 delivery 로 간주한다.
+ */
+@Slf4j
+@Component
+public class WebhookDeliveryDeduplicator {
+    
+    private static final String KEY_PREFIX = "webhook:delivery:";
+    
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final ExpiringLruCache<String, Boolean> localDeliveries;
+    private final boolean redisEnabled;
+    private final Duration ttl;
+    
+    private final Counter localHits;
+    private final Counter redisHits;
+    private final Counter misses;
+    
+    public WebhookDeliveryDeduplicator(
+            RedisTemplate<String, Object> redisTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${app.webhook.dedup.local-max-size:10000}") int localMaxSize,
+            @Value("${app.webhook.dedup.ttl-minutes:60}") long ttlMinutes,
+            @Value("${app.webhook.dedup.redis-enabled:false}") boolean redisEnabled) {
+        this.redisTemplate = redisTemplate;
+        this.ttl = Duration.ofMinutes(ttlMinutes);
+        this.localDeliveries = new ExpiringLruCache<>(localMaxSize, ttl);
+        this.redisEnabled = redisEnabled;
+        
+        this.localHits = Counter.builder("webhook.dedup.hits")
+                .tag("tier", "local")
+                .description("로컬 캐시에서 차단된 중복 웹훅 수")
+                .register(meterRegistry);
+        this.redisHits = Counter.builder("webhook.dedup.hits")
+                .tag("tier", "redis")
+                .description("Redis에서 차단된 중복 웹훅 수")
+                .register(meterRegistry);
+        this.misses = Counter.builder("webhook.dedup.misses")
+                .description("처음 수신된 웹훅 수")
+                .register(meterRegistry);
+    }
+    
+    /**
+     * delivery 를 처리 대상으로 표시한다.
+     *
+     * @return 처음 받은 delivery 면 true, 이미 받은 delivery 면 false
+     */
+    public boolean markIfFirst(String deliveryId) {
+        if (deliveryId == null || deliveryId.isBlank()) {
+            return true;
+        }
+        
+        if (!localDeliveries.putIfAbsent(deliveryId, Boolean.TRUE)) {
+            localHits.increment();
+            return false;
+        }
+        
+        if (redisEnabled && !markInRedis(deliveryId)) {
+            redisHits.increment();
+            return false;
+        }
+        
+        misses.increment();
+        return true;
+    }
+    
+    /**
+     * 처리에 실패한 delivery 의 표시를 지워 GitHub 재전송 시 다시 처리되도록 한다.
+     */
+    public void release(String deliveryId) {
+        if (deliveryId == null || deliveryId.isBlank()) {
+            return;
+        }
+        
+        localDeliveries.invalidate(deliveryId);
+        if (redisEnabled) {
+            try {
+                redisTemplate.delete(KEY_PREFIX + deliveryId);
+            } catch (Exception e) {
+                log.warn("웹훅 delivery 표시 삭제 실패 - Delivery: {}", deliveryId, e);
+            }
+        }
+    }
+    
+    private boolean markInRedis(String deliveryId) {
+        try {
+            Boolean first = redisTemplate.opsForValue()
+                    .setIfAbsent(KEY_PREFIX + deliveryId, "1", ttl);
+            return !Boolean.FALSE.equals(first);
+        } catch (Exception e) {
+            log.warn("Redis 중복 확인 실패, 신규 delivery 로 처리 - Delivery: {}", deliveryId, e);
+            return true;
+        }
+    }
+}
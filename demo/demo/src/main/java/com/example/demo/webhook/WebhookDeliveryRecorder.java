@@ -0,0 +1,69 @@
+package com.ssafy.ottereview.webhook.queue;
+
+import com.ssafy.ottereview.webhook.dto.WebhookDelivery;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 수신한 웹훅(헤더 + body)을 캡처 파일에 기록한다.
+ * <p>
+ * 파일 포맷은 웹훅 큐 저널과 같은 {@link WebhookRecordFormat} 이며, 테스트 소스의 WebhookReplayTool 로 재생할 수 있다.
+ */
+@Slf4j
+@Component
+public class WebhookDeliveryRecorder {
+    
+    @Value("${app.webhook.capture.enabled:false}")
+    private boolean enabled;
+    
+    @Value("${app.webhook.capture.file:./data/webhook-capture.bin}")
+    private String captureFile;
+    
+    private FileChannel channel;
+    private long position;
+    
+    @PostConstruct
+    public void open() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        
+        Path path = Paths.get(captureFile).toAbsolutePath();
+        Files.createDirectories(path.getParent());
+        channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        position = channel.size();
+        log.info("웹훅 캡처 시작 - {}", path);
+    }
+    
+    @PreDestroy
+    public void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+        }
+    }
+    
+    public void record(WebhookDelivery delivery) {
+        if (!enabled) {
+            return;
+        }
+        
+        synchronized (this) {
+            try {
+                position += WebhookRecordFormat.write(channel, position, delivery);
+            } catch (IOException e) {
+                // 캡처 실패가 웹훅 처리에 영향을 주면 안 된다
+                log.warn("웹훅 캡처 실패 - Delivery: {}", delivery.getDeliveryId(), e);
+            }
+        }
+    }
+}
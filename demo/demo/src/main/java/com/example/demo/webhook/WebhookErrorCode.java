@@ -0,0 +1,16 @@
+package com.ssafy.ottereview.webhook.exception;
+
+import com.ssafy.ottereview.common.exception.ErrorCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum WebhookErrorCode implements ErrorCode {
+    WEBHOOK_UNSUPPORTED_EVENT("WH001", "지원하지 않는 웹훅 이벤트입니다", 400),
+    WEBHOOK_INVALID_PAYLOAD("WH002", "웹훅 payload 형식이 올바르지 않습니다", 400);
+
+    private final String code;
+    private final String message;
+    private final int httpStatus;
+}
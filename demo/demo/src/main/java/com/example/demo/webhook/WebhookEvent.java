@@ -0,0 +1,123 @@
+package com.ssafy.ottereview.webhook.dto;
+
+import java.util.List;
+
+/**
+ * 디코딩된 GitHub 웹훅 이벤트
+ * <p>
+ * {@link com.ssafy.ottereview.webhook.service.WebhookEventDecoder} 가 payload 를 한 번 읽어 이벤트 서비스가 쓰는 필드를 모두 담는다.
+ * 이벤트는 원본 payload 를 들고 있지 않으므로, 디코딩이 끝나면 body(heap 또는 메모리 매핑 파일)는 바로 닫을 수 있다.
+ */
+public sealed interface WebhookEvent {
+    
+    /**
+     * X-GitHub-Event 값
+     */
+    String name();
+    
+    String action();
+    
+    Long repoId();
+    
+    /**
+     * installation, installation_repositories 이벤트의 저장소 목록 항목
+     */
+    record RepositoryRef(Long id, String fullName, boolean privateRepo) {
+    
+    }
+    
+    record PushEvent(Long repoId, Long installationId, String repoFullName, String ref, String before,
+                     String after, boolean forced, boolean deleted, String pusherName) implements WebhookEvent {
+        
+        @Override
+        public String name() {
+            return "push";
+        }
+        
+        @Override
+        public String action() {
+            return null;
+        }
+    }
+    
+    record PullRequestEvent(String action, Long repoId, Long installationId, String repoFullName,
+                            Long pullRequestId, Integer number, String title, String body, String state,
+                            boolean draft, boolean merged, String authorLogin, String headSha, String headRef,
+                            String baseSha, String baseRef, String htmlUrl) implements WebhookEvent {
+        
+        @Override
+        public String name() {
+            return "pull_request";
+        }
+    }
+    
+    record ReviewEvent(String action, Long repoId, Long installationId, String repoFullName,
+                       Integer pullRequestNumber, Long reviewId, String reviewerLogin, String state, String body,
+                       String commitId) implements WebhookEvent {
+        
+        @Override
+        public String name() {
+            return "pull_request_review";
+        }
+    }
+    
+    record ReviewCommentEvent(String action, Long repoId, Long installationId, String repoFullName,
+                              Integer pullRequestNumber, Long commentId, Long inReplyToId, String authorLogin,
+                              String body, String path, Integer line, String commitId) implements WebhookEvent {
+        
+        @Override
+        public String name() {
+            return "pull_request_review_comment";
+        }
+    }
+    
+    /**
+     * installation, installation_repositories
+     *
+     * @param repositories        installation 이벤트의 저장소 목록
+     * @param repositoriesAdded   installation_repositories 이벤트에서 추가된 저장소
+     * @param repositoriesRemoved installation_repositories 이벤트에서 제외된 저장소
+     */
+    record InstallationEvent(String name, String action, Long installationId, String accountLogin,
+                             List<RepositoryRef> repositories, List<RepositoryRef> repositoriesAdded,
+                             List<RepositoryRef> repositoriesRemoved) implements WebhookEvent {
+        
+        @Override
+        public Long repoId() {
+            return null;
+        }
+    }
+    
+    /**
+     * create, delete (브랜치/태그 생성 및 삭제)
+     */
+    record BranchEvent(String name, Long repoId, Long installationId, String repoFullName, String ref,
+                       String refType) implements WebhookEvent {
+        
+        @Override
+        public String action() {
+            return null;
+        }
+    }
+    
+    record BranchProtectionEvent(String action, Long repoId, Long installationId, String repoFullName,
+                                 String branchName, Integer requiredApprovals) implements WebhookEvent {
+        
+        @Override
+        public String name() {
+            return "branch_protection_rule";
+        }
+    }
+    
+    /**
+     * @param previousName renamed 일 때 이전 저장소 이름
+     */
+    record RepositoryEvent(String action, Long repoId, Long installationId, String fullName, String repoName,
+                           boolean privateRepo, String previousName) implements WebhookEvent {
+        
+        @Override
+        public String name() {
+            return "repository";
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package com.ssafy.ottereview.webhook.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ssafy.ottereview.common.exception.BusinessException;
+import com.ssafy.ottereview.webhook.dto.WebhookEvent;
+import com.ssafy.ottereview.webhook.dto.WebhookEvent.BranchEvent;
+import com.ssafy.ottereview.webhook.dto.WebhookEvent.BranchProtectionEvent;
+import com.ssafy.ottereview.webhook.dto.WebhookEvent.InstallationEvent;
+import com.ssafy.ottereview.webhook.dto.WebhookEvent.PullRequestEvent;
+import com.ssafy.ottereview.webhook.dto.WebhookEvent.PushEvent;
+import com.ssafy.ottereview.webhook.dto.WebhookEvent.RepositoryEvent;
+import com.ssafy.ottereview.webhook.dto.WebhookEvent.RepositoryRef;
+import com.ssafy.ottereview.webhook.dto.WebhookEvent.ReviewCommentEvent;
+import com.ssafy.ottereview.webhook.dto.WebhookEvent.ReviewEvent;
+import com.ssafy.ottereview.webhook.dto.WebhookPayload;
+import com.ssafy.ottereview.webhook.exception.WebhookErrorCode;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Jackson streaming parser 로 웹훅 payload 를 한 번만 읽어 {@link WebhookEvent} 로 변환한다.
+ * <p>
+ * 이벤트 서비스가 쓰는 필드를 모두 이벤트에 담으므로, 서비스는 payload 를 다시 읽지 않는다.
+ * 필요한 필드가 없는 하위 객체/배열(commits, sender 등)은 트리를 만들지 않고 건너뛴다.
+ * payload 는 String 으로 변환하지 않고 byte 스트림 그대로 읽는다.
+ * JSON 이 깨졌거나 중간에 끊긴 payload 는 일부 필드만 담은 이벤트를 만들지 않고 WEBHOOK_INVALID_PAYLOAD 로 거절한다.
+ */
+@Slf4j
+@Component
+public class WebhookEventDecoder {
+    
+    // 추출 대상 필드 경로
+    private static final Set<String> FIELDS = Set.of(
+            "action", "ref", "ref_type", "before", "after", "forced", "deleted", "pusher.name",
+            "repository.id", "repository.name", "repository.full_name", "repository.private",
+            "installation.id", "installation.account.login",
+            "pull_request.id", "pull_request.number", "pull_request.title", "pull_request.body",
+            "pull_request.state", "pull_request.draft", "pull_request.merged", "pull_request.html_url",
+            "pull_request.user.login",
+            "pull_request.head.sha", "pull_request.head.ref", "pull_request.base.sha", "pull_request.base.ref",
+            "review.id", "review.user.login", "review.state", "review.body", "review.commit_id",
+            "comment.id", "comment.in_reply_to_id", "comment.user.login", "comment.body", "comment.path",
+            "comment.line", "comment.commit_id",
+            "rule.name", "rule.required_approving_review_count",
+            "changes.repository.name.from"
+    );
+    
+    // 추출 대상 필드를 포함하는 객체 경로 (이 외의 객체는 건너뜀)
+    private static final Set<String> CONTAINERS = Set.of(
+            "pusher", "repository", "installation", "installation.account",
+            "pull_request", "pull_request.user", "pull_request.head", "pull_request.base",
+            "review", "review.user", "comment", "comment.user", "rule",
+            "changes", "changes.repository", "changes.repository.name"
+    );
+    
+    // 저장소 목록 배열 경로와 각 항목에서 추출할 필드
+    private static final Set<String> REPOSITORY_LISTS = Set.of(
+            "repositories", "repositories_added", "repositories_removed"
+    );
+    private static final Set<String> REPOSITORY_FIELDS = Set.of("id", "full_name", "private");
+    
+    private final JsonFactory jsonFactory;
+    
+    public WebhookEventDecoder(ObjectMapper objectMapper) {
+        this.jsonFactory = objectMapper.getFactory();
+    }
+    
+    public WebhookEvent decode(String event, WebhookPayload payload) {
+        Fields fields = extract(payload);
+        
+        try {
+            return toEvent(event, fields);
+        } catch (NumberFormatException e) {
+            throw new BusinessException(WebhookErrorCode.WEBHOOK_INVALID_PAYLOAD, "웹훅 payload 의 ID 형식이 올바르지 않습니다");
+        }
+    }
+    
+    private WebhookEvent toEvent(String event, Fields fields) {
+        Long repoId = fields.toLong("repository.id");
+        Long installationId = fields.toLong("installation.id");
+        String repoFullName = fields.get("repository.full_name");
+        
+        return switch (event) {
+            case "push" -> new PushEvent(
+                    repoId, installationId, repoFullName, fields.get("ref"), fields.get("before"), fields.get("after"),
+                    fields.toBoolean("forced"), fields.toBoolean("deleted"), fields.get("pusher.name"));
+            case "pull_request" -> new PullRequestEvent(
+                    fields.get("action"), repoId, installationId, repoFullName,
+                    fields.toLong("pull_request.id"), fields.toInteger("pull_request.number"),
+                    fields.get("pull_request.title"), fields.get("pull_request.body"), fields.get("pull_request.state"),
+                    fields.toBoolean("pull_request.draft"), fields.toBoolean("pull_request.merged"),
+                    fields.get("pull_request.user.login"),
+                    fields.get("pull_request.head.sha"), fields.get("pull_request.head.ref"),
+                    fields.get("pull_request.base.sha"), fields.get("pull_request.base.ref"),
+                    fields.get("pull_request.html_url"));
+            case "pull_request_review" -> new ReviewEvent(
+                    fields.get("action"), repoId, installationId, repoFullName,
+                    fields.toInteger("pull_request.number"), fields.toLong("review.id"), fields.get("review.user.login"),
+                    fields.get("review.state"), fields.get("review.body"), fields.get("review.commit_id"));
+            case "pull_request_review_comment" -> new ReviewCommentEvent(
+                    fields.get("action"), repoId, installationId, repoFullName,
+                    fields.toInteger("pull_request.number"), fields.toLong("comment.id"),
+                    fields.toLong("comment.in_reply_to_id"), fields.get("comment.user.login"), fields.get("comment.body"),
+                    fields.get("comment.path"), fields.toInteger("comment.line"), fields.get("comment.commit_id"));
+            case "installation", "installation_repositories" -> new InstallationEvent(
+                    event, fields.get("action"), installationId, fields.get("installation.account.login"),
+                    fields.repositories("repositories"), fields.repositories("repositories_added"),
+                    fields.repositories("repositories_removed"));
+            case "create", "delete" -> new BranchEvent(
+                    event, repoId, installationId, repoFullName, fields.get("ref"), fields.get("ref_type"));
+            case "branch_protection_rule" -> new BranchProtectionEvent(
+                    fields.get("action"), repoId, installationId, repoFullName, fields.get("rule.name"),
+                    fields.toInteger("rule.required_approving_review_count"));
+            case "repository" -> new RepositoryEvent(
+                    fields.get("action"), repoId, installationId, repoFullName, fields.get("repository.name"),
+                    fields.toBoolean("repository.private"), fields.get("changes.repository.name.from"));
+            default -> throw new BusinessException(WebhookErrorCode.WEBHOOK_UNSUPPORTED_EVENT);
+        };
+    }
+    
+    private Fields extract(WebhookPayload payload) {
+        Fields fields = new Fields();
+        
+        try (JsonParser parser = jsonFactory.createParser(payload.inputStream())) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new BusinessException(WebhookErrorCode.WEBHOOK_INVALID_PAYLOAD);
+            }
+            readObject(parser, "", fields, FIELDS, CONTAINERS);
+            if (parser.currentToken() != JsonToken.END_OBJECT) {
+                throw new BusinessException(WebhookErrorCode.WEBHOOK_INVALID_PAYLOAD);
+            }
+        } catch (IOException e) {
+            log.warn("웹훅 payload 파싱 실패: {}", e.getMessage());
+            throw new BusinessException(WebhookErrorCode.WEBHOOK_INVALID_PAYLOAD);
+        }
+        return fields;
+    }
+    
+    private void readObject(JsonParser parser, String prefix, Fields fields, Set<String> wanted,
+            Set<String> containers) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String path = prefix + parser.currentName();
+            JsonToken token = parser.nextToken();
+            
+            if (token == JsonToken.START_OBJECT && containers.contains(path)) {
+                readObject(parser, path + ".", fields, wanted, containers);
+            } else if (token == JsonToken.START_ARRAY && prefix.isEmpty() && REPOSITORY_LISTS.contains(path)) {
+                fields.lists.put(path, readRepositories(parser));
+            } else if (token.isStructStart()) {
+                parser.skipChildren();
+            } else if (wanted.contains(path) && token != JsonToken.VALUE_NULL) {
+                fields.values.put(path, parser.getText());
+            }
+        }
+    }
+    
+    private List<RepositoryRef> readRepositories(JsonParser parser) throws IOException {
+        List<RepositoryRef> repositories = new ArrayList<>();
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (token == null) {
+                throw new BusinessException(WebhookErrorCode.WEBHOOK_INVALID_PAYLOAD);
+            }
+            if (token != JsonToken.START_OBJECT) {
+                parser.skipChildren();
+                continue;
+            }
+            Fields repository = new Fields();
+            readObject(parser, "", repository, REPOSITORY_FIELDS, Set.of());
+            repositories.add(new RepositoryRef(repository.toLong("id"), repository.get("full_name"),
+                    repository.toBoolean("private")));
+        }
+        return repositories;
+    }
+    
+    /**
+     * 추출한 값 (경로 -> 문자열) 과 저장소 목록
+     */
+    private static class Fields {
+        
+        private final Map<String, String> values = new HashMap<>();
+        private final Map<String, List<RepositoryRef>> lists = new HashMap<>();
+        
+        private String get(String path) {
+            return values.get(path);
+        }
+        
+        private Long toLong(String path) {
+            String value = values.get(path);
+            return value == null ? null : Long.valueOf(value);
+        }
+        
+        private Integer toInteger(String path) {
+            String value = values.get(path);
+            return value == null ? null : Integer.valueOf(value);
+        }
+        
+        private boolean toBoolean(String path) {
+            return Boolean.parseBoolean(values.get(path));
+        }
+        
+        private List<RepositoryRef> repositories(String path) {
+            return lists.getOrDefault(path, List.of());
+        }
+    }
+}
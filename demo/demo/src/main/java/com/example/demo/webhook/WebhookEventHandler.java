@@ -0,0 +1,12 @@
+package com.ssafy.ottereview.webhook.service;
+
+import com.ssafy.ottereview.webhook.dto.WebhookEvent;
+
+/**
+ * {@link WebhookEventRouter} 에 등록되는 웹훅 이벤트 처리기
+ */
+@FunctionalInterface
+public interface WebhookEventHandler {
+    
+    void handle(WebhookEvent event);
+}
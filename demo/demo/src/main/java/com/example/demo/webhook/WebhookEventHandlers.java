@@ -0,0 +1,129 @@
+package com.ssafy.ottereview.webhook.service;
+
+import com.ssafy.ottereview.ai.cache.AiResultCache;
+import com.ssafy.ottereview.ai.client.AiAnalysisWarmer;
+import com.ssafy.ottereview.webhook.dto.WebhookEvent.BranchEvent;
+import com.ssafy.ottereview.webhook.dto.WebhookEvent.BranchProtectionEvent;
+import com.ssafy.ottereview.webhook.dto.WebhookEvent.InstallationEvent;
+import com.ssafy.ottereview.webhook.dto.WebhookEvent.PullRequestEvent;
+import com.ssafy.ottereview.webhook.dto.WebhookEvent.PushEvent;
+import com.ssafy.ottereview.webhook.dto.WebhookEvent.RepositoryEvent;
+import com.ssafy.ottereview.webhook.dto.WebhookEvent.ReviewCommentEvent;
+import com.ssafy.ottereview.webhook.dto.WebhookEvent.ReviewEvent;
+import jakarta.annotation.PostConstruct;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * 이벤트 타입별 서비스를 {@link WebhookEventRouter} 에 등록한다.
+ * <p>
+ * executor 구분
+ * - heavy: 전체 브랜치 동기화 등 오래 걸리는 설치/저장소 이벤트
+ * - light: 리뷰, 리뷰 코멘트
+ * - ordered: push, pull_request, 브랜치 생성/삭제, 브랜치 보호 규칙 (저장소별 수신 순서 보장)
+ * <p>
+ * 이벤트 서비스는 디코더가 필요한 필드를 모두 담은 이벤트를 받으며, payload 를 다시 읽지 않는다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.webhook.mock.enabled", havingValue = "false", matchIfMissing = true)
+public class WebhookEventHandlers {
+    
+    private static final Set<String> CHANGED_PULL_REQUEST_ACTIONS = Set.of("synchronize", "edited", "closed", "reopened");
+    private static final String BRANCH_REF_PREFIX = "refs/heads/";
+    private static final Set<String> WARMUP_PULL_REQUEST_ACTIONS = Set.of("opened", "reopened", "synchronize");
+    
+    private final WebhookEventRouter webhookEventRouter;
+    private final PullRequestSyncCoalescer pullRequestSyncCoalescer;
+    private final AiResultCache aiResultCache;
+    private final AiAnalysisWarmer aiAnalysisWarmer;
+    private final PushEventService pushEventService;
+    private final InstallationEventService installationEventService;
+    private final PullRequestEventService pullRequestEventService;
+    private final ReviewEventService reviewEventService;
+    private final ReviewCommentEventService reviewCommentEventService;
+    private final BranchProtectionEventService branchProtectionEventService;
+    private final RepoEventService repoEventService;
+    
+    @PostConstruct
+    public void registerHandlers() {
+        webhookEventRouter.registerOrdered("push", null, event -> {
+            PushEvent push = (PushEvent) event;
+            pushEventService.processPushEvent(push);
+            // 브랜치 head 가 바뀌면 그 브랜치를 source/target 으로 하는 AI 분석 캐시 키도 바뀐다
+            if (push.ref() != null && push.ref().startsWith(BRANCH_REF_PREFIX)) {
+                aiResultCache.recordBranchHead(push.repoId(), push.ref().substring(BRANCH_REF_PREFIX.length()), push.after());
+            }
+        });
+        
+        WebhookEventHandler pullRequestHandler = event -> {
+            log.info("Handling pull request event");
+            PullRequestEvent pullRequest = (PullRequestEvent) event;
+            pullRequestEventService.processPullRequestEvent(pullRequest);
+            aiResultCache.recordBranchHead(pullRequest.repoId(), pullRequest.headRef(), pullRequest.headSha());
+            boolean headChanged = aiResultCache.recordPullRequestHead(pullRequest.repoId(), pullRequest.headRef(),
+                    pullRequest.baseRef(), pullRequest.headSha());
+            // synchronize, reopened 는 head 가 바뀐 경우만 무효화한다. 같은 커밋이면 진행 중인 사전 분석과 캐시를 그대로 쓴다
+            if (CHANGED_PULL_REQUEST_ACTIONS.contains(event.action())
+                    && (headChanged || !WARMUP_PULL_REQUEST_ACTIONS.contains(event.action()))) {
+                // 이전 head 의 사전 분석이 무효화 뒤에 캐시를 채우지 않도록 먼저 취소한다
+                aiAnalysisWarmer.cancel(pullRequest);
+                // 이 PR 의 이전 head 분석만 모든 노드에서 비운다 (같은 저장소의 다른 PR 캐시는 유지)
+                aiResultCache.invalidateBranches(pullRequest.repoId(), pullRequest.headRef(), pullRequest.baseRef());
+            }
+            if (WARMUP_PULL_REQUEST_ACTIONS.contains(event.action())) {
+                // 첫 사용자가 분석을 기다리지 않도록 미리 분석해 둔다
+                aiAnalysisWarmer.submit(pullRequest);
+            }
+        };
+        // force-push 등으로 몰리는 synchronize 는 PR 단위로 합쳐 최신 것만 처리한다
+        webhookEventRouter.registerOrderedDeferred("pull_request", "synchronize",
+                event -> pullRequestSyncCoalescer.hold((PullRequestEvent) event, pullRequestHandler));
+        webhookEventRouter.registerOrdered("pull_request", null,
+                event -> pullRequestSyncCoalescer.forward((PullRequestEvent) event, pullRequestHandler));
+        
+        webhookEventRouter.register("pull_request_review", null, "light", event -> {
+            log.info("Handling pull request review event");
+            reviewEventService.processReviewEvent((ReviewEvent) event);
+        });
+        
+        webhookEventRouter.register("pull_request_review_comment", null, "light", event -> {
+            log.info("Handling pull request review event");
+            reviewCommentEventService.processReviewCommentEvent((ReviewCommentEvent) event);
+        });
+        
+        webhookEventRouter.register("installation", null, "heavy", event -> {
+            log.info("Handling installation event");
+            installationEventService.processInstallationEvent((InstallationEvent) event);
+        });
+        
+        webhookEventRouter.register("installation_repositories", null, "heavy", event -> {
+            log.info("Handling installation repositories event");
+            installationEventService.processInstallationRepositoriesEvent((InstallationEvent) event);
+        });
+        
+        webhookEventRouter.registerOrdered("create", null, event -> {
+            log.info("Handling installation create Branch event");
+            installationEventService.processAddBranchesEvent((BranchEvent) event);
+        });
+        
+        webhookEventRouter.registerOrdered("delete", null, event -> {
+            log.info("Handling installation delete Branch event");
+            installationEventService.processDeleteBranchesEvent((BranchEvent) event);
+        });
+        
+        webhookEventRouter.registerOrdered("branch_protection_rule", null, event -> {
+            log.info("Handling branch protection rule event");
+            branchProtectionEventService.processBranchProtection((BranchProtectionEvent) event);
+        });
+        
+        webhookEventRouter.register("repository", null, "heavy", event -> {
+            log.info("Handling repository event");
+            repoEventService.processRepo((RepositoryEvent) event);
+        });
+    }
+}
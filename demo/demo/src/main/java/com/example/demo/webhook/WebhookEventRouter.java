@@ -0,0 +1,197 @@
+package com.ssafy.ottereview.webhook.service;
+
+import com.ssafy.ottereview.common.exception.BusinessException;
+import com.ssafy.ottereview.webhook.dto.WebhookEvent;
+import com.ssafy.ottereview.webhook.exception.WebhookErrorCode;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+/**
+ * 이벤트 이름(+ action) 으로 핸들러를 찾아 핸들러별 executor 에서 실행한다.
+ * <p>
+ * executor 는 이름별로 분리되어 있어 무거운 이벤트(installation 등)가 가벼운 이벤트를 막지 않는다.
+ * 이름별 설정: {@code app.webhook.executors.<name>.threads}, {@code app.webhook.executors.<name>.queue-capacity}
+ * <p>
+ * 같은 저장소 안에서 순서가 중요한 이벤트(push, 브랜치 생성/삭제, 브랜치 보호 규칙)는 {@link #registerOrdered} 로 등록하며,
+ * 저장소 ID 로 샤딩된 {@link PartitionedExecutor} lane 에서 수신 순서대로 실행된다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class WebhookEventRouter {
+    
+    private static final int DEFAULT_THREADS = 2;
+    private static final int DEFAULT_QUEUE_CAPACITY = 100;
+    
+    private final Environment environment;
+    private final MeterRegistry meterRegistry;
+    
+    private final Map<String, Registration> registrations = new ConcurrentHashMap<>();
+    private final Map<String, ExecutorService> executors = new ConcurrentHashMap<>();
+    
+    private PartitionedExecutor orderedExecutor;
+    
+    @PostConstruct
+    public void init() {
+        int lanes = environment.getProperty("app.webhook.ordered.lanes", Integer.class,
+                Runtime.getRuntime().availableProcessors());
+        int queueCapacity = environment.getProperty("app.webhook.ordered.queue-capacity", Integer.class,
+                DEFAULT_QUEUE_CAPACITY);
+        orderedExecutor = new PartitionedExecutor("webhook-ordered", lanes, queueCapacity);
+        
+        Gauge.builder("webhook.ordered.queue.depth", orderedExecutor, PartitionedExecutor::queuedTasks)
+                .description("저장소별 순차 처리 lane 에 대기 중인 웹훅 수")
+                .register(meterRegistry);
+    }
+    
+    /**
+     * 핸들러를 등록한다.
+     *
+     * @param event    X-GitHub-Event 값
+     * @param action   payload 의 action 값, null 이면 해당 이벤트의 모든 action
+     * @param executor 실행할 executor 이름
+     */
+    public void register(String event, String action, String executor, WebhookEventHandler handler) {
+        ExecutorService executorService = executorFor(executor);
+        register(event, action, executor, webhookEvent -> executorService, completed(handler));
+    }
+    
+    /**
+     * 같은 저장소의 이벤트끼리 수신 순서대로 실행되도록 핸들러를 등록한다.
+     */
+    public void registerOrdered(String event, String action, WebhookEventHandler handler) {
+        registerOrderedDeferred(event, action, completed(handler));
+    }
+    
+    /**
+     * 처리를 뒤로 미룰 수 있는 순차 처리 핸들러를 등록한다 (synchronize 병합 등).
+     *
+     * @param handler 미룬 처리까지 끝나면 완료되는 future 를 반환한다
+     */
+    public void registerOrderedDeferred(String event, String action,
+            Function<WebhookEvent, CompletableFuture<Void>> handler) {
+        register(event, action, "ordered", webhookEvent -> orderedExecutor.lane(webhookEvent.repoId()), handler);
+    }
+    
+    private void register(String event, String action, String executorName,
+            Function<WebhookEvent, Executor> executorSelector, Function<WebhookEvent, CompletableFuture<Void>> handler) {
+        String key = key(event, action);
+        Timer latency = Timer.builder("webhook.handler.latency")
+                .tag("handler", key)
+                .tag("executor", executorName)
+                .description("웹훅 핸들러 처리 시간")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        
+        registrations.put(key, new Registration(key, executorSelector, handler, latency));
+        log.debug("웹훅 핸들러 등록 - {} ({})", key, executorName);
+    }
+    
+    /**
+     * 이벤트를 등록된 핸들러의 executor 에 제출한다. 반환된 future 는 핸들러 실행이 끝나면 완료된다.
+     * executor 의 대기열이 가득 차면 RejectedExecutionException 이 발생한다.
+     */
+    public CompletableFuture<Void> route(WebhookEvent event) {
+        return dispatch(event).thenApply(deferred -> null);
+    }
+    
+    /**
+     * {@link #route} 와 같지만, 바깥 future 는 핸들러 실행이 끝나면, 안쪽 future 는 핸들러가 뒤로 미룬 처리까지 끝나면 완료된다.
+     * 저널 checkpoint 처럼 실제 처리 완료를 기다려야 할 때 사용한다.
+     */
+    public CompletableFuture<CompletableFuture<Void>> dispatch(WebhookEvent event) {
+        Registration registration = find(event);
+        return CompletableFuture.supplyAsync(() -> registration.handle(event), registration.executorSelector.apply(event));
+    }
+    
+    /**
+     * 이벤트가 실행될 executor. 같은 executor 로 가는 이벤트끼리 순서를 맞출 때 사용한다.
+     */
+    public Executor executorOf(WebhookEvent event) {
+        return find(event).executorSelector.apply(event);
+    }
+    
+    /**
+     * 저장소에 배정된 순차 처리 lane. 지연 처리된 이벤트를 같은 순서 보장 아래에서 실행할 때 사용한다.
+     */
+    public Executor orderedLane(Long repoId) {
+        return orderedExecutor.lane(repoId);
+    }
+    
+    private Registration find(WebhookEvent event) {
+        Registration registration = null;
+        if (event.action() != null) {
+            registration = registrations.get(key(event.name(), event.action()));
+        }
+        if (registration == null) {
+            registration = registrations.get(key(event.name(), null));
+        }
+        if (registration == null) {
+            throw new BusinessException(WebhookErrorCode.WEBHOOK_UNSUPPORTED_EVENT);
+        }
+        return registration;
+    }
+    
+    private ExecutorService executorFor(String name) {
+        return executors.computeIfAbsent(name, this::createExecutor);
+    }
+    
+    private ExecutorService createExecutor(String name) {
+        String prefix = "app.webhook.executors." + name;
+        int threads = environment.getProperty(prefix + ".threads", Integer.class, DEFAULT_THREADS);
+        int queueCapacity = environment.getProperty(prefix + ".queue-capacity", Integer.class, DEFAULT_QUEUE_CAPACITY);
+        
+        AtomicInteger sequence = new AtomicInteger();
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "webhook-" + name + "-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        executors.values().forEach(ExecutorService::shutdown);
+        orderedExecutor.shutdown();
+    }
+    
+    private static Function<WebhookEvent, CompletableFuture<Void>> completed(WebhookEventHandler handler) {
+        return event -> {
+            handler.handle(event);
+            return CompletableFuture.completedFuture(null);
+        };
+    }
+    
+    private static String key(String event, String action) {
+        return action == null ? event : event + ":" + action;
+    }
+    
+    private record Registration(String key, Function<WebhookEvent, Executor> executorSelector,
+                                Function<WebhookEvent, CompletableFuture<Void>> handler, Timer latency) {
+        
+        // latency 는 핸들러 실행 시간만 기록한다 (미룬 처리 대기 시간 제외)
+        private CompletableFuture<Void> handle(WebhookEvent event) {
+            return latency.record(() -> handler.apply(event));
+        }
+    }
+}
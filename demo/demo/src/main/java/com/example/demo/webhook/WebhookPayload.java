@@ -0,0 +1,108 @@
+package com.ssafy.ottereview.webhook.dto;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 웹훅 요청 body
+ * <p>
+ * 작은 body 는 heap 의 byte 배열로, 임계값을 넘는 body 는 임시 파일을 메모리 매핑한 버퍼로 들고 있는다.
+ * 매핑된 경우 {@link #close()} 시 임시 파일을 삭제한다.
+ */
+@Slf4j
+public final class WebhookPayload implements AutoCloseable {
+    
+    /**
+     * 필터에서 읽은 body 를 컨트롤러로 넘길 때 쓰는 request attribute 이름
+     */
+    public static final String ATTRIBUTE = WebhookPayload.class.getName();
+    
+    private final ByteBuffer buffer;
+    private final Path file;
+    
+    private WebhookPayload(ByteBuffer buffer, Path file) {
+        this.buffer = buffer;
+        this.file = file;
+    }
+    
+    public static WebhookPayload of(byte[] bytes) {
+        return new WebhookPayload(ByteBuffer.wrap(bytes), null);
+    }
+    
+    public static WebhookPayload of(String payload) {
+        return of(payload.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    /**
+     * 매핑된 버퍼로 payload 를 만든다.
+     *
+     * @param file close 시 삭제할 임시 파일, 삭제할 파일이 없으면 null
+     */
+    public static WebhookPayload mapped(ByteBuffer buffer, Path file) {
+        return new WebhookPayload(buffer, file);
+    }
+    
+    public int size() {
+        return buffer.limit();
+    }
+    
+    public boolean isMapped() {
+        return buffer.isDirect();
+    }
+    
+    /**
+     * 위치가 독립적인 읽기 전용 버퍼를 반환한다.
+     */
+    public ByteBuffer buffer() {
+        return buffer.asReadOnlyBuffer();
+    }
+    
+    public InputStream inputStream() {
+        ByteBuffer source = buffer();
+        return new InputStream() {
+            @Override
+            public int read() {
+                return source.hasRemaining() ? source.get() & 0xFF : -1;
+            }
+            
+            @Override
+            public int read(byte[] b, int off, int len) {
+                if (!source.hasRemaining()) {
+                    return -1;
+                }
+                int count = Math.min(len, source.remaining());
+                source.get(b, off, count);
+                return count;
+            }
+            
+            @Override
+            public int available() {
+                return source.remaining();
+            }
+        };
+    }
+    
+    /**
+     * body 전체를 문자열로 변환한다. 전체 body 가 문자열로 필요할 때만 사용한다 (로그, 디버깅 등).
+     */
+    public String asString() {
+        return StandardCharsets.UTF_8.decode(buffer()).toString();
+    }
+    
+    @Override
+    public void close() {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("웹훅 임시 파일 삭제 실패 - {}", file, e);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.ssafy.ottereview.webhook.service;
+
+import com.ssafy.ottereview.webhook.dto.WebhookPayload;
+import jakarta.servlet.http.HttpServletRequest;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 웹훅 요청 body 를 {@link WebhookPayload} 로 읽는다.
+ * <p>
+ * spill 모드에서는 임계값을 넘는 body 를 고정 크기 버퍼로 임시 파일에 흘려 쓰고 메모리 매핑하므로,
+ * 요청 하나가 사용하는 heap 은 payload 크기와 상관없이 임계값 수준으로 제한된다.
+ */
+@Slf4j
+@Component
+public class WebhookPayloadReader {
+    
+    private static final int CHUNK_SIZE = 64 * 1024;
+    
+    private final boolean spillEnabled;
+    private final int thresholdBytes;
+    private final Path spillDir;
+    
+    public WebhookPayloadReader(
+            @Value("${app.webhook.spill.enabled:false}") boolean spillEnabled,
+            @Value("${app.webhook.spill.threshold-bytes:1048576}") int thresholdBytes,
+            @Value("${app.webhook.spill.dir:${java.io.tmpdir}}") String spillDir) {
+        this.spillEnabled = spillEnabled;
+        this.thresholdBytes = thresholdBytes;
+        this.spillDir = Paths.get(spillDir);
+    }
+    
+    /**
+     * 필터에서 이미 읽은 body 가 있으면 그것을, 없으면 요청에서 새로 읽는다.
+     */
+    public WebhookPayload resolve(HttpServletRequest request) throws IOException {
+        Object attribute = request.getAttribute(WebhookPayload.ATTRIBUTE);
+        if (attribute instanceof WebhookPayload payload) {
+            return payload;
+        }
+        
+        WebhookPayload payload = read(request);
+        request.setAttribute(WebhookPayload.ATTRIBUTE, payload);
+        return payload;
+    }
+    
+    /**
+     * body 를 가져가 request attribute 에서 뗀다. 이후 {@link WebhookPayload#close()} 는 호출한 쪽이 책임진다.
+     * 처리가 요청보다 오래 걸릴 수 있는 컨트롤러에서 사용한다.
+     */
+    public WebhookPayload take(HttpServletRequest request) throws IOException {
+        WebhookPayload payload = resolve(request);
+        request.removeAttribute(WebhookPayload.ATTRIBUTE);
+        return payload;
+    }
+    
+    private WebhookPayload read(HttpServletRequest request) throws IOException {
+        InputStream inputStream = request.getInputStream();
+        if (!spillEnabled) {
+            return WebhookPayload.of(inputStream.readAllBytes());
+        }
+        
+        long contentLength = request.getContentLengthLong();
+        if (contentLength > thresholdBytes) {
+            return spill(inputStream, new byte[0], 0);
+        }
+        
+        // Content-Length 가 없거나 작게 온 경우: 임계값까지만 heap 에 읽고 넘으면 파일로 전환
+        ByteArrayOutputStream head = new ByteArrayOutputStream(
+                contentLength > 0 ? (int) contentLength : CHUNK_SIZE);
+        byte[] chunk = new byte[CHUNK_SIZE];
+        int read;
+        while ((read = inputStream.read(chunk)) != -1) {
+            head.write(chunk, 0, read);
+            if (head.size() > thresholdBytes) {
+                return spill(inputStream, head.toByteArray(), head.size());
+            }
+        }
+        return WebhookPayload.of(head.toByteArray());
+    }
+    
+    private WebhookPayload spill(InputStream inputStream, byte[] head, int headLength) throws IOException {
+        Files.createDirectories(spillDir);
+        Path file = Files.createTempFile(spillDir, "webhook-", ".json");
+        
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(head, 0, headLength));
+            
+            byte[] chunk = new byte[CHUNK_SIZE];
+            int read;
+            while ((read = inputStream.read(chunk)) != -1) {
+                ByteBuffer buffer = ByteBuffer.wrap(chunk, 0, read);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            }
+            
+            // 매핑은 채널을 닫아도 유지된다
+            ByteBuffer mapped = channel.map(MapMode.READ_ONLY, 0, channel.size());
+            log.debug("웹훅 body 임시 파일로 저장 - {} bytes, {}", channel.size(), file);
+            return WebhookPayload.mapped(mapped, file);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,356 @@
+package com.ssafy.ottereview.webhook.queue;
+
+import com.ssafy.ottereview.webhook.dto.WebhookDelivery;
+import com.ssafy.ottereview.webhook.dto.WebhookEvent;
+import com.ssafy.ottereview.webhook.service.WebhookEventDecoder;
+import com.ssafy.ottereview.webhook.service.WebhookEventRouter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 웹훅 수신 큐 (append-only 저널 파일 + 워커 풀)
+ * <p>
+ * 컨트롤러는 payload를 저널에 append 한 뒤 바로 응답하고, drain 스레드가 저널 순서대로 레코드를 읽어
+ * {@link WebhookEventRouter} 로 전달한다. 동시에 처리 중인 레코드 수는 max-in-flight 로 제한된다.
+ * 핸들러 executor(저장소 lane, heavy 등)가 가득 차면 그 executor 의 레코드만 보류하고 다른 저장소의 레코드는 계속 제출한다.
+ * 처리 완료된 위치는 checkpoint 파일에 기록되며, 재시작 시 checkpoint 이후의 레코드를 다시 처리한다 (at-least-once).
+ * <p>
+ * 레코드 포맷은 {@link WebhookRecordFormat} 참고
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class WebhookQueue {
+
+    private static final String JOURNAL_FILE = "webhook.journal";
+    private static final String CHECKPOINT_FILE = "webhook.checkpoint";
+    private static final long RETRY_DELAY_MILLIS = 100L;
+    private static final int MAP_THRESHOLD_BYTES = 1024 * 1024;
+
+    private final WebhookEventDecoder webhookEventDecoder;
+    private final WebhookEventRouter webhookEventRouter;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.webhook.queue.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.webhook.queue.dir:./data/webhook-queue}")
+    private String queueDir;
+
+    @Value("${app.webhook.queue.max-in-flight:16}")
+    private int maxInFlight;
+
+    // true면 append 마다 fsync (지연 증가, 대신 OS 크래시에도 유실 없음)
+    @Value("${app.webhook.queue.fsync:false}")
+    private boolean fsync;
+
+    // 대기 중인 작업이 없을 때 저널이 이 크기를 넘으면 비운다
+    @Value("${app.webhook.queue.compact-bytes:67108864}")
+    private long compactBytes;
+
+    private final Object appendLock = new Object();
+
+    // 저널 offset -> 수신 시각. 아직 처리되지 않은 레코드만 담긴다.
+    private final ConcurrentSkipListMap<Long, Long> pending = new ConcurrentSkipListMap<>();
+    private final BlockingQueue<Long> ready = new LinkedBlockingQueue<>();
+    // 핸들러 executor 가 가득 차 보류된 레코드 (executor 별 저널 순서). drain 스레드에서만 사용한다.
+    private final Map<Executor, ArrayDeque<Long>> parked = new LinkedHashMap<>();
+    private final AtomicInteger parkedCount = new AtomicInteger();
+
+    private FileChannel journal;
+    private FileChannel checkpoint;
+    private long writePosition;
+    private Semaphore inFlight;
+    private Thread drainThread;
+    private volatile boolean running;
+
+    @PostConstruct
+    public void start() throws IOException {
+        if (!enabled) {
+            return;
+        }
+
+        Path dir = Paths.get(queueDir);
+        Files.createDirectories(dir);
+        journal = FileChannel.open(dir.resolve(JOURNAL_FILE),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        checkpoint = FileChannel.open(dir.resolve(CHECKPOINT_FILE),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        replay();
+
+        Gauge.builder("webhook.queue.depth", pending, Map::size)
+                .description("처리 대기 중인 웹훅 수")
+                .register(meterRegistry);
+        Gauge.builder("webhook.queue.lag", this, WebhookQueue::lagSeconds)
+                .description("가장 오래된 미처리 웹훅의 대기 시간")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("webhook.queue.parked", parkedCount, AtomicInteger::get)
+                .description("핸들러 executor 가 가득 차 보류된 웹훅 수")
+                .register(meterRegistry);
+
+        running = true;
+        inFlight = new Semaphore(maxInFlight);
+        drainThread = new Thread(this::drain, "webhook-queue-drain");
+        drainThread.setDaemon(true);
+        drainThread.start();
+        log.info("웹훅 큐 시작 - 경로: {}, 동시 처리: {}, 재처리 대상: {}건", dir.toAbsolutePath(), maxInFlight, pending.size());
+    }
+
+    @PreDestroy
+    public void stop() throws IOException, InterruptedException {
+        if (!running) {
+            return;
+        }
+        running = false;
+        drainThread.interrupt();
+        drainThread.join(TimeUnit.SECONDS.toMillis(10));
+        journal.close();
+        checkpoint.close();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 웹훅을 저널에 기록하고 처리 대기열에 넣는다. 이벤트 서비스는 라우터의 executor 에서 실행된다.
+     */
+    public void append(WebhookDelivery delivery) {
+        long offset;
+        synchronized (appendLock) {
+            offset = writePosition;
+            try {
+                writePosition += WebhookRecordFormat.write(journal, writePosition, delivery);
+                if (fsync) {
+                    journal.force(false);
+                }
+            } catch (IOException e) {
+                writePosition = offset;
+                throw new IllegalStateException("웹훅 저널 기록 실패", e);
+            }
+            pending.put(offset, delivery.getReceivedAt());
+            // 저널 순서와 처리 순서를 맞추기 위해 lock 안에서 넣는다
+            ready.add(offset);
+        }
+    }
+
+    private void drain() {
+        while (running) {
+            long offset;
+            try {
+                Long next = parked.isEmpty() ? ready.take() : ready.poll(RETRY_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+                retryParked();
+                if (next == null) {
+                    continue;
+                }
+                offset = next;
+                // 보류된 레코드는 permit 을 들고 있지 않으므로, 기다리는 동안에도 다시 제출해 본다
+                while (!inFlight.tryAcquire(RETRY_DELAY_MILLIS, TimeUnit.MILLISECONDS)) {
+                    retryParked();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+
+            WebhookEvent event = decode(offset);
+            if (event == null) {
+                finish(offset);
+                continue;
+            }
+
+            Executor executor = webhookEventRouter.executorOf(event);
+            // 같은 executor 에 보류 중인 레코드가 있으면 순서를 지키기 위해 뒤에 붙인다
+            if (parked.containsKey(executor) || !submit(offset, event)) {
+                park(executor, offset);
+                inFlight.release();
+            }
+        }
+    }
+
+    /**
+     * 레코드를 읽어 이벤트로 변환한다. 읽을 수 없는 레코드를 계속 재시도하면 큐 전체가 막히므로 로그만 남긴다.
+     *
+     * @return 처리할 수 없는 레코드면 null
+     */
+    private WebhookEvent decode(long offset) {
+        try {
+            WebhookDelivery delivery = WebhookRecordFormat.read(journal, offset, MAP_THRESHOLD_BYTES);
+            log.debug("[웹훅 큐 처리] 이벤트: {}, Delivery: {}", delivery.getEvent(), delivery.getDeliveryId());
+            WebhookEvent event = webhookEventDecoder.decode(delivery.getEvent(), delivery.getPayload());
+            // 등록되지 않은 이벤트도 여기서 걸러낸다
+            webhookEventRouter.executorOf(event);
+            return event;
+        } catch (Exception e) {
+            log.error("웹훅 큐 처리 실패 - offset: {}", offset, e);
+            return null;
+        }
+    }
+
+    /**
+     * 라우터에 제출한다.
+     *
+     * @return 핸들러 executor 가 가득 차 제출하지 못했으면 false
+     */
+    private boolean submit(long offset, WebhookEvent event) {
+        try {
+            // 동시 처리 슬롯은 핸들러 실행이 끝나면 반납하고, checkpoint 는 핸들러가 미룬 처리
+            // (병합으로 보류된 synchronize 등)까지 끝난 뒤에 옮긴다
+            webhookEventRouter.dispatch(event)
+                    .whenComplete((deferred, error) -> {
+                        inFlight.release();
+                        if (error != null) {
+                            log.error("웹훅 큐 처리 실패 - offset: {}", offset, error);
+                            complete(offset);
+                            return;
+                        }
+                        deferred.whenComplete((result, deferredError) -> {
+                            if (deferredError != null) {
+                                log.error("웹훅 큐 처리 실패 - offset: {}", offset, deferredError);
+                            }
+                            complete(offset);
+                        });
+                    });
+            return true;
+        } catch (RejectedExecutionException e) {
+            return false;
+        } catch (Exception e) {
+            log.error("웹훅 큐 처리 실패 - offset: {}", offset, e);
+            finish(offset);
+            return true;
+        }
+    }
+
+    /**
+     * 가득 찬 executor 의 레코드를 보류한다. 보류된 레코드는 offset 만 들고 있다가 다시 제출할 때 저널에서 읽는다.
+     */
+    private void park(Executor executor, long offset) {
+        parked.computeIfAbsent(executor, ignored -> new ArrayDeque<>()).addLast(offset);
+        parkedCount.incrementAndGet();
+    }
+
+    /**
+     * 보류된 레코드를 executor 별로 순서대로 다시 제출한다. 제출이 거절되면 그 executor 는 다음 차례로 미룬다.
+     */
+    private void retryParked() {
+        Iterator<Map.Entry<Executor, ArrayDeque<Long>>> iterator = parked.entrySet().iterator();
+        while (iterator.hasNext()) {
+            ArrayDeque<Long> offsets = iterator.next().getValue();
+            while (!offsets.isEmpty() && inFlight.tryAcquire()) {
+                long offset = offsets.peekFirst();
+                WebhookEvent event = decode(offset);
+                if (event == null) {
+                    finish(offset);
+                } else if (!submit(offset, event)) {
+                    inFlight.release();
+                    break;
+                }
+                offsets.pollFirst();
+                parkedCount.decrementAndGet();
+            }
+            if (offsets.isEmpty()) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private void finish(long offset) {
+        complete(offset);
+        inFlight.release();
+    }
+
+    private void complete(long offset) {
+        synchronized (appendLock) {
+            pending.remove(offset);
+            Map.Entry<Long, Long> oldest = pending.firstEntry();
+            long committed = oldest == null ? writePosition : oldest.getKey();
+
+            try {
+                if (oldest == null && writePosition >= compactBytes) {
+                    // 처리할 레코드가 없으므로 저널을 처음부터 다시 쓴다
+                    journal.truncate(0);
+                    writePosition = 0;
+                    committed = 0;
+                }
+                writeCheckpoint(committed);
+            } catch (IOException e) {
+                log.warn("웹훅 큐 checkpoint 기록 실패 - 재시작 시 중복 처리될 수 있음", e);
+            }
+        }
+    }
+
+    /**
+     * checkpoint 이후의 레코드를 다시 대기열에 넣는다. 기록 도중 끊긴 마지막 레코드는 잘라낸다.
+     */
+    private void replay() throws IOException {
+        long position = readCheckpoint();
+        long size = journal.size();
+
+        long recordSize;
+        while ((recordSize = WebhookRecordFormat.recordSize(journal, position, size)) > 0) {
+            pending.put(position, WebhookRecordFormat.receivedAt(journal, position));
+            ready.add(position);
+            position += recordSize;
+        }
+
+        if (position < size) {
+            log.warn("웹훅 저널 끝의 불완전한 레코드 제거 - {} bytes", size - position);
+            journal.truncate(position);
+        }
+        writePosition = position;
+    }
+
+    private long readCheckpoint() throws IOException {
+        if (checkpoint.size() < Long.BYTES) {
+            return 0L;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES);
+        checkpoint.read(buffer, 0);
+        buffer.flip();
+        return buffer.getLong();
+    }
+
+    private void writeCheckpoint(long offset) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES).putLong(offset);
+        buffer.flip();
+        checkpoint.write(buffer, 0);
+        if (fsync) {
+            checkpoint.force(false);
+        }
+    }
+
+    private double lagSeconds() {
+        Map.Entry<Long, Long> oldest = pending.firstEntry();
+        if (oldest == null) {
+            return 0;
+        }
+        return (System.currentTimeMillis() - oldest.getValue()) / 1000.0;
+    }
+}
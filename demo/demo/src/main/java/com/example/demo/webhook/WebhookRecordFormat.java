@@ -0,0 +1,130 @@
+package com.ssafy.ottereview.webhook.queue;
+
+import com.ssafy.ottereview.webhook.dto.WebhookDelivery;
+import com.ssafy.ottereview.webhook.dto.WebhookPayload;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 웹훅 저널/캡처 파일의 레코드 포맷
+ * <p>
+ * [int 레코드 길이][long 수신 시각][short 이벤트 길이][이벤트][short delivery 길이][delivery][int payload 길이][payload]
+ * <p>
+ * 레코드 길이는 자신(int)을 제외한 나머지 바이트 수이며, 파일은 레코드를 이어 붙인 형태다.
+ */
+public final class WebhookRecordFormat {
+    
+    /**
+     * 레코드 앞의 [int 레코드 길이][long 수신 시각] 크기
+     */
+    public static final int PREFIX_BYTES = Integer.BYTES + Long.BYTES;
+    
+    private WebhookRecordFormat() {
+    }
+    
+    /**
+     * position 위치에 레코드를 기록한다. payload 는 heap 으로 복사하지 않고 버퍼 그대로 기록한다.
+     *
+     * @return 기록한 바이트 수
+     */
+    public static long write(FileChannel channel, long position, WebhookDelivery delivery) throws IOException {
+        long written = 0;
+        written += writeFully(channel, position, encodeHeader(delivery));
+        written += writeFully(channel, position + written, delivery.getPayload().buffer());
+        return written;
+    }
+    
+    /**
+     * offset 위치의 레코드를 읽는다. payload 가 mapThresholdBytes 보다 크면 파일 영역을 매핑해 heap 에 올리지 않는다.
+     */
+    public static WebhookDelivery read(FileChannel channel, long offset, int mapThresholdBytes) throws IOException {
+        long position = offset + Integer.BYTES;
+        long receivedAt = readFully(channel, position, Long.BYTES).getLong();
+        position += Long.BYTES;
+        
+        short eventLength = readFully(channel, position, Short.BYTES).getShort();
+        position += Short.BYTES;
+        String event = StandardCharsets.UTF_8.decode(readFully(channel, position, eventLength)).toString();
+        position += eventLength;
+        
+        short deliveryLength = readFully(channel, position, Short.BYTES).getShort();
+        position += Short.BYTES;
+        String deliveryId = StandardCharsets.UTF_8.decode(readFully(channel, position, deliveryLength)).toString();
+        position += deliveryLength;
+        
+        int payloadLength = readFully(channel, position, Integer.BYTES).getInt();
+        position += Integer.BYTES;
+        
+        WebhookPayload payload = payloadLength > mapThresholdBytes
+                ? WebhookPayload.mapped(channel.map(MapMode.READ_ONLY, position, payloadLength), null)
+                : WebhookPayload.of(readFully(channel, position, payloadLength).array());
+        
+        return WebhookDelivery.builder()
+                .event(event)
+                .deliveryId(deliveryId)
+                .payload(payload)
+                .receivedAt(receivedAt)
+                .build();
+    }
+    
+    /**
+     * offset 위치 레코드의 전체 크기(길이 필드 포함)를 반환한다. 파일 끝에서 레코드가 잘려 있으면 -1
+     */
+    public static long recordSize(FileChannel channel, long offset, long fileSize) throws IOException {
+        if (offset + PREFIX_BYTES > fileSize) {
+            return -1;
+        }
+        int length = readFully(channel, offset, Integer.BYTES).getInt();
+        if (length <= 0 || offset + Integer.BYTES + length > fileSize) {
+            return -1;
+        }
+        return Integer.BYTES + (long) length;
+    }
+    
+    public static long receivedAt(FileChannel channel, long offset) throws IOException {
+        return readFully(channel, offset + Integer.BYTES, Long.BYTES).getLong();
+    }
+    
+    private static ByteBuffer encodeHeader(WebhookDelivery delivery) {
+        byte[] event = delivery.getEvent().getBytes(StandardCharsets.UTF_8);
+        byte[] deliveryId = delivery.getDeliveryId().getBytes(StandardCharsets.UTF_8);
+        int payloadLength = delivery.getPayload().size();
+        
+        int headerLength = Long.BYTES
+                + Short.BYTES + event.length
+                + Short.BYTES + deliveryId.length
+                + Integer.BYTES;
+        
+        ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES + headerLength);
+        buffer.putInt(headerLength + payloadLength)
+                .putLong(delivery.getReceivedAt())
+                .putShort((short) event.length).put(event)
+                .putShort((short) deliveryId.length).put(deliveryId)
+                .putInt(payloadLength);
+        buffer.flip();
+        return buffer;
+    }
+    
+    private static long writeFully(FileChannel channel, long position, ByteBuffer buffer) throws IOException {
+        long written = 0;
+        while (buffer.hasRemaining()) {
+            written += channel.write(buffer, position + written);
+        }
+        return written;
+    }
+    
+    private static ByteBuffer readFully(FileChannel channel, long position, int size) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + buffer.position());
+            if (read < 0) {
+                throw new IOException("웹훅 레코드가 예상보다 짧습니다 - position: " + position);
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+}
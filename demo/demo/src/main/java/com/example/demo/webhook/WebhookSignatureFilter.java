@@ -0,0 +1,166 @@
+package com.ssafy.ottereview.webhook.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ssafy.ottereview.common.exception.ErrorResponse;
+import com.ssafy.ottereview.webhook.dto.WebhookPayload;
+import com.ssafy.ottereview.webhook.service.WebhookPayloadReader;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * GitHub 웹훅 X-Hub-Signature-256 검증 필터
+ * <p>
+ * 요청 body 를 {@link WebhookPayloadReader} 로 읽어 byte 그대로 HMAC-SHA256 으로 해시해 서명과 상수 시간 비교하고, 실패하면 body 파싱 전에 401 로 거절한다.
+ * 서명 헤더가 없거나 형식이 맞지 않으면 body 를 읽지 않고 바로 거절한다.
+ * Mac 인스턴스는 secret 별로 스레드마다 한 번만 초기화해 재사용한다.
+ * secret 교체 중에는 현재 secret 과 이전 secret 을 모두 허용한다.
+ * 읽은 body 는 request attribute 로 컨트롤러에 전달되며, 컨트롤러가 가져가지 않고 끝난 요청의 body 는 필터가 닫는다.
+ */
+@Slf4j
+@Component
+public class WebhookSignatureFilter extends OncePerRequestFilter {
+
+    private static final String WEBHOOK_PATH = "/webhook";
+    private static final String SIGNATURE_HEADER = "X-Hub-Signature-256";
+    private static final String SIGNATURE_PREFIX = "sha256=";
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final int SIGNATURE_LENGTH = 32;
+
+    private final boolean enabled;
+    private final List<ThreadLocal<Mac>> macs = new ArrayList<>();
+    private final ObjectMapper objectMapper;
+    private final WebhookPayloadReader webhookPayloadReader;
+
+    public WebhookSignatureFilter(
+            ObjectMapper objectMapper,
+            WebhookPayloadReader webhookPayloadReader,
+            @Value("${app.webhook.signature.enabled:false}") boolean enabled,
+            @Value("${app.webhook.signature.secret:}") String secret,
+            @Value("${app.webhook.signature.previous-secret:}") String previousSecret) {
+        this.objectMapper = objectMapper;
+        this.webhookPayloadReader = webhookPayloadReader;
+        this.enabled = enabled;
+
+        if (!secret.isEmpty()) {
+            macs.add(macFor(secret));
+        }
+        if (!previousSecret.isEmpty()) {
+            macs.add(macFor(previousSecret));
+        }
+        if (enabled && macs.isEmpty()) {
+            throw new IllegalStateException("웹훅 서명 검증이 켜져 있지만 secret 이 설정되지 않았습니다");
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || !WEBHOOK_PATH.equals(request.getServletPath());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        byte[] signature = decodeSignature(request.getHeader(SIGNATURE_HEADER));
+        if (signature == null) {
+            log.warn("웹훅 서명 헤더 누락 또는 형식 오류 - Delivery: {}", request.getHeader("X-GitHub-Delivery"));
+            reject(request, response);
+            return;
+        }
+
+        WebhookPayload payload = webhookPayloadReader.resolve(request);
+        try {
+            if (!verify(payload, signature)) {
+                log.warn("웹훅 서명 검증 실패 - Delivery: {}", request.getHeader("X-GitHub-Delivery"));
+                reject(request, response);
+                return;
+            }
+
+            filterChain.doFilter(request, response);
+        } finally {
+            // 컨트롤러가 가져가지 않은 body (서명 실패, 헤더 누락 400 등) 의 임시 파일은 여기서 지운다
+            if (request.getAttribute(WebhookPayload.ATTRIBUTE) == payload) {
+                request.removeAttribute(WebhookPayload.ATTRIBUTE);
+                payload.close();
+            }
+        }
+    }
+
+    private boolean verify(WebhookPayload payload, byte[] expected) {
+        for (ThreadLocal<Mac> mac : macs) {
+            // 매핑된 body 도 heap 으로 복사하지 않고 버퍼 그대로 해시한다
+            Mac instance = mac.get();
+            instance.update(payload.buffer());
+            // doFinal 호출 시 Mac 은 초기 상태로 리셋되므로 그대로 재사용 가능
+            byte[] actual = instance.doFinal();
+            if (MessageDigest.isEqual(actual, expected)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * "sha256=<hex>" 헤더를 32 byte 서명으로 변환한다. 형식이 맞지 않으면 null
+     */
+    private static byte[] decodeSignature(String header) {
+        if (header == null || header.length() != SIGNATURE_PREFIX.length() + SIGNATURE_LENGTH * 2
+                || !header.startsWith(SIGNATURE_PREFIX)) {
+            return null;
+        }
+
+        byte[] signature = new byte[SIGNATURE_LENGTH];
+        int offset = SIGNATURE_PREFIX.length();
+        for (int i = 0; i < SIGNATURE_LENGTH; i++) {
+            int high = Character.digit(header.charAt(offset + i * 2), 16);
+            int low = Character.digit(header.charAt(offset + i * 2 + 1), 16);
+            if (high < 0 || low < 0) {
+                return null;
+            }
+            signature[i] = (byte) ((high << 4) | low);
+        }
+        return signature;
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .errorCode("WEBHOOK_INVALID_SIGNATURE")
+                .message("웹훅 서명이 올바르지 않습니다")
+                .timestamp(LocalDateTime.now())
+                .path(request.getRequestURI())
+                .build();
+
+        response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        objectMapper.writeValue(response.getOutputStream(), errorResponse);
+    }
+
+    private static ThreadLocal<Mac> macFor(String secret) {
+        SecretKeySpec key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM);
+        return ThreadLocal.withInitial(() -> {
+            try {
+                Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+                mac.init(key);
+                return mac;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("HmacSHA256 초기화 실패", e);
+            }
+        });
+    }
+}
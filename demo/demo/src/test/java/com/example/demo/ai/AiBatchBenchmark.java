@@ -0,0 +1,141 @@
+package com.example.demo.ai;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 개별 AI API 3회 호출(fan-out)과 통합 분석 API 1회 호출의 전송량/지연 시간 비교
+ * <p>
+ * {@link AiStubServer} 를 같은 프로세스에 띄우고, AiClient 가 보내는 것과 같은 형태의 요청을 순서대로 보낸다.
+ * <p>
+ * 실행: {@code ./gradlew aiBatchBenchmark -PaiBenchmarkArgs="--iterations=50 --diff-kb=200 --delay-ms=100"}
+ * <ul>
+ *     <li>--iterations: 방식별 반복 횟수 (기본 50)</li>
+ *     <li>--diff-kb: 요청에 담을 diff 크기 (기본 100)</li>
+ *     <li>--delay-ms: stub 서버의 분석 하나당 처리 시간 (기본 100)</li>
+ * </ul>
+ */
+public class AiBatchBenchmark {
+    
+    private static final String[] FAN_OUT_PATHS = {
+            "/ai/pull_requests/title", "/ai/reviewers/recommend", "/ai/priority/recommend"};
+    
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .build();
+    private final String baseUrl;
+    
+    private AiBatchBenchmark(String baseUrl) {
+        this.baseUrl = baseUrl;
+    }
+    
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = AiStubServer.parse(args);
+        int iterations = Integer.parseInt(options.getOrDefault("iterations", "50"));
+        int diffKb = Integer.parseInt(options.getOrDefault("diff-kb", "100"));
+        long delayMillis = Long.parseLong(options.getOrDefault("delay-ms", "100"));
+        
+        AiStubServer stub = new AiStubServer(0, delayMillis, true);
+        stub.start();
+        try {
+            AiBatchBenchmark benchmark = new AiBatchBenchmark("http://localhost:" + stub.port());
+            String request = request(diffKb);
+            
+            // JIT/커넥션 준비
+            benchmark.fanOut(request);
+            benchmark.batched(request, new ArrayList<>());
+            
+            System.out.printf("%-10s %8s %14s %10s %10s %12s%n",
+                    "mode", "requests", "bytes sent", "p50(ms)", "p99(ms)", "first(ms)");
+            
+            stub.reset();
+            List<Long> fanOut = new ArrayList<>();
+            for (int i = 0; i < iterations; i++) {
+                long start = System.nanoTime();
+                benchmark.fanOut(request);
+                fanOut.add(System.nanoTime() - start);
+            }
+            report("fan-out", stub, fanOut, null);
+            
+            stub.reset();
+            List<Long> batched = new ArrayList<>();
+            List<Long> firstPart = new ArrayList<>();
+            for (int i = 0; i < iterations; i++) {
+                long start = System.nanoTime();
+                benchmark.batched(request, firstPart);
+                batched.add(System.nanoTime() - start);
+            }
+            report("batched", stub, batched, firstPart);
+        } finally {
+            stub.stop();
+        }
+    }
+    
+    private void fanOut(String request) {
+        List<CompletableFuture<HttpResponse<Void>>> calls = new ArrayList<>();
+        for (String path : FAN_OUT_PATHS) {
+            calls.add(httpClient.sendAsync(post(path, request, "application/json"), HttpResponse.BodyHandlers.discarding()));
+        }
+        CompletableFuture.allOf(calls.toArray(CompletableFuture[]::new)).join();
+    }
+    
+    private void batched(String request, List<Long> firstPart) throws Exception {
+        String body = "{\"request\":" + request + ",\"analyses\":[\"title\",\"reviewers\",\"priority\"]}";
+        long start = System.nanoTime();
+        HttpResponse<InputStream> response = httpClient.send(
+                post("/ai/pull_requests/analyze", body, "application/x-ndjson"), HttpResponse.BodyHandlers.ofInputStream());
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(response.body(), StandardCharsets.UTF_8))) {
+            boolean first = true;
+            while (reader.readLine() != null) {
+                if (first) {
+                    firstPart.add(System.nanoTime() - start);
+                    first = false;
+                }
+            }
+        }
+    }
+    
+    private HttpRequest post(String path, String body, String accept) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .header("Accept", accept)
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+    
+    private static String request(int diffKb) {
+        StringBuilder diff = new StringBuilder(diffKb * 1024);
+        while (diff.length() < diffKb * 1024) {
+            diff.append("+    private final String field").append(diff.length()).append(" = \\\"value\\\";\\n");
+        }
+        return "{\"repo_id\":1,\"source\":\"feature\",\"target\":\"main\",\"diff\":\"" + diff + "\"}";
+    }
+    
+    private static void report(String mode, AiStubServer stub, List<Long> samples, List<Long> firstPart) {
+        Collections.sort(samples);
+        String first = "-";
+        if (firstPart != null && !firstPart.isEmpty()) {
+            Collections.sort(firstPart);
+            first = String.format("%.2f", percentile(firstPart, 0.50));
+        }
+        System.out.printf("%-10s %8d %14d %10.2f %10.2f %12s%n",
+                mode, stub.requests(), stub.bytesReceived(),
+                percentile(samples, 0.50), percentile(samples, 0.99), first);
+    }
+    
+    private static double percentile(List<Long> sorted, double quantile) {
+        int index = (int) Math.ceil(quantile * sorted.size()) - 1;
+        return sorted.get(Math.max(0, index)) / 1_000_000.0;
+    }
+}
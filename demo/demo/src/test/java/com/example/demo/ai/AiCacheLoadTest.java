@@ -0,0 +1,111 @@
+package com.example.demo.ai;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * AI 결과 캐시 조회 방식별 스레드 수와 지연 시간 비교
+ * <p>
+ * - blocking: 이전 방식 (RedisTemplate 조회를 boundedElastic 스레드로 옮겨 실행)
+ * - reactive: AiResultCache 의 방식 (ReactiveStringRedisTemplate, 스레드 전환 없음)
+ * 같은 Lettuce 연결 설정으로 같은 키를 동시에 concurrency 개씩 조회한다. 로컬 Redis 가 필요하다.
+ * <p>
+ * 실행: {@code ./gradlew aiCacheLoadTest -PaiCacheLoadArgs="--requests=50000 --concurrency=500"}
+ * <ul>
+ *     <li>--host / --port: Redis 주소 (기본 localhost:6379)</li>
+ *     <li>--requests: 방식별 조회 횟수 (기본 20000)</li>
+ *     <li>--concurrency: 동시에 진행하는 조회 수 (기본 200)</li>
+ *     <li>--value-kb: 캐시 값 크기 (기본 2)</li>
+ * </ul>
+ */
+public class AiCacheLoadTest {
+
+    private static final String KEY = "ai:result:load-test";
+
+    public static void main(String[] args) {
+        Map<String, String> options = AiStubServer.parse(args);
+        String host = options.getOrDefault("host", "localhost");
+        int port = Integer.parseInt(options.getOrDefault("port", "6379"));
+        int requests = Integer.parseInt(options.getOrDefault("requests", "20000"));
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "200"));
+        int valueKb = Integer.parseInt(options.getOrDefault("value-kb", "2"));
+
+        LettuceConnectionFactory connectionFactory = new LettuceConnectionFactory(host, port);
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        try {
+            RedisTemplate<String, Object> redisTemplate = new RedisTemplate<>();
+            redisTemplate.setConnectionFactory(connectionFactory);
+            redisTemplate.setKeySerializer(new StringRedisSerializer());
+            redisTemplate.setValueSerializer(new StringRedisSerializer());
+            redisTemplate.afterPropertiesSet();
+            ReactiveStringRedisTemplate reactiveRedisTemplate = new ReactiveStringRedisTemplate(connectionFactory);
+
+            redisTemplate.opsForValue().set(KEY, "{\"title\":\"" + "x".repeat(valueKb * 1024) + "\"}", Duration.ofMinutes(10));
+
+            Supplier<Mono<Object>> blocking = () -> Mono.fromCallable(() -> redisTemplate.opsForValue().get(KEY))
+                    .subscribeOn(Schedulers.boundedElastic());
+            Supplier<Mono<Object>> reactive = () -> reactiveRedisTemplate.opsForValue().get(KEY).cast(Object.class);
+
+            // JIT/커넥션 준비
+            run(blocking, requests / 10, concurrency);
+            run(reactive, requests / 10, concurrency);
+
+            System.out.printf("%-10s %10s %10s %10s %10s %12s%n",
+                    "mode", "ops/s", "p50(ms)", "p99(ms)", "max(ms)", "peak threads");
+            report("blocking", blocking, requests, concurrency);
+            report("reactive", reactive, requests, concurrency);
+
+            redisTemplate.delete(KEY);
+        } finally {
+            connectionFactory.destroy();
+        }
+    }
+
+    private static void report(String mode, Supplier<Mono<Object>> lookup, int requests, int concurrency) {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        threads.resetPeakThreadCount();
+
+        long start = System.nanoTime();
+        List<Long> latencies = run(lookup, requests, concurrency);
+        long elapsed = System.nanoTime() - start;
+
+        Collections.sort(latencies);
+        System.out.printf("%-10s %10.0f %10.2f %10.2f %10.2f %12d%n",
+                mode,
+                requests / (elapsed / 1e9),
+                millis(latencies, 0.50),
+                millis(latencies, 0.99),
+                latencies.get(latencies.size() - 1) / 1e6,
+                threads.getPeakThreadCount());
+    }
+
+    private static List<Long> run(Supplier<Mono<Object>> lookup, int requests, int concurrency) {
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>(requests));
+        Flux.range(0, requests)
+                .flatMap(i -> Mono.defer(() -> {
+                    long start = System.nanoTime();
+                    return lookup.get().doOnSuccess(value -> latencies.add(System.nanoTime() - start));
+                }), concurrency)
+                .blockLast();
+        return new ArrayList<>(latencies);
+    }
+
+    private static double millis(List<Long> sorted, double quantile) {
+        int index = (int) Math.ceil(quantile * sorted.size()) - 1;
+        return sorted.get(Math.max(0, index)) / 1e6;
+    }
+}
@@ -0,0 +1,161 @@
+package com.example.demo.ai;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.ssafy.ottereview.ai.client.AiCallGuard;
+import com.ssafy.ottereview.ai.client.AiCallGuard.CircuitOpenException;
+import com.ssafy.ottereview.ai.client.AiCallScheduler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+class AiCallGuardTest {
+
+    private static final String ENDPOINT = "/ai/pull_requests/title";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AiCallGuard guard = new AiCallGuard(meterRegistry, new AiCallScheduler(meterRegistry, 4, 1, 100));
+
+    @Test
+    void breakerOpensWhenFailureRateIsReached() {
+        configure(1, false);
+        AtomicInteger sent = new AtomicInteger();
+
+        for (int i = 0; i < 3; i++) {
+            call(Mono.error(new IllegalStateException("AI 서버 오류")));
+        }
+        // 최소 호출 수를 채워야 연다
+        assertThat(circuitState()).isZero();
+        call(Mono.error(new IllegalStateException("AI 서버 오류")));
+        assertThat(circuitState()).isEqualTo(1);
+
+        // 열려 있는 동안은 보내지 않고 바로 실패한다
+        assertThatThrownBy(() -> guard.protect(ENDPOINT, Mono.fromCallable(sent::incrementAndGet)).block())
+                .isInstanceOf(CircuitOpenException.class);
+        assertThat(sent.get()).isZero();
+        assertThat(meterRegistry.get("ai.client.short_circuited").tag("endpoint", ENDPOINT).counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void halfOpenAllowsLimitedTrialsAndClosesOnSuccess() throws InterruptedException {
+        configure(1, false);
+        openBreaker();
+
+        Disposable trial = guard.protect(ENDPOINT, Mono.never()).subscribe();
+        assertThat(circuitState()).isEqualTo(2);
+        assertThatThrownBy(() -> call(Mono.just("blocked"))).isInstanceOf(CircuitOpenException.class);
+
+        // 결과 없이 취소된 시험 호출은 자리를 돌려준다
+        trial.dispose();
+        assertThat(call(Mono.just("ok"))).isEqualTo("ok");
+
+        assertThat(circuitState()).isZero();
+        assertThat(call(Mono.just("closed"))).isEqualTo("closed");
+    }
+
+    @Test
+    void failedTrialOpensBreakerAgain() throws InterruptedException {
+        configure(1, false);
+        openBreaker();
+
+        call(Mono.error(new IllegalStateException("여전히 장애")));
+
+        assertThat(circuitState()).isEqualTo(1);
+        assertThatThrownBy(() -> call(Mono.just("blocked"))).isInstanceOf(CircuitOpenException.class);
+    }
+
+    @Test
+    void trialPermitIsSettledOnlyOnce() throws InterruptedException {
+        configure(2, true);
+        // hedge 지연(p95)을 정할 표본 하나
+        call(Mono.just("sample"));
+        openBreaker();
+
+        // 첫 시험 호출: 원 요청은 응답이 없고, hedge 요청이 4xx 로 자리를 돌려준다
+        AtomicInteger attempts = new AtomicInteger();
+        Disposable first = guard.protect(ENDPOINT, Mono.defer(() -> attempts.getAndIncrement() == 0
+                ? Mono.<String>never()
+                : Mono.<String>error(httpError(400, "Bad Request"))))
+                .subscribe(null, error -> { });
+        Disposable second = guard.protect(ENDPOINT, Mono.never()).subscribe();
+        Thread.sleep(300);
+        assertThat(attempts.get()).isEqualTo(2);
+
+        // 이미 정산한 허가이므로 원 요청이 취소되어도 자리를 한 번 더 돌려주지 않는다
+        first.dispose();
+
+        Disposable third = guard.protect(ENDPOINT, Mono.never()).subscribe();
+        assertThatThrownBy(() -> call(Mono.just("blocked"))).isInstanceOf(CircuitOpenException.class);
+        second.dispose();
+        third.dispose();
+    }
+
+    @Test
+    void clientErrorsDoNotCountAsFailures() {
+        configure(1, false);
+
+        for (int i = 0; i < 10; i++) {
+            assertThatThrownBy(() -> call(Mono.error(httpError(404, "Not Found"))))
+                    .isInstanceOf(WebClientResponseException.class);
+        }
+        assertThat(circuitState()).isZero();
+
+        // 429 는 과부하 신호이므로 실패로 센다
+        for (int i = 0; i < 4; i++) {
+            assertThatThrownBy(() -> call(Mono.error(httpError(429, "Too Many Requests"))))
+                    .isInstanceOf(WebClientResponseException.class);
+        }
+        assertThat(circuitState()).isEqualTo(1);
+    }
+
+    private void configure(int halfOpenCalls, boolean hedge) {
+        ReflectionTestUtils.setField(guard, "latencyWindow", 10);
+        ReflectionTestUtils.setField(guard, "timeoutMultiplier", 2.0);
+        ReflectionTestUtils.setField(guard, "minTimeoutSeconds", 5L);
+        ReflectionTestUtils.setField(guard, "maxTimeoutSeconds", 5L);
+        ReflectionTestUtils.setField(guard, "minSamples", 1);
+        ReflectionTestUtils.setField(guard, "hedgeEnabled", hedge);
+        ReflectionTestUtils.setField(guard, "breakerWindow", 4);
+        ReflectionTestUtils.setField(guard, "breakerMinCalls", 4);
+        ReflectionTestUtils.setField(guard, "breakerFailureRate", 0.5);
+        ReflectionTestUtils.setField(guard, "breakerOpenSeconds", 1L);
+        ReflectionTestUtils.setField(guard, "breakerHalfOpenCalls", halfOpenCalls);
+    }
+
+    // 실패로 circuit 을 연 뒤 open 시간이 지나 half-open 이 될 수 있게 한다
+    private void openBreaker() throws InterruptedException {
+        do {
+            guard.protect(ENDPOINT, Mono.error(new IllegalStateException("AI 서버 오류")))
+                    .onErrorResume(error -> Mono.empty())
+                    .block(Duration.ofSeconds(5));
+        } while (circuitState() != 1);
+        Thread.sleep(1100);
+    }
+
+    // 서버 오류(IllegalStateException)는 삼키고, 차단과 4xx 응답은 그대로 던진다
+    private String call(Mono<String> call) {
+        try {
+            return guard.protect(ENDPOINT, call).block(Duration.ofSeconds(5));
+        } catch (IllegalStateException e) {
+            return null;
+        }
+    }
+
+    private static WebClientResponseException httpError(int status, String statusText) {
+        return WebClientResponseException.create(status, statusText, new HttpHeaders(), new byte[0],
+                StandardCharsets.UTF_8);
+    }
+
+    private double circuitState() {
+        return meterRegistry.get("ai.client.circuit.state").tag("endpoint", ENDPOINT).gauge().value();
+    }
+}
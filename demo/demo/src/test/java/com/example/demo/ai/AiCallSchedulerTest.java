@@ -0,0 +1,91 @@
+package com.example.demo.ai;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.ssafy.ottereview.ai.client.AiCallScheduler;
+import com.ssafy.ottereview.ai.client.AiCallScheduler.Lane;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+class AiCallSchedulerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<String> executed = new CopyOnWriteArrayList<>();
+
+    @Test
+    void interactiveRunsBeforeEarlierQueuedBackground() {
+        AiCallScheduler scheduler = new AiCallScheduler(meterRegistry, 2, 1, 100);
+        Disposable runningBackground = scheduler.schedule(Lane.BACKGROUND, 1L, Mono.never()).subscribe();
+        Sinks.One<String> runningInteractive = Sinks.one();
+        scheduler.schedule(Lane.INTERACTIVE, 1L, runningInteractive.asMono()).subscribe();
+
+        // 자리가 모두 찬 상태에서 BACKGROUND 가 먼저 대기열에 들어간다
+        scheduler.schedule(Lane.BACKGROUND, 2L, call("background")).subscribe();
+        scheduler.schedule(Lane.INTERACTIVE, 2L, call("interactive")).subscribe();
+        assertThat(executed).isEmpty();
+
+        runningInteractive.tryEmitValue("done");
+
+        assertThat(executed).containsExactly("interactive");
+        runningBackground.dispose();
+        assertThat(executed).containsExactly("interactive", "background");
+    }
+
+    @Test
+    void cancelledCallsReleaseTheirPermitAndQueueSlot() {
+        AiCallScheduler scheduler = new AiCallScheduler(meterRegistry, 1, 1, 100);
+        Disposable running = scheduler.schedule(Lane.INTERACTIVE, 1L, Mono.never()).subscribe();
+        Disposable waiting = scheduler.schedule(Lane.INTERACTIVE, 1L, call("cancelled")).subscribe();
+        scheduler.schedule(Lane.INTERACTIVE, 1L, call("next")).subscribe();
+        assertThat(queueDepth()).isEqualTo(2);
+
+        // 대기 중에 취소된 호출은 대기열에서 빠진다
+        waiting.dispose();
+        assertThat(queueDepth()).isEqualTo(1);
+
+        // 실행 중에 취소된 호출은 자리를 반납한다
+        running.dispose();
+
+        assertThat(executed).containsExactly("next");
+        assertThat(queueDepth()).isZero();
+        assertThat(inFlight()).isZero();
+    }
+
+    @Test
+    void repositoriesInSameLaneTakeTurns() {
+        AiCallScheduler scheduler = new AiCallScheduler(meterRegistry, 1, 1, 100);
+        Disposable running = scheduler.schedule(Lane.INTERACTIVE, 0L, Mono.never()).subscribe();
+
+        // 저장소 1 의 호출이 먼저 몰려도 저장소 2 가 번갈아 실행된다
+        for (int i = 0; i < 3; i++) {
+            scheduler.schedule(Lane.INTERACTIVE, 1L, call("repo1")).subscribe();
+        }
+        for (int i = 0; i < 3; i++) {
+            scheduler.schedule(Lane.INTERACTIVE, 2L, call("repo2")).subscribe();
+        }
+
+        running.dispose();
+
+        assertThat(executed).containsExactly("repo1", "repo2", "repo1", "repo2", "repo1", "repo2");
+    }
+
+    private Mono<String> call(String name) {
+        return Mono.fromCallable(() -> {
+            executed.add(name);
+            return name;
+        });
+    }
+
+    private double queueDepth() {
+        return meterRegistry.get("ai.scheduler.queue.depth").tag("lane", Lane.INTERACTIVE.name()).gauge().value();
+    }
+
+    private double inFlight() {
+        return meterRegistry.get("ai.scheduler.in_flight").tag("lane", Lane.INTERACTIVE.name()).gauge().value();
+    }
+}
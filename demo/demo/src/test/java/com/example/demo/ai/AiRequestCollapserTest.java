@@ -0,0 +1,200 @@
+package com.example.demo.ai;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ssafy.ottereview.ai.cache.AiRequestCollapser;
+import com.ssafy.ottereview.ai.cache.AiResultCache;
+import com.ssafy.ottereview.ai.cache.AiResultCache.CacheKey;
+import com.ssafy.ottereview.ai.dto.response.AiResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.ReactiveValueOperations;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.listener.Topic;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+class AiRequestCollapserTest {
+
+    private static final CacheKey KEY = new CacheKey("ai:result:abc", "pair");
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ReactiveStringRedisTemplate redisTemplate = mock(ReactiveStringRedisTemplate.class);
+    @SuppressWarnings("unchecked")
+    private final ReactiveValueOperations<String, String> valueOperations = mock(ReactiveValueOperations.class);
+    private final RedisMessageListenerContainer listenerContainer = mock(RedisMessageListenerContainer.class);
+    private final AiResultCache aiResultCache = mock(AiResultCache.class);
+
+    // Redis 스크립트 호출 인자 (연장: [token, ttl], 해제: [token])
+    private final List<List<?>> scriptArgs = new CopyOnWriteArrayList<>();
+    private final AiResult result = AiResult.builder().hasErrors(false).build();
+
+    @BeforeEach
+    void setUp() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(redisTemplate.convertAndSend(anyString(), anyString())).thenReturn(Mono.just(1L));
+        when(aiResultCache.getRemote(any())).thenReturn(Mono.empty());
+        when(redisTemplate.execute(any(), anyList(), anyList())).thenAnswer(invocation -> {
+            scriptArgs.add(invocation.getArgument(2));
+            return Flux.just(1L);
+        });
+    }
+
+    @Test
+    void joinedRequestsShareOneAnalysisUntilLastSubscriberLeaves() {
+        AiRequestCollapser collapser = collapser(30);
+        lockAcquired(true);
+        Analysis analysis = new Analysis();
+
+        Disposable warmUp = collapser.collapseCancellable(KEY, analysis).subscribe();
+        Disposable user = collapser.collapseCancellable(KEY, analysis).subscribe();
+
+        assertThat(analysis.started.get()).isEqualTo(1);
+        assertThat(joined("local")).isEqualTo(1);
+
+        // 합류한 요청이 남아 있으면 분석은 계속된다
+        warmUp.dispose();
+        assertThat(analysis.cancelled.get()).isZero();
+
+        user.dispose();
+        assertThat(analysis.cancelled.get()).isEqualTo(1);
+        // 락을 해제하고, 다음 요청은 새 분석을 시작한다
+        assertThat(scriptArgs).anyMatch(args -> args.size() == 1);
+        collapser.collapseCancellable(KEY, analysis).subscribe();
+        assertThat(analysis.started.get()).isEqualTo(2);
+    }
+
+    @Test
+    void plainSubscriberKeepsCancellableAnalysisAlive() {
+        AiRequestCollapser collapser = collapser(30);
+        lockAcquired(true);
+        Analysis analysis = new Analysis();
+        AiResult[] received = new AiResult[1];
+
+        Disposable warmUp = collapser.collapseCancellable(KEY, analysis).subscribe();
+        collapser.collapse(KEY, analysis).subscribe(value -> received[0] = value);
+        warmUp.dispose();
+        analysis.sink.tryEmitValue(result);
+
+        assertThat(analysis.cancelled.get()).isZero();
+        assertThat(received[0]).isSameAs(result);
+        verify(redisTemplate).convertAndSend(eq("ai:analysis:done:" + KEY.value()), anyString());
+    }
+
+    @Test
+    void leaderRenewsLockWhileAnalysing() throws InterruptedException {
+        AiRequestCollapser collapser = collapser(1);
+        lockAcquired(true);
+        Analysis analysis = new Analysis();
+
+        collapser.collapse(KEY, analysis).subscribe();
+        // 락 TTL 1초의 1/3 간격으로 연장한다
+        Thread.sleep(900);
+
+        assertThat(scriptArgs).filteredOn(args -> args.size() == 2)
+                .hasSizeGreaterThanOrEqualTo(2)
+                .allMatch(args -> "1000".equals(args.get(1)));
+
+        analysis.sink.tryEmitValue(result);
+        int renewals = (int) scriptArgs.stream().filter(args -> args.size() == 2).count();
+        Thread.sleep(500);
+
+        // 분석이 끝나면 연장을 멈추고 락을 해제한다
+        assertThat(scriptArgs.stream().filter(args -> args.size() == 2).count()).isEqualTo(renewals);
+        assertThat(scriptArgs).anyMatch(args -> args.size() == 1);
+    }
+
+    @Test
+    void followerReceivesLeaderResult() throws Exception {
+        AiRequestCollapser collapser = collapser(30);
+        MessageListener listener = registeredListener(collapser);
+        lockAcquired(false);
+        when(redisTemplate.hasKey(anyString())).thenReturn(Mono.just(true));
+        Analysis analysis = new Analysis();
+        AiResult[] received = new AiResult[1];
+
+        collapser.collapse(KEY, analysis).subscribe(value -> received[0] = value);
+        listener.onMessage(new DefaultMessage(
+                ("ai:analysis:done:" + KEY.value()).getBytes(StandardCharsets.UTF_8),
+                objectMapper.writeValueAsBytes(result)), null);
+
+        assertThat(analysis.started.get()).isZero();
+        assertThat(objectMapper.writeValueAsString(received[0])).isEqualTo(objectMapper.writeValueAsString(result));
+        assertThat(joined("remote")).isEqualTo(1);
+    }
+
+    @Test
+    void followerTakesOverWhenLeaderLockDisappears() {
+        AiRequestCollapser collapser = collapser(1);
+        when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class)))
+                .thenReturn(Mono.just(false), Mono.just(true));
+        // 분석하던 노드가 죽어 락이 만료되었다
+        when(redisTemplate.hasKey(anyString())).thenReturn(Mono.just(false));
+        Analysis analysis = new Analysis();
+        analysis.sink.tryEmitValue(result);
+
+        AiResult taken = collapser.collapse(KEY, analysis).block(Duration.ofSeconds(5));
+
+        assertThat(taken).isSameAs(result);
+        assertThat(analysis.started.get()).isEqualTo(1);
+        assertThat(joined("remote")).isZero();
+    }
+
+    private AiRequestCollapser collapser(long lockTtlSeconds) {
+        return new AiRequestCollapser(redisTemplate, listenerContainer, aiResultCache, objectMapper, meterRegistry,
+                lockTtlSeconds, 330);
+    }
+
+    private void lockAcquired(boolean acquired) {
+        when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenReturn(Mono.just(acquired));
+    }
+
+    private MessageListener registeredListener(AiRequestCollapser collapser) {
+        collapser.init();
+        ArgumentCaptor<MessageListener> listener = ArgumentCaptor.forClass(MessageListener.class);
+        verify(listenerContainer).addMessageListener(listener.capture(), any(Topic.class));
+        return listener.getValue();
+    }
+
+    private double joined(String scope) {
+        return meterRegistry.get("ai.collapse.joined").tag("scope", scope).counter().count();
+    }
+
+    /**
+     * 시작/취소 횟수를 세는 분석
+     */
+    private static class Analysis implements Supplier<Mono<AiResult>> {
+
+        private final Sinks.One<AiResult> sink = Sinks.one();
+        private final AtomicInteger started = new AtomicInteger();
+        private final AtomicInteger cancelled = new AtomicInteger();
+
+        @Override
+        public Mono<AiResult> get() {
+            started.incrementAndGet();
+            return sink.asMono().doOnCancel(cancelled::incrementAndGet);
+        }
+    }
+}
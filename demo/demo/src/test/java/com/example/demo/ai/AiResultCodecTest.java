@@ -0,0 +1,106 @@
+package com.example.demo.ai;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ssafy.ottereview.ai.cache.AiResultCodec;
+import com.ssafy.ottereview.ai.dto.response.AiResult;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class AiResultCodecTest {
+
+    private static final byte MAGIC = (byte) 0xA1;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AiResult result = AiResult.builder()
+            .hasErrors(true)
+            .errorMessage("AI 서버 응답 지연 ".repeat(100))
+            .build();
+
+    @Test
+    void smileRoundTripWritesVersionHeader() throws IOException {
+        AiResultCodec codec = new AiResultCodec(objectMapper, "smile", "none", 0);
+
+        byte[] encoded = codec.encode(result);
+
+        assertThat(encoded[0]).isEqualTo(MAGIC);
+        assertThat(encoded[1]).isEqualTo((byte) 1);
+        assertThat(encoded[2]).isZero();
+        assertSameResult(codec.decode(encoded));
+    }
+
+    @Test
+    void lz4RoundTripSetsFlag() throws IOException {
+        AiResultCodec codec = new AiResultCodec(objectMapper, "smile", "lz4", 0);
+
+        byte[] encoded = codec.encode(result);
+
+        assertThat(encoded[2]).isEqualTo((byte) 0x01);
+        assertThat(encoded.length).isLessThan(objectMapper.writeValueAsBytes(result).length);
+        assertSameResult(codec.decode(encoded));
+    }
+
+    @Test
+    void smallValueIsNotCompressed() throws IOException {
+        AiResultCodec codec = new AiResultCodec(objectMapper, "smile", "lz4", 1024 * 1024);
+
+        byte[] encoded = codec.encode(result);
+
+        assertThat(encoded[2]).isZero();
+        assertSameResult(codec.decode(encoded));
+    }
+
+    @Test
+    void readsEntriesWrittenInEitherFormat() throws IOException {
+        AiResultCodec json = new AiResultCodec(objectMapper, "json", "none", 0);
+        AiResultCodec smile = new AiResultCodec(objectMapper, "smile", "lz4", 0);
+
+        // 형식을 전환하는 동안 섞여 있는 항목을 모두 읽는다
+        assertSameResult(smile.decode(json.encode(result)));
+        assertSameResult(json.decode(smile.encode(result)));
+    }
+
+    @Test
+    void partRoundTripUsesSameHeader() throws IOException {
+        AiResultCodec codec = new AiResultCodec(objectMapper, "smile", "lz4", 0);
+        Map<String, Object> part = Map.of("result", "웹훅 처리 큐 개선 ".repeat(50));
+
+        byte[] encoded = codec.encodePart(part);
+
+        assertThat(encoded[0]).isEqualTo(MAGIC);
+        assertThat(encoded[2]).isEqualTo((byte) 0x01);
+        assertThat(codec.decodePart(encoded, Map.class)).isEqualTo(part);
+        // 이전 버전이 JSON 문자열로 저장한 부분 결과도 읽는다
+        assertThat(codec.decodePart(objectMapper.writeValueAsBytes(part), Map.class)).isEqualTo(part);
+    }
+
+    @Test
+    void newerVersionIsMiss() throws IOException {
+        AiResultCodec codec = new AiResultCodec(objectMapper, "smile", "lz4", 0);
+        byte[] encoded = codec.encode(result);
+
+        encoded[1] = 2;
+
+        assertThat(codec.decode(encoded)).isNull();
+    }
+
+    @Test
+    void corruptOriginalLengthIsRejected() throws IOException {
+        AiResultCodec codec = new AiResultCodec(objectMapper, "smile", "lz4", 0);
+        byte[] encoded = codec.encode(result);
+
+        ByteBuffer.wrap(encoded, 3, Integer.BYTES).putInt(Integer.MAX_VALUE);
+        assertThatThrownBy(() -> codec.decode(encoded)).isInstanceOf(IOException.class);
+
+        ByteBuffer.wrap(encoded, 3, Integer.BYTES).putInt(-1);
+        assertThatThrownBy(() -> codec.decode(encoded)).isInstanceOf(IOException.class);
+    }
+
+    private void assertSameResult(AiResult decoded) throws IOException {
+        assertThat(objectMapper.writeValueAsString(decoded)).isEqualTo(objectMapper.writeValueAsString(result));
+    }
+}
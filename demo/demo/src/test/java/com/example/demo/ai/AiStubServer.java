@@ -0,0 +1,160 @@
+package com.example.demo.ai;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 로컬 개발/벤치마크용 AI 서버 stub
+ * <p>
+ * 개별 API (title, reviewers, priority) 와 통합 분석 API (/ai/pull_requests/analyze, NDJSON 스트림) 를 흉내낸다.
+ * 각 분석은 delay-ms 만큼 걸리고, 통합 분석은 분석 종류마다 조금씩 다른 시각에 한 줄씩 보낸다.
+ * <p>
+ * 실행: {@code ./gradlew aiStub -PaiStubArgs="--port=8000 --delay-ms=300"}
+ * <ul>
+ *     <li>--port: 포트 (기본 8000)</li>
+ *     <li>--delay-ms: 분석 하나에 걸리는 시간 (기본 300)</li>
+ *     <li>--no-batch: 통합 분석 API 에 404 로 응답 (fallback 확인용)</li>
+ * </ul>
+ */
+public class AiStubServer {
+    
+    private static final String TITLE = "{\"result\":\"stub 제목\"}";
+    private static final String REVIEWERS = "{\"result\":[{\"github_id\":1,\"github_username\":\"otter\",\"reason\":\"stub\"}]}";
+    private static final String PRIORITY = "{\"result\":{\"priority\":[{\"title\":\"stub 우선순위\",\"reason\":\"stub\"}]}}";
+    
+    static {
+        // 헤더와 본문이 따로 전송될 때 Nagle/delayed ACK 로 생기는 지연을 없앤다
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+    }
+    
+    private final HttpServer server;
+    private final long delayMillis;
+    private final boolean batch;
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong bytesReceived = new AtomicLong();
+    
+    public AiStubServer(int port, long delayMillis, boolean batch) throws IOException {
+        this.delayMillis = delayMillis;
+        this.batch = batch;
+        this.server = HttpServer.create(new InetSocketAddress(port), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/ai/pull_requests/title", exchange -> single(exchange, TITLE));
+        server.createContext("/ai/reviewers/recommend", exchange -> single(exchange, REVIEWERS));
+        server.createContext("/ai/priority/recommend", exchange -> single(exchange, PRIORITY));
+        server.createContext("/ai/pull_requests/analyze", this::analyze);
+    }
+    
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        AiStubServer stub = new AiStubServer(
+                Integer.parseInt(options.getOrDefault("port", "8000")),
+                Long.parseLong(options.getOrDefault("delay-ms", "300")),
+                !options.containsKey("no-batch"));
+        stub.start();
+        System.out.printf("AI stub 서버 시작 - 포트: %d%n", stub.port());
+    }
+    
+    public void start() {
+        server.start();
+    }
+    
+    public void stop() {
+        server.stop(0);
+    }
+    
+    public int port() {
+        return server.getAddress().getPort();
+    }
+    
+    public long requests() {
+        return requests.get();
+    }
+    
+    public long bytesReceived() {
+        return bytesReceived.get();
+    }
+    
+    public void reset() {
+        requests.set(0);
+        bytesReceived.set(0);
+    }
+    
+    private void single(HttpExchange exchange, String response) throws IOException {
+        consume(exchange);
+        sleep(delayMillis);
+        byte[] body = response.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+    
+    private void analyze(HttpExchange exchange) throws IOException {
+        consume(exchange);
+        if (!batch) {
+            exchange.sendResponseHeaders(404, -1);
+            exchange.close();
+            return;
+        }
+        
+        // 실제 서버처럼 분석이 끝나는 대로 보낸다 (chunked)
+        exchange.getResponseHeaders().add("Content-Type", "application/x-ndjson");
+        exchange.sendResponseHeaders(200, 0);
+        try (OutputStream out = exchange.getResponseBody()) {
+            String[][] parts = {{"title", TITLE}, {"priority", PRIORITY}, {"reviewers", REVIEWERS}};
+            long elapsed = 0;
+            for (int i = 0; i < parts.length; i++) {
+                long due = delayMillis + delayMillis * i / 10;
+                sleep(due - elapsed);
+                elapsed = due;
+                String line = "{\"type\":\"" + parts[i][0] + "\",\"result\":" + parts[i][1] + "}\n";
+                out.write(line.getBytes(StandardCharsets.UTF_8));
+                out.flush();
+            }
+        }
+    }
+    
+    private void consume(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        try (InputStream in = exchange.getRequestBody()) {
+            bytesReceived.addAndGet(in.transferTo(OutputStream.nullOutputStream()));
+        }
+    }
+    
+    private static void sleep(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                continue;
+            }
+            int separator = arg.indexOf('=');
+            if (separator < 0) {
+                options.put(arg.substring(2), "true");
+            } else {
+                options.put(arg.substring(2, separator), arg.substring(separator + 1));
+            }
+        }
+        return options;
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.demo.ai;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.ssafy.ottereview.ai.convention.DiffHunk;
+import com.ssafy.ottereview.ai.convention.DiffHunkParser;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class DiffHunkParserTest {
+
+    @Test
+    void splitsHunksPerFile() {
+        String diff = """
+                diff --git a/src/A.java b/src/A.java
+                index 1111111..2222222 100644
+                --- a/src/A.java
+                +++ b/src/A.java
+                @@ -1,2 +1,2 @@
+                 class A {
+                -    int a;
+                +    int b;
+                @@ -10,1 +10,2 @@
+                 }
+                +// end
+                diff --git a/src/B.java b/src/B.java
+                new file mode 100644
+                --- /dev/null
+                +++ b/src/B.java
+                @@ -0,0 +1 @@
+                +class B {}
+                """;
+
+        List<DiffHunk> hunks = DiffHunkParser.parse(diff);
+
+        assertThat(hunks).containsExactly(
+                new DiffHunk("src/A.java", "@@ -1,2 +1,2 @@", " class A {\n-    int a;\n+    int b;\n"),
+                new DiffHunk("src/A.java", "@@ -10,1 +10,2 @@", " }\n+// end\n"),
+                new DiffHunk("src/B.java", "@@ -0,0 +1 @@", "+class B {}\n"));
+    }
+
+    @Test
+    void renamedFileUsesNewPath() {
+        String diff = """
+                diff --git a/old/Name.java b/new/Name.java
+                similarity index 90%
+                rename from old/Name.java
+                rename to new/Name.java
+                --- a/old/Name.java
+                +++ b/new/Name.java
+                @@ -1 +1 @@
+                -class OldName {}
+                +class Name {}
+                diff --git a/Same.java b/Moved.java
+                similarity index 100%
+                rename from Same.java
+                rename to Moved.java
+                """;
+
+        List<DiffHunk> hunks = DiffHunkParser.parse(diff);
+
+        // 내용 변경 없는 이름 변경은 hunk 가 없다
+        assertThat(hunks).containsExactly(
+                new DiffHunk("new/Name.java", "@@ -1 +1 @@", "-class OldName {}\n+class Name {}\n"));
+    }
+
+    @Test
+    void deletedFileIsSkipped() {
+        String diff = """
+                diff --git a/Gone.java b/Gone.java
+                deleted file mode 100644
+                --- a/Gone.java
+                +++ /dev/null
+                @@ -1 +0,0 @@
+                -class Gone {}
+                diff --git a/Kept.java b/Kept.java
+                --- a/Kept.java
+                +++ b/Kept.java
+                @@ -1 +1 @@
+                -class Kept {}
+                +class Kept { }
+                """;
+
+        List<DiffHunk> hunks = DiffHunkParser.parse(diff);
+
+        assertThat(hunks).extracting(DiffHunk::fileName).containsExactly("Kept.java");
+    }
+
+    @Test
+    void noNewlineMarkerIsNotPartOfBody() {
+        String diff = """
+                diff --git a/a.txt b/a.txt
+                --- a/a.txt
+                +++ b/a.txt
+                @@ -1 +1 @@
+                -old
+                \\ No newline at end of file
+                +new
+                \\ No newline at end of file
+                """;
+
+        List<DiffHunk> hunks = DiffHunkParser.parse(diff);
+
+        assertThat(hunks).containsExactly(new DiffHunk("a.txt", "@@ -1 +1 @@", "-old\n+new\n"));
+    }
+
+    @Test
+    void emptyDiffHasNoHunks() {
+        assertThat(DiffHunkParser.parse("")).isEmpty();
+        assertThat(DiffHunkParser.parse(null)).isEmpty();
+    }
+}
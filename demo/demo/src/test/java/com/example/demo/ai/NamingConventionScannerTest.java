@@ -0,0 +1,95 @@
+package com.example.demo.ai;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.ssafy.ottereview.ai.convention.NamingConventionScanner;
+import com.ssafy.ottereview.ai.convention.NamingViolation;
+import com.ssafy.ottereview.ai.dto.request.AiConventionRequest;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class NamingConventionScannerTest {
+
+    private final ForkJoinPool pool = new ForkJoinPool(2);
+    private final NamingConventionScanner scanner = new NamingConventionScanner(pool);
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    void commentsAndStringLiteralsAreNotScanned() {
+        String diff = """
+                diff --git a/src/Order.java b/src/Order.java
+                --- a/src/Order.java
+                +++ b/src/Order.java
+                @@ -1,0 +1,6 @@
+                +// this class is used for orders
+                +/* the record keeps totals */
+                + * interface for payments
+                +class order_item {
+                +    String label = "class is_not_a_name";
+                +}
+                """;
+        AiConventionRequest.Rules rules = AiConventionRequest.Rules.builder().classNames("PascalCase").build();
+
+        NamingConventionScanner.Result result = scanner.scan(rules, diff);
+
+        assertThat(result.getViolations()).extracting(NamingViolation::name).containsExactly("order_item");
+        assertThat(result.getViolations().get(0).line()).isEqualTo(4);
+        assertThat(result.getUnresolvedRules()).isEmpty();
+    }
+
+    @Test
+    void typeScriptConstDeclarationsAreVariablesAndConstantsGoToAi() {
+        String diff = """
+                diff --git a/src/api.ts b/src/api.ts
+                --- a/src/api.ts
+                +++ b/src/api.ts
+                @@ -1,0 +1,4 @@
+                +export const MAX_RETRY = 3;
+                +const user_name = "kim";
+                +let retryCount = 0;
+                +function Fetch_data() {}
+                """;
+        AiConventionRequest.Rules rules = AiConventionRequest.Rules.builder()
+                .variableNames("camelCase")
+                .functionNames("camelCase")
+                .constantNames("UPPER_SNAKE_CASE")
+                .build();
+
+        NamingConventionScanner.Result result = scanner.scan(rules, diff);
+
+        // 상수 규칙에 맞는 const 는 상수일 수 있으므로 변수 위반으로 보지 않는다
+        assertThat(result.getViolations()).extracting(NamingViolation::name).containsExactly("user_name", "Fetch_data");
+        assertThat(result.getUnresolvedRules()).containsExactly("constant_names");
+    }
+
+    @Test
+    void pythonModuleLevelAssignmentsAreScanned() {
+        String diff = """
+                diff --git a/app/service.py b/app/service.py
+                --- a/app/service.py
+                +++ b/app/service.py
+                @@ -1,0 +1,5 @@
+                +MAX_SIZE = 10
+                +userName = "kim"
+                +def getData(limit=MAX_SIZE):
+                +    result_count: int = 0
+                +    if result_count == limit:
+                """;
+        AiConventionRequest.Rules rules = AiConventionRequest.Rules.builder()
+                .variableNames("snake_case")
+                .functionNames("snake_case")
+                .constantNames("UPPER_SNAKE_CASE")
+                .build();
+
+        NamingConventionScanner.Result result = scanner.scan(rules, diff);
+
+        assertThat(result.getViolations()).extracting(NamingViolation::name).containsExactly("userName", "getData");
+        assertThat(result.getViolations().get(0).line()).isEqualTo(2);
+        assertThat(result.getUnresolvedRules()).containsExactly("constant_names");
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.demo.ai;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.ssafy.ottereview.ai.convention.NamingRule;
+import org.junit.jupiter.api.Test;
+
+class NamingRuleTest {
+
+    @Test
+    void wellKnownStylesMatchTheirNames() {
+        assertThat(NamingRule.compile("camelCase").matches("userName")).isTrue();
+        assertThat(NamingRule.compile("camelCase").matches("UserName")).isFalse();
+        assertThat(NamingRule.compile("PascalCase").matches("UserName")).isTrue();
+        assertThat(NamingRule.compile("snake_case").matches("user_name")).isTrue();
+        assertThat(NamingRule.compile("snake_case").matches("USER_NAME")).isFalse();
+        assertThat(NamingRule.compile("UPPER_SNAKE_CASE").matches("MAX_SIZE")).isTrue();
+        assertThat(NamingRule.compile("UPPER_SNAKE_CASE").matches("max_size")).isFalse();
+        assertThat(NamingRule.compile("kebab-case").matches("user-name")).isTrue();
+        assertThat(NamingRule.compile("카멜 케이스").matches("userName")).isTrue();
+    }
+
+    @Test
+    void upperSnakeCaseIsNotReadAsSnakeCase() {
+        NamingRule rule = NamingRule.compile("SCREAMING_SNAKE_CASE");
+
+        assertThat(rule.matches("MAX_SIZE")).isTrue();
+        assertThat(rule.isExact()).isTrue();
+    }
+
+    @Test
+    void regexRuleIsUsedAsIs() {
+        NamingRule rule = NamingRule.compile("^I[A-Z][a-zA-Z]*$");
+
+        assertThat(rule.isExact()).isTrue();
+        assertThat(rule.matches("IUserService")).isTrue();
+        assertThat(rule.matches("UserService")).isFalse();
+    }
+
+    @Test
+    void describedStyleChecksOnlyTheStyle() {
+        NamingRule rule = NamingRule.compile("동사로 시작하는 camelCase");
+
+        assertThat(rule.isExact()).isFalse();
+        assertThat(rule.matches("getUser")).isTrue();
+        assertThat(rule.matches("GetUser")).isFalse();
+    }
+
+    @Test
+    void mixedStylesAndUnknownRulesAreNotCompiled() {
+        assertThat(NamingRule.compile("상수는 UPPER_SNAKE_CASE, 그 외 camelCase")).isNull();
+        assertThat(NamingRule.compile("의미가 드러나는 이름")).isNull();
+        assertThat(NamingRule.compile("^[a-z(]$")).isNull();
+        assertThat(NamingRule.compile("  ")).isNull();
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.demo.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.ssafy.ottereview.common.cache.ExpiringLruCache;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class ExpiringLruCacheTest {
+
+    @Test
+    void evictsLeastRecentlyUsedEntryWhenFull() {
+        ExpiringLruCache<String, Integer> cache = new ExpiringLruCache<>(2, Duration.ofMinutes(1));
+        cache.put("a", 1);
+        cache.put("b", 2);
+
+        // a 를 조회해 최근 사용으로 만든 뒤 c 를 넣으면 b 가 제거된다
+        assertThat(cache.get("a")).isEqualTo(1);
+        cache.put("c", 3);
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.get("a")).isEqualTo(1);
+        assertThat(cache.get("b")).isNull();
+        assertThat(cache.get("c")).isEqualTo(3);
+    }
+
+    @Test
+    void expiredEntryIsRemovedOnGet() throws InterruptedException {
+        ExpiringLruCache<String, Integer> cache = new ExpiringLruCache<>(10, Duration.ofMillis(20));
+        cache.put("a", 1);
+
+        Thread.sleep(40);
+
+        assertThat(cache.get("a")).isNull();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void putIfAbsentKeepsLiveEntryAndReplacesExpiredOne() throws InterruptedException {
+        ExpiringLruCache<String, Integer> cache = new ExpiringLruCache<>(10, Duration.ofMillis(20));
+
+        assertThat(cache.putIfAbsent("a", 1)).isTrue();
+        assertThat(cache.putIfAbsent("a", 2)).isFalse();
+        assertThat(cache.get("a")).isEqualTo(1);
+
+        Thread.sleep(40);
+
+        assertThat(cache.putIfAbsent("a", 3)).isTrue();
+        assertThat(cache.get("a")).isEqualTo(3);
+    }
+
+    @Test
+    void invalidateRemovesEntry() {
+        ExpiringLruCache<String, Integer> cache = new ExpiringLruCache<>(10, Duration.ofMinutes(1));
+        cache.put("a", 1);
+
+        cache.invalidate("a");
+
+        assertThat(cache.get("a")).isNull();
+        assertThat(cache.putIfAbsent("a", 2)).isTrue();
+    }
+
+    @Test
+    void evictionListenerReceivesLruAndExpiredEntriesOnly() throws InterruptedException {
+        List<String> evicted = new ArrayList<>();
+        ExpiringLruCache<String, Integer> cache = new ExpiringLruCache<>(2, Duration.ofMillis(50),
+                (key, value) -> evicted.add(key + "=" + value));
+        cache.put("a", 1);
+        cache.put("b", 2);
+        cache.put("c", 3);
+        cache.invalidate("b");
+
+        assertThat(evicted).containsExactly("a=1");
+
+        Thread.sleep(80);
+        assertThat(cache.get("c")).isNull();
+
+        assertThat(evicted).containsExactly("a=1", "c=3");
+    }
+}
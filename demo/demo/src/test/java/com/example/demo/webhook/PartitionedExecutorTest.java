@@ -0,0 +1,102 @@
+package com.example.demo.webhook;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.ssafy.ottereview.webhook.service.PartitionedExecutor;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class PartitionedExecutorTest {
+
+    private PartitionedExecutor executor;
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void tasksOfSameKeyRunInSubmissionOrder() throws InterruptedException {
+        executor = new PartitionedExecutor("test", 4, 1000);
+        Map<Long, List<Integer>> executed = new ConcurrentHashMap<>();
+        CountDownLatch done = new CountDownLatch(3 * 200);
+
+        for (int i = 0; i < 200; i++) {
+            for (long repoId = 1; repoId <= 3; repoId++) {
+                long key = repoId;
+                int sequence = i;
+                executor.lane(key).execute(() -> {
+                    executed.computeIfAbsent(key, ignored -> Collections.synchronizedList(new ArrayList<>())).add(sequence);
+                    done.countDown();
+                });
+            }
+        }
+
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        for (List<Integer> sequences : executed.values()) {
+            assertThat(sequences).isSorted().hasSize(200);
+        }
+    }
+
+    @Test
+    void sameKeyAlwaysMapsToSameLane() {
+        executor = new PartitionedExecutor("test", 8, 10);
+
+        assertThat(executor.lane(42L)).isSameAs(executor.lane(42L));
+        assertThat(executor.lane(null)).isSameAs(executor.lane(null));
+    }
+
+    @Test
+    void fullLaneRejectsWithoutBlockingOtherLanes() throws InterruptedException {
+        executor = new PartitionedExecutor("test", 2, 1);
+        Long blockedKey = 1L;
+        Long otherKey = keyOnOtherLane(blockedKey);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+
+        Executor blockedLane = executor.lane(blockedKey);
+        blockedLane.execute(() -> {
+            started.countDown();
+            await(release);
+        });
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        // 실행 중 1 + 대기열 1 이 차면 거절된다
+        blockedLane.execute(() -> {
+        });
+        assertThatThrownBy(() -> blockedLane.execute(() -> {
+        })).isInstanceOf(RejectedExecutionException.class);
+        assertThat(executor.queuedTasks()).isEqualTo(1);
+
+        CountDownLatch otherRan = new CountDownLatch(1);
+        executor.lane(otherKey).execute(otherRan::countDown);
+        assertThat(otherRan.await(5, TimeUnit.SECONDS)).isTrue();
+
+        release.countDown();
+    }
+
+    private Long keyOnOtherLane(Long key) {
+        for (long candidate = key + 1; ; candidate++) {
+            if (executor.lane(candidate) != executor.lane(key)) {
+                return candidate;
+            }
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
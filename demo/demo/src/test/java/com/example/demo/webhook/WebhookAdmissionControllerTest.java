@@ -0,0 +1,122 @@
+package com.example.demo.webhook;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import com.ssafy.ottereview.webhook.service.WebhookAdmissionController;
+import com.ssafy.ottereview.webhook.service.WebhookAdmissionController.Priority;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class WebhookAdmissionControllerTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(500);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    // 게이지는 약한 참조라 테스트 중에 컨트롤러가 수거되지 않도록 잡아 둔다
+    private WebhookAdmissionController controller;
+
+    @Test
+    void lowPriorityIsShedFirst() {
+        WebhookAdmissionController controller = controller(10, 20);
+        for (int i = 0; i < 5; i++) {
+            assertThat(controller.tryAcquire(Priority.HIGH)).isTrue();
+        }
+
+        // LOW 는 limit 의 절반, NORMAL 은 80% 까지만 쓴다
+        assertThat(controller.tryAcquire(Priority.LOW)).isFalse();
+        for (int i = 0; i < 3; i++) {
+            assertThat(controller.tryAcquire(Priority.NORMAL)).isTrue();
+        }
+        assertThat(controller.tryAcquire(Priority.NORMAL)).isFalse();
+        assertThat(controller.tryAcquire(Priority.HIGH)).isTrue();
+        assertThat(controller.tryAcquire(Priority.HIGH)).isTrue();
+        assertThat(controller.tryAcquire(Priority.HIGH)).isFalse();
+
+        assertThat(shed(Priority.LOW)).isEqualTo(1);
+        assertThat(shed(Priority.NORMAL)).isEqualTo(1);
+        assertThat(shed(Priority.HIGH)).isEqualTo(1);
+        assertThat(inFlight()).isEqualTo(10);
+    }
+
+    @Test
+    void slowOrFailedCallsShrinkLimitDownToMinimum() {
+        WebhookAdmissionController controller = controller(10, 20);
+
+        controller.tryAcquire(Priority.HIGH);
+        controller.release(SLOW, true);
+        assertThat(limit()).isEqualTo(9.0);
+
+        controller.tryAcquire(Priority.HIGH);
+        controller.release(FAST, false);
+        assertThat(limit()).isCloseTo(8.1, within(1e-9));
+
+        for (int i = 0; i < 50; i++) {
+            controller.tryAcquire(Priority.HIGH);
+            controller.release(FAST, false);
+        }
+        assertThat(limit()).isEqualTo(2.0);
+        assertThat(inFlight()).isZero();
+    }
+
+    @Test
+    void fastCallsGrowLimitOnlyNearSaturation() {
+        WebhookAdmissionController controller = controller(10, 20);
+
+        // 한도에 한참 못 미칠 때는 늘리지 않는다
+        controller.tryAcquire(Priority.HIGH);
+        controller.release(FAST, true);
+        assertThat(limit()).isEqualTo(10.0);
+
+        for (int i = 0; i < 10; i++) {
+            controller.tryAcquire(Priority.HIGH);
+        }
+        controller.release(FAST, true);
+
+        assertThat(limit()).isGreaterThan(10.0);
+        // 늘어난 만큼 다음 요청을 받는다
+        assertThat(controller.tryAcquire(Priority.HIGH)).isTrue();
+    }
+
+    @Test
+    void limitNeverExceedsMaximum() {
+        WebhookAdmissionController controller = controller(10, 10);
+
+        for (int i = 0; i < 10; i++) {
+            controller.tryAcquire(Priority.HIGH);
+        }
+        controller.release(FAST, true);
+
+        assertThat(limit()).isEqualTo(10.0);
+    }
+
+    @Test
+    void cancelReturnsSlotWithoutAdjustingLimit() {
+        WebhookAdmissionController controller = controller(10, 20);
+
+        controller.tryAcquire(Priority.HIGH);
+        controller.cancel();
+
+        assertThat(inFlight()).isZero();
+        assertThat(limit()).isEqualTo(10.0);
+    }
+
+    private WebhookAdmissionController controller(int initialLimit, int maxLimit) {
+        controller = new WebhookAdmissionController(meterRegistry, true, initialLimit, 2, maxLimit, 100, 60);
+        return controller;
+    }
+
+    private double limit() {
+        return meterRegistry.get("webhook.admission.limit").gauge().value();
+    }
+
+    private double inFlight() {
+        return meterRegistry.get("webhook.admission.in_flight").gauge().value();
+    }
+
+    private double shed(Priority priority) {
+        return meterRegistry.get("webhook.admission.shed").tag("priority", priority.name()).counter().count();
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.demo.webhook;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ssafy.ottereview.common.exception.BusinessException;
+import com.ssafy.ottereview.webhook.dto.WebhookEvent.InstallationEvent;
+import com.ssafy.ottereview.webhook.dto.WebhookEvent.PullRequestEvent;
+import com.ssafy.ottereview.webhook.dto.WebhookEvent.RepositoryEvent;
+import com.ssafy.ottereview.webhook.dto.WebhookEvent.RepositoryRef;
+import com.ssafy.ottereview.webhook.dto.WebhookEvent.ReviewCommentEvent;
+import com.ssafy.ottereview.webhook.dto.WebhookPayload;
+import com.ssafy.ottereview.webhook.service.WebhookEventDecoder;
+import org.junit.jupiter.api.Test;
+
+class WebhookEventDecoderTest {
+
+    private final WebhookEventDecoder decoder = new WebhookEventDecoder(new ObjectMapper());
+
+    @Test
+    void pullRequestFieldsAreExtracted() {
+        String payload = """
+                {"action": "synchronize", "number": 7,
+                 "pull_request": {"id": 99, "number": 7, "title": "제목", "body": null, "state": "open",
+                                  "draft": false, "merged": false, "html_url": "https://github.com/o/r/pull/7",
+                                  "user": {"login": "kim", "id": 1}, "labels": [{"name": "bug"}],
+                                  "head": {"sha": "h1", "ref": "feat", "repo": {"id": 5}},
+                                  "base": {"sha": "b1", "ref": "main"}},
+                 "repository": {"id": 5, "name": "r", "full_name": "o/r", "owner": {"login": "o"}},
+                 "installation": {"id": 11}, "sender": {"login": "kim"}}
+                """;
+
+        PullRequestEvent event = (PullRequestEvent) decoder.decode("pull_request", WebhookPayload.of(payload));
+
+        assertThat(event).isEqualTo(new PullRequestEvent("synchronize", 5L, 11L, "o/r", 99L, 7, "제목", null, "open",
+                false, false, "kim", "h1", "feat", "b1", "main", "https://github.com/o/r/pull/7"));
+    }
+
+    @Test
+    void installationRepositoriesAreListed() {
+        String payload = """
+                {"action": "added", "installation": {"id": 11, "account": {"login": "org"}},
+                 "repositories_added": [{"id": 1, "full_name": "org/a", "private": false, "node_id": "x"},
+                                        {"id": 2, "full_name": "org/b", "private": true}],
+                 "repositories_removed": [], "repository_selection": "selected"}
+                """;
+
+        InstallationEvent event = (InstallationEvent) decoder.decode("installation_repositories",
+                WebhookPayload.of(payload));
+
+        assertThat(event.installationId()).isEqualTo(11L);
+        assertThat(event.accountLogin()).isEqualTo("org");
+        assertThat(event.repositoriesAdded()).containsExactly(
+                new RepositoryRef(1L, "org/a", false), new RepositoryRef(2L, "org/b", true));
+        assertThat(event.repositoriesRemoved()).isEmpty();
+        assertThat(event.repositories()).isEmpty();
+    }
+
+    @Test
+    void reviewCommentAndRenamedRepository() {
+        ReviewCommentEvent comment = (ReviewCommentEvent) decoder.decode("pull_request_review_comment", WebhookPayload.of("""
+                {"action": "created", "pull_request": {"number": 7}, "repository": {"id": 5, "full_name": "o/r"},
+                 "comment": {"id": 3, "in_reply_to_id": 2, "user": {"login": "lee"}, "body": "nit",
+                             "path": "A.java", "line": null, "commit_id": "c"}}
+                """));
+        RepositoryEvent renamed = (RepositoryEvent) decoder.decode("repository", WebhookPayload.of("""
+                {"action": "renamed", "changes": {"repository": {"name": {"from": "old"}}},
+                 "repository": {"id": 5, "name": "new", "full_name": "o/new", "private": false}}
+                """));
+
+        assertThat(comment).isEqualTo(new ReviewCommentEvent("created", 5L, null, "o/r", 7, 3L, 2L, "lee", "nit",
+                "A.java", null, "c"));
+        assertThat(renamed.repoName()).isEqualTo("new");
+        assertThat(renamed.previousName()).isEqualTo("old");
+    }
+
+    @Test
+    void malformedPayloadIsRejected() {
+        assertThatThrownBy(() -> decoder.decode("installation", WebhookPayload.of("{\"repositories\":[{\"id\":1}")))
+                .isInstanceOf(BusinessException.class);
+        assertThatThrownBy(() -> decoder.decode("push", WebhookPayload.of("[]")))
+                .isInstanceOf(BusinessException.class);
+        assertThatThrownBy(() -> decoder.decode("push", WebhookPayload.of("{\"repository\":{\"id\":\"x\"}}")))
+                .isInstanceOf(BusinessException.class);
+    }
+}
@@ -0,0 +1,191 @@
+package com.example.demo.webhook;
+
+import com.ssafy.ottereview.webhook.dto.WebhookPayload;
+import com.ssafy.ottereview.webhook.service.WebhookPayloadReader;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+/**
+ * 웹훅 body spill 모드 사용 여부에 따른 heap 사용량 비교
+ * <p>
+ * - heap: spill 끔 (body 전체를 byte 배열로 읽음)
+ * - spill: 임계값을 넘는 body 를 임시 파일에 쓰고 메모리 매핑
+ * concurrency 개의 요청이 동시에 body 를 읽어 들고 있는 상태(처리 중)를 만든 뒤, 최대 heap 사용량과
+ * 처리 중인 동안 남아 있는 heap 을 출력한다. 요청 body 는 미리 만들어 두지 않고 스트림으로 생성한다.
+ * <p>
+ * 실행: {@code ./gradlew webhookHeapLoadTest -PwebhookHeapArgs="--size-mb=20 --concurrency=16"}
+ * <ul>
+ *     <li>--size-mb: 요청 하나의 body 크기 (기본 10)</li>
+ *     <li>--concurrency: 동시에 처리 중인 요청 수 (기본 8)</li>
+ *     <li>--threshold-kb: spill 임계값 (기본 1024)</li>
+ *     <li>--rounds: 모드별 반복 횟수, 마지막 회차만 출력 (기본 3)</li>
+ * </ul>
+ * 작은 heap 노드와 비슷하게 보려면 {@code -Xmx512m} 등으로 실행한다.
+ */
+public class WebhookHeapLoadTest {
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        long size = Long.parseLong(options.getOrDefault("size-mb", "10")) * 1024 * 1024;
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "8"));
+        int threshold = Integer.parseInt(options.getOrDefault("threshold-kb", "1024")) * 1024;
+        int rounds = Integer.parseInt(options.getOrDefault("rounds", "3"));
+
+        Path spillDir = Files.createTempDirectory("webhook-heap-test");
+        System.out.printf("body %d MB x %d concurrent, spill threshold %d KB%n",
+                size / (1024 * 1024), concurrency, threshold / 1024);
+        System.out.printf("%-8s %16s %16s%n", "mode", "peak heap(MB)", "retained(MB)");
+
+        for (boolean spill : new boolean[]{false, true}) {
+            WebhookPayloadReader reader = new WebhookPayloadReader(spill, threshold, spillDir.toString());
+            long[] result = null;
+            for (int round = 0; round < rounds; round++) {
+                result = run(reader, size, concurrency);
+            }
+            System.out.printf("%-8s %16.1f %16.1f%n", spill ? "spill" : "heap",
+                    result[0] / 1048576.0, result[1] / 1048576.0);
+        }
+    }
+
+    /**
+     * @return [최대 heap 사용량, 모든 요청이 처리 중일 때 남아 있는 heap (GC 후)]
+     */
+    private static long[] run(WebhookPayloadReader reader, long size, int concurrency) throws Exception {
+        List<MemoryPoolMXBean> heapPools = ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP)
+                .toList();
+
+        System.gc();
+        long baseline = usedHeap(heapPools);
+        heapPools.forEach(MemoryPoolMXBean::resetPeakUsage);
+
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+        CountDownLatch allRead = new CountDownLatch(concurrency);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Future<?>> requests = new ArrayList<>();
+        try {
+            for (int i = 0; i < concurrency; i++) {
+                requests.add(executor.submit(() -> {
+                    try (WebhookPayload payload = reader.take(new GeneratedBodyRequest(size))) {
+                        allRead.countDown();
+                        // 핸들러가 처리 중인 동안 body 를 들고 있는다
+                        release.await();
+                        return payload.size();
+                    }
+                }));
+            }
+            if (!allRead.await(5, TimeUnit.MINUTES)) {
+                throw new IllegalStateException("body 읽기가 끝나지 않았습니다");
+            }
+
+            System.gc();
+            long retained = usedHeap(heapPools) - baseline;
+            long peak = heapPools.stream().mapToLong(pool -> pool.getPeakUsage().getUsed()).sum() - baseline;
+
+            release.countDown();
+            for (Future<?> request : requests) {
+                request.get();
+            }
+            return new long[]{peak, retained};
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+    }
+
+    private static long usedHeap(List<MemoryPoolMXBean> heapPools) {
+        return heapPools.stream().mapToLong(pool -> pool.getUsage().getUsed()).sum();
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                continue;
+            }
+            int separator = arg.indexOf('=');
+            if (separator < 0) {
+                options.put(arg.substring(2), "true");
+            } else {
+                options.put(arg.substring(2, separator), arg.substring(separator + 1));
+            }
+        }
+        return options;
+    }
+
+    /**
+     * body 를 메모리에 만들어 두지 않고 읽는 만큼 생성하는 요청
+     */
+    private static class GeneratedBodyRequest extends MockHttpServletRequest {
+
+        private final long size;
+
+        private GeneratedBodyRequest(long size) {
+            super("POST", "/webhook");
+            this.size = size;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return size;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            return new ServletInputStream() {
+                private long remaining = size;
+
+                @Override
+                public int read() {
+                    if (remaining <= 0) {
+                        return -1;
+                    }
+                    remaining--;
+                    return 'x';
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    if (remaining <= 0) {
+                        return -1;
+                    }
+                    int count = (int) Math.min(len, remaining);
+                    Arrays.fill(b, off, off + count, (byte) 'x');
+                    remaining -= count;
+                    return count;
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return remaining <= 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    throw new UnsupportedOperationException();
+                }
+            };
+        }
+    }
+}
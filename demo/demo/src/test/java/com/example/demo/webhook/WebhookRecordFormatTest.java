@@ -0,0 +1,97 @@
+package com.example.demo.webhook;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.ssafy.ottereview.webhook.dto.WebhookDelivery;
+import com.ssafy.ottereview.webhook.dto.WebhookPayload;
+import com.ssafy.ottereview.webhook.queue.WebhookRecordFormat;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class WebhookRecordFormatTest {
+
+    @TempDir
+    Path dir;
+
+    private FileChannel channel;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        channel = FileChannel.open(dir.resolve("journal"),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        channel.close();
+    }
+
+    @Test
+    void recordsRoundTripInOrder() throws IOException {
+        WebhookDelivery first = delivery("push", "delivery-1", 1000L, "{\"ref\":\"refs/heads/main\"}");
+        WebhookDelivery second = delivery("pull_request", "딜리버리-2", 2000L, "{\"action\":\"opened\"}");
+
+        long firstSize = WebhookRecordFormat.write(channel, 0, first);
+        long secondSize = WebhookRecordFormat.write(channel, firstSize, second);
+        long fileSize = channel.size();
+
+        assertThat(firstSize + secondSize).isEqualTo(fileSize);
+        assertThat(WebhookRecordFormat.recordSize(channel, 0, fileSize)).isEqualTo(firstSize);
+        assertThat(WebhookRecordFormat.recordSize(channel, firstSize, fileSize)).isEqualTo(secondSize);
+        assertThat(WebhookRecordFormat.receivedAt(channel, firstSize)).isEqualTo(2000L);
+
+        assertSameDelivery(WebhookRecordFormat.read(channel, 0, Integer.MAX_VALUE), first);
+        assertSameDelivery(WebhookRecordFormat.read(channel, firstSize, Integer.MAX_VALUE), second);
+    }
+
+    @Test
+    void largePayloadIsMappedInsteadOfCopied() throws IOException {
+        WebhookDelivery delivery = delivery("push", "delivery-1", 1000L, "x".repeat(4096));
+        WebhookRecordFormat.write(channel, 0, delivery);
+
+        WebhookDelivery read = WebhookRecordFormat.read(channel, 0, 1024);
+
+        assertThat(read.getPayload().isMapped()).isTrue();
+        assertSameDelivery(read, delivery);
+    }
+
+    @Test
+    void truncatedRecordIsReportedAsIncomplete() throws IOException {
+        long size = WebhookRecordFormat.write(channel, 0, delivery("push", "delivery-1", 1000L, "{\"ref\":\"x\"}"));
+
+        // 기록 도중 끊긴 레코드
+        channel.truncate(size - 3);
+        assertThat(WebhookRecordFormat.recordSize(channel, 0, channel.size())).isEqualTo(-1);
+
+        // 길이 필드조차 다 쓰지 못한 레코드
+        channel.truncate(WebhookRecordFormat.PREFIX_BYTES - 1);
+        assertThat(WebhookRecordFormat.recordSize(channel, 0, channel.size())).isEqualTo(-1);
+    }
+
+    @Test
+    void emptyFileHasNoRecord() throws IOException {
+        assertThat(WebhookRecordFormat.recordSize(channel, 0, channel.size())).isEqualTo(-1);
+    }
+
+    private static WebhookDelivery delivery(String event, String deliveryId, long receivedAt, String payload) {
+        return WebhookDelivery.builder()
+                .event(event)
+                .deliveryId(deliveryId)
+                .payload(WebhookPayload.of(payload))
+                .receivedAt(receivedAt)
+                .build();
+    }
+
+    private static void assertSameDelivery(WebhookDelivery actual, WebhookDelivery expected) {
+        assertThat(actual.getEvent()).isEqualTo(expected.getEvent());
+        assertThat(actual.getDeliveryId()).isEqualTo(expected.getDeliveryId());
+        assertThat(actual.getReceivedAt()).isEqualTo(expected.getReceivedAt());
+        assertThat(actual.getPayload().asString()).isEqualTo(expected.getPayload().asString());
+    }
+}
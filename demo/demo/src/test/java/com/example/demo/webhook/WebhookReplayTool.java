@@ -0,0 +1,249 @@
+package com.example.demo.webhook;
+
+import com.ssafy.ottereview.webhook.dto.WebhookDelivery;
+import com.ssafy.ottereview.webhook.queue.WebhookRecordFormat;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.security.GeneralSecurityException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * 캡처된 웹훅을 GithubWebhookController 로 재생해 이벤트 타입별 처리량과 지연 시간을 측정한다.
+ * <p>
+ * 캡처: 애플리케이션에서 {@code app.webhook.capture.enabled=true} 로 수신 웹훅을 기록한다.
+ * 컨트롤러 자체의 오버헤드만 보려면 대상 서버를 {@code app.webhook.mock.enabled=true} 로 띄운다.
+ * <p>
+ * 실행: {@code ./gradlew replayWebhooks -PreplayArgs="--file=data/webhook-capture.bin --speed=10 --concurrency=16"}
+ * <ul>
+ *     <li>--file: 캡처 파일 (필수)</li>
+ *     <li>--url: 대상 URL (기본 http://localhost:8080/webhook)</li>
+ *     <li>--speed: 캡처 당시 간격을 몇 배로 압축할지, 0 이면 간격 무시 (기본 0)</li>
+ *     <li>--rate: 초당 최대 요청 수, 0 이면 제한 없음 (기본 0)</li>
+ *     <li>--concurrency: 동시 요청 수 (기본 8)</li>
+ *     <li>--repeat: 반복 횟수 (기본 1)</li>
+ *     <li>--secret: 지정하면 X-Hub-Signature-256 을 다시 계산해 보낸다</li>
+ *     <li>--fresh-ids: delivery ID 를 새로 만들어 중복 제거에 걸리지 않게 한다.
+ *     --repeat 가 2 이상이면 기본으로 켜지며 (같은 ID 를 다시 보내면 중복 제거 경로만 측정됨), --fresh-ids=false 로 끌 수 있다</li>
+ * </ul>
+ * 지연 시간 백분위는 성공(2xx) 응답만으로 계산하고, 실패는 errors 와 오류 평균 지연으로 따로 출력한다.
+ */
+public class WebhookReplayTool {
+    
+    private final Map<String, String> options;
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private final Map<String, List<Long>> latencies = new ConcurrentHashMap<>();
+    private final Map<String, List<Long>> errorLatencies = new ConcurrentHashMap<>();
+    
+    private WebhookReplayTool(Map<String, String> options) {
+        this.options = options;
+    }
+    
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                continue;
+            }
+            int separator = arg.indexOf('=');
+            if (separator < 0) {
+                options.put(arg.substring(2), "true");
+            } else {
+                options.put(arg.substring(2, separator), arg.substring(separator + 1));
+            }
+        }
+        if (!options.containsKey("file")) {
+            System.err.println("--file=<캡처 파일> 을 지정해야 합니다");
+            System.exit(1);
+        }
+        
+        new WebhookReplayTool(options).run();
+    }
+    
+    private void run() throws Exception {
+        List<Recorded> deliveries = load(Paths.get(options.get("file")));
+        if (deliveries.isEmpty()) {
+            System.out.println("재생할 웹훅이 없습니다");
+            return;
+        }
+        
+        URI target = URI.create(options.getOrDefault("url", "http://localhost:8080/webhook"));
+        double speed = Double.parseDouble(options.getOrDefault("speed", "0"));
+        double rate = Double.parseDouble(options.getOrDefault("rate", "0"));
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "8"));
+        int repeat = Integer.parseInt(options.getOrDefault("repeat", "1"));
+        Mac mac = options.containsKey("secret") ? mac(options.get("secret")) : null;
+        boolean freshIds = options.containsKey("fresh-ids")
+                ? Boolean.parseBoolean(options.get("fresh-ids"))
+                : repeat > 1;
+        
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+        Semaphore permits = new Semaphore(concurrency);
+        long intervalNanos = rate > 0 ? (long) (TimeUnit.SECONDS.toNanos(1) / rate) : 0;
+        long firstReceivedAt = deliveries.get(0).receivedAt;
+        
+        long startTime = System.nanoTime();
+        long nextSlot = startTime;
+        for (int round = 0; round < repeat; round++) {
+            long roundStart = System.nanoTime();
+            for (Recorded delivery : deliveries) {
+                long due = roundStart;
+                if (speed > 0) {
+                    due += (long) (TimeUnit.MILLISECONDS.toNanos(delivery.receivedAt - firstReceivedAt) / speed);
+                }
+                due = Math.max(due, nextSlot);
+                nextSlot = due + intervalNanos;
+                sleepUntil(due);
+                
+                permits.acquire();
+                HttpRequest request = request(target, delivery, mac, freshIds);
+                executor.submit(() -> {
+                    try {
+                        send(delivery.event, request);
+                    } finally {
+                        permits.release();
+                    }
+                });
+            }
+        }
+        
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.MINUTES);
+        report(System.nanoTime() - startTime);
+    }
+    
+    private void send(String event, HttpRequest request) {
+        long start = System.nanoTime();
+        boolean success;
+        try {
+            HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+            success = response.statusCode() < 300;
+        } catch (IOException e) {
+            success = false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        // 빠르게 실패한 응답(503 등)이 백분위를 낮추지 않도록 따로 모은다
+        (success ? latencies : errorLatencies)
+                .computeIfAbsent(event, key -> Collections.synchronizedList(new ArrayList<>()))
+                .add(System.nanoTime() - start);
+    }
+    
+    private HttpRequest request(URI target, Recorded delivery, Mac mac, boolean freshIds) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(target)
+                .header("Content-Type", "application/json")
+                .header("X-GitHub-Event", delivery.event)
+                .header("X-GitHub-Delivery", freshIds ? UUID.randomUUID().toString() : delivery.deliveryId)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(delivery.body));
+        if (mac != null) {
+            builder.header("X-Hub-Signature-256", "sha256=" + hex(mac.doFinal(delivery.body)));
+        }
+        return builder.build();
+    }
+    
+    private void report(long elapsedNanos) {
+        double elapsedSeconds = elapsedNanos / 1_000_000_000.0;
+        System.out.printf("%-30s %8s %10s %10s %10s %10s %8s %14s%n",
+                "event", "ok", "ok/s", "p50(ms)", "p99(ms)", "p999(ms)", "errors", "err avg(ms)");
+        
+        Set<String> events = new TreeSet<>(latencies.keySet());
+        events.addAll(errorLatencies.keySet());
+        int total = 0;
+        int totalErrors = 0;
+        for (String event : events) {
+            List<Long> samples = new ArrayList<>(latencies.getOrDefault(event, List.of()));
+            List<Long> errors = new ArrayList<>(errorLatencies.getOrDefault(event, List.of()));
+            Collections.sort(samples);
+            total += samples.size();
+            totalErrors += errors.size();
+            
+            System.out.printf("%-30s %8d %10.1f %10s %10s %10s %8d %14s%n",
+                    event,
+                    samples.size(),
+                    samples.size() / elapsedSeconds,
+                    percentile(samples, 0.50),
+                    percentile(samples, 0.99),
+                    percentile(samples, 0.999),
+                    errors.size(),
+                    errors.isEmpty() ? "-" : String.format("%.2f",
+                            errors.stream().mapToLong(Long::longValue).average().orElse(0) / 1_000_000.0));
+        }
+        System.out.printf("total %d ok, %d errors in %.2fs (%.1f ok/s)%n",
+                total, totalErrors, elapsedSeconds, total / elapsedSeconds);
+    }
+    
+    private static String percentile(List<Long> sorted, double quantile) {
+        if (sorted.isEmpty()) {
+            return "-";
+        }
+        int index = (int) Math.ceil(quantile * sorted.size()) - 1;
+        return String.format("%.2f", sorted.get(Math.max(0, index)) / 1_000_000.0);
+    }
+    
+    private static List<Recorded> load(Path file) throws IOException {
+        List<Recorded> deliveries = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long position = 0;
+            long recordSize;
+            while ((recordSize = WebhookRecordFormat.recordSize(channel, position, size)) > 0) {
+                WebhookDelivery delivery = WebhookRecordFormat.read(channel, position, Integer.MAX_VALUE);
+                ByteBuffer buffer = delivery.getPayload().buffer();
+                byte[] body = new byte[buffer.remaining()];
+                buffer.get(body);
+                deliveries.add(new Recorded(delivery.getEvent(), delivery.getDeliveryId(), delivery.getReceivedAt(), body));
+                position += recordSize;
+            }
+        }
+        deliveries.sort((a, b) -> Long.compare(a.receivedAt, b.receivedAt));
+        return deliveries;
+    }
+    
+    private static void sleepUntil(long nanoTime) throws InterruptedException {
+        long remaining = nanoTime - System.nanoTime();
+        if (remaining > 0) {
+            TimeUnit.NANOSECONDS.sleep(remaining);
+        }
+    }
+    
+    private static Mac mac(String secret) throws GeneralSecurityException {
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        return mac;
+    }
+    
+    private static String hex(byte[] bytes) {
+        StringBuilder builder = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            builder.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return builder.toString();
+    }
+    
+    private record Recorded(String event, String deliveryId, long receivedAt, byte[] body) {
+    
+    }
+}
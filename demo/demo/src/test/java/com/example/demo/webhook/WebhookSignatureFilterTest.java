@@ -0,0 +1,150 @@
+package com.example.demo.webhook;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ssafy.ottereview.webhook.dto.WebhookPayload;
+import com.ssafy.ottereview.webhook.filter.WebhookSignatureFilter;
+import com.ssafy.ottereview.webhook.service.WebhookPayloadReader;
+import jakarta.servlet.ServletInputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.HexFormat;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.NullSource;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class WebhookSignatureFilterTest {
+
+    private static final String SECRET = "current-secret";
+    private static final String PREVIOUS_SECRET = "previous-secret";
+    private static final byte[] BODY = "{\"action\":\"opened\"}".getBytes(StandardCharsets.UTF_8);
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final WebhookPayloadReader reader = new WebhookPayloadReader(false, Integer.MAX_VALUE,
+            System.getProperty("java.io.tmpdir"));
+    private final WebhookSignatureFilter filter = new WebhookSignatureFilter(objectMapper, reader, true, SECRET,
+            PREVIOUS_SECRET);
+
+    @Test
+    void validSignaturePassesBodyToController() throws Exception {
+        BodyTrackingRequest request = webhookRequest(sign(SECRET, BODY));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        WebhookPayload[] received = new WebhookPayload[1];
+
+        filter.doFilter(request, response, (req, res) ->
+                received[0] = (WebhookPayload) req.getAttribute(WebhookPayload.ATTRIBUTE));
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(received[0].asString()).isEqualTo(new String(BODY, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void invalidSignatureIsRejected() throws Exception {
+        BodyTrackingRequest request = webhookRequest(sign("other-secret", BODY));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, response, chain);
+
+        assertThat(response.getStatus()).isEqualTo(401);
+        assertThat(chain.getRequest()).isNull();
+        // 컨트롤러가 가져가지 않은 body 는 필터가 정리한다
+        assertThat(request.getAttribute(WebhookPayload.ATTRIBUTE)).isNull();
+    }
+
+    @Test
+    void tamperedBodyIsRejected() throws Exception {
+        BodyTrackingRequest request = webhookRequest(sign(SECRET, "{\"action\":\"closed\"}".getBytes(StandardCharsets.UTF_8)));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, new MockFilterChain());
+
+        assertThat(response.getStatus()).isEqualTo(401);
+    }
+
+    @Test
+    void previousSecretIsAcceptedDuringRotation() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(webhookRequest(sign(PREVIOUS_SECRET, BODY)), response, chain);
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(chain.getRequest()).isNotNull();
+    }
+
+    @ParameterizedTest
+    @NullSource
+    @ValueSource(strings = {
+            "",
+            "sha1=0123456789abcdef0123456789abcdef01234567",
+            // 63자리
+            "sha256=0123456789abcdef0123456789abcdef0123456789abcdef0123456789abcde",
+            "sha256=zz23456789abcdef0123456789abcdef0123456789abcdef0123456789abcdef"
+    })
+    void missingOrMalformedHeaderIsRejectedBeforeBodyIsRead(String header) throws Exception {
+        BodyTrackingRequest request = webhookRequest(header);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, response, chain);
+
+        assertThat(response.getStatus()).isEqualTo(401);
+        assertThat(chain.getRequest()).isNull();
+        assertThat(request.bodyRead).isFalse();
+    }
+
+    @Test
+    void otherPathsPassThroughWithoutReadingBody() throws Exception {
+        BodyTrackingRequest request = new BodyTrackingRequest("/api/ai/analyze");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, response, chain);
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(chain.getRequest()).isSameAs(request);
+        assertThat(request.bodyRead).isFalse();
+    }
+
+    private static BodyTrackingRequest webhookRequest(String signature) {
+        BodyTrackingRequest request = new BodyTrackingRequest("/webhook");
+        if (signature != null) {
+            request.addHeader("X-Hub-Signature-256", signature);
+        }
+        return request;
+    }
+
+    private static String sign(String secret, byte[] body) throws GeneralSecurityException {
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        return "sha256=" + HexFormat.of().formatHex(mac.doFinal(body));
+    }
+
+    /**
+     * body 를 읽었는지 기록하는 요청
+     */
+    private static class BodyTrackingRequest extends MockHttpServletRequest {
+
+        private boolean bodyRead;
+
+        private BodyTrackingRequest(String path) {
+            super("POST", path);
+            setServletPath(path);
+            setContent(BODY);
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            bodyRead = true;
+            return super.getInputStream();
+        }
+    }
+}